@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.DefaultCodegen;
+import org.openapitools.codegen.InlineModelResolver;
+import org.openapitools.codegen.languages.JavaClientCodegen;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Helpers shared by the benchmarks.
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * @return a synthetic spec, with its inline schemas already flattened as by the generator
+     */
+    static OpenAPI flattenedSpec(int schemas, int paths, int allOfDepth) {
+        OpenAPI openAPI = new SyntheticSpecGenerator().schemas(schemas).paths(paths).allOfDepth(allOfDepth).generate();
+        new InlineModelResolver().flatten(openAPI);
+        return openAPI;
+    }
+
+    /**
+     * @return a java client codegen prepared for the given spec the way DefaultGenerator does it before processing
+     * models and operations
+     */
+    static DefaultCodegen javaCodegen(OpenAPI openAPI) {
+        DefaultCodegen config = new JavaClientCodegen();
+        config.setOutputDir(tempDirectory());
+        config.processOpts();
+        config.preprocessOpenAPI(openAPI);
+        config.setGlobalOpenAPI(openAPI);
+        config.setGlobalSchemas(openAPI);
+        return config;
+    }
+
+    static String tempDirectory() {
+        try {
+            return Files.createTempDirectory("openapi-generator-benchmarks").toFile().getAbsolutePath();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
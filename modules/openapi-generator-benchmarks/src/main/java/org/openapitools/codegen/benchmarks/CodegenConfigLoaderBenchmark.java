@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of finding a generator by name: a single cold lookup per forked JVM, through the index of
+ * {@link CodegenConfigLoader} versus a {@link ServiceLoader} scan instantiating the generators until the name matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class CodegenConfigLoaderBenchmark {
+
+    // near the start and at the end of the service file
+    @Param({"android", "typescript-node"})
+    public String name;
+
+    @Benchmark
+    public CodegenConfig forName() {
+        return CodegenConfigLoader.forName(name);
+    }
+
+    @Benchmark
+    public CodegenConfig serviceLoader() {
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            if (config.getName().equals(name)) {
+                return config;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Benchmark
+    public List<String> getNames() {
+        return CodegenConfigLoader.getNames();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import org.openapitools.codegen.ignore.CodegenIgnoreProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CodegenIgnoreProcessor#allowsFile(File)}, called for every generated file, with a typical ignore file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodegenIgnoreProcessorBenchmark {
+
+    @Param({"1000"})
+    public int files;
+
+    private CodegenIgnoreProcessor processor;
+    private final List<File> outputFiles = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws IOException {
+        File outputDir = new File(Benchmarks.tempDirectory());
+        Files.write(new File(outputDir, ".openapi-generator-ignore").toPath(), Arrays.asList(
+                "# rules of a typical ignore file",
+                "README.md",
+                "docs/*.md",
+                "!docs/Model1.md",
+                "**/test/**",
+                "src/main/java/org/openapitools/client/model/Model9*.java",
+                "*.gradle",
+                "build.sbt",
+                ".travis.yml",
+                "git_push.sh"
+        ), StandardCharsets.UTF_8);
+        processor = new CodegenIgnoreProcessor(outputDir.getAbsolutePath());
+
+        String base = outputDir.getAbsolutePath() + File.separator;
+        for (int i = 0; i < files / 4; i++) {
+            outputFiles.add(new File(base + "src/main/java/org/openapitools/client/model/Model" + i + ".java"));
+            outputFiles.add(new File(base + "src/test/java/org/openapitools/client/model/Model" + i + "Test.java"));
+            outputFiles.add(new File(base + "docs/Model" + i + ".md"));
+            outputFiles.add(new File(base + "src/main/java/org/openapitools/client/api/Api" + i + ".java"));
+        }
+    }
+
+    @Benchmark
+    public void allowsFile(Blackhole blackhole) {
+        for (File file : outputFiles) {
+            blackhole.consume(processor.allowsFile(file));
+        }
+    }
+}
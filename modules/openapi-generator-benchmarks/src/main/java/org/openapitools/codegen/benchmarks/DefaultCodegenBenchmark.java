@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.DefaultCodegen;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of the schemas, properties and operations of a spec by the java client codegen. Each benchmark
+ * converts all the elements of the spec.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DefaultCodegenBenchmark {
+
+    @Param({"100", "1000"})
+    public int schemas;
+
+    private OpenAPI openAPI;
+    private Map<String, Schema> allSchemas;
+    private DefaultCodegen config;
+
+    @Setup
+    public void setUp() {
+        openAPI = Benchmarks.flattenedSpec(schemas, schemas / 2, 2);
+        allSchemas = ModelUtils.getSchemas(openAPI);
+        config = Benchmarks.javaCodegen(openAPI);
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        for (Map.Entry<String, Schema> schema : allSchemas.entrySet()) {
+            blackhole.consume(config.fromModel(schema.getKey(), schema.getValue(), allSchemas));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void fromProperty(Blackhole blackhole) {
+        for (Schema schema : allSchemas.values()) {
+            Map<String, Schema> properties = schema.getProperties();
+            if (properties != null) {
+                for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                    blackhole.consume(config.fromProperty(property.getKey(), property.getValue()));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> operation : path.getValue().readOperationsMap().entrySet()) {
+                blackhole.consume(config.fromOperation(path.getKey(), operation.getKey().name().toLowerCase(),
+                        operation.getValue(), allSchemas, openAPI));
+            }
+        }
+    }
+}
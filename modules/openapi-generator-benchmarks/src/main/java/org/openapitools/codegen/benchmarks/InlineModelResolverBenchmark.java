@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.InlineModelResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InlineModelResolver#flatten(OpenAPI)}, which modifies the spec, so each invocation gets a new spec.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InlineModelResolverBenchmark {
+
+    @Param({"100", "1000"})
+    public int schemas;
+
+    @Param({"2"})
+    public int allOfDepth;
+
+    private OpenAPI openAPI;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        openAPI = new SyntheticSpecGenerator().schemas(schemas).paths(schemas / 2).allOfDepth(allOfDepth).generate();
+    }
+
+    @Benchmark
+    public OpenAPI flatten() {
+        new InlineModelResolver().flatten(openAPI);
+        return openAPI;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmarks;
+
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.languages.CSharpClientCodegen;
+import org.openapitools.codegen.utils.ModelIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code postProcessOperationsWithModels} of the C# client, which looks up the model of every parameter, over all
+ * the apis of a spec with as many operations as models (and five parameters per operation). With the model index
+ * shared by all the apis, the time grows linearly with the number of models rather than quadratically.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PostProcessOperationsBenchmark {
+
+    private static final int APIS = 20;
+    private static final int PARAMETERS = 5;
+
+    @Param({"200", "2000"})
+    public int models;
+
+    private CSharpClientCodegen codegen;
+    private final List<Object> allModels = new ArrayList<>();
+    private final List<Map<String, Object>> apis = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        codegen = new CSharpClientCodegen();
+        for (int i = 0; i < models; i++) {
+            CodegenModel model = new CodegenModel();
+            model.name = "Model" + i;
+            model.classname = "Model" + i;
+            model.isEnum = i % 10 == 0;
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("model", model);
+            entry.put("importPath", "Org.OpenAPITools.Model." + model.classname);
+            allModels.add(entry);
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < APIS; i++) {
+            List<CodegenOperation> ops = new ArrayList<>();
+            for (int j = 0; j < models / APIS; j++) {
+                CodegenOperation op = new CodegenOperation();
+                for (int k = 0; k < PARAMETERS; k++) {
+                    CodegenParameter parameter = new CodegenParameter();
+                    // mostly models, and some primitive types
+                    parameter.dataType = k == 0 ? "string" : "Model" + random.nextInt(models);
+                    op.allParams.add(parameter);
+                }
+                ops.add(op);
+            }
+            Map<String, Object> operations = new HashMap<>();
+            operations.put("operation", ops);
+            Map<String, Object> api = new HashMap<>();
+            api.put("operations", operations);
+            apis.add(api);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> postProcessOperationsWithModels() {
+        // built once per generation by DefaultGenerator
+        codegen.setModelIndex(new ModelIndex(allModels));
+        for (Map<String, Object> api : apis) {
+            codegen.postProcessOperationsWithModels(api, allModels);
+        }
+        return apis;
+    }
+}
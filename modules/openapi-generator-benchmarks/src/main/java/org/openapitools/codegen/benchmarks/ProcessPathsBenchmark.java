@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.ClientOpts;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultGenerator#processPaths(io.swagger.v3.oas.models.Paths)}: conversion and grouping by tag of all the
+ * operations of a spec.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProcessPathsBenchmark {
+
+    @Param({"50", "500"})
+    public int paths;
+
+    @Param({"false", "true"})
+    public boolean parallelOperations;
+
+    private OpenAPI openAPI;
+    private DefaultGenerator generator;
+
+    @Setup
+    public void setUp() {
+        openAPI = Benchmarks.flattenedSpec(paths * 2, paths, 2);
+        generator = new DefaultGenerator();
+        generator.opts(new ClientOptInput()
+                .openAPI(openAPI)
+                .config(Benchmarks.javaCodegen(openAPI))
+                .opts(new ClientOpts()));
+        generator.setGeneratorPropertyDefault(CodegenConstants.PARALLEL_OPERATIONS, String.valueOf(parallelOperations));
+    }
+
+    @Benchmark
+    public Map<String, List<CodegenOperation>> processPaths() {
+        return generator.processPaths(openAPI.getPaths());
+    }
+}
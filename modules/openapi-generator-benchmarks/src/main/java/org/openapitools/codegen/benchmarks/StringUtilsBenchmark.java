@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import org.openapitools.codegen.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StringUtils#camelize(String)} and {@link StringUtils#underscore(String)} over names in the styles found in
+ * specs, called for every model, property, operation and parameter name.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    private final List<String> names = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 100; i++) {
+            names.add("pet_store_item" + i);
+            names.add("PetStoreItem" + i);
+            names.add("petStore-item/" + i);
+            names.add("pet.store.item_" + i + "_Id");
+        }
+    }
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(StringUtils.camelize(name));
+        }
+    }
+
+    @Benchmark
+    public void camelizeLowercaseFirstLetter(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(StringUtils.camelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(StringUtils.underscore(name));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.servers.Server;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Builds OpenAPI documents of configurable size, to benchmark the generator on specs larger than the samples.
+ * <p>
+ * The document has {@code schemas} object schemas, each with scalar, array, enum, inline object and reference
+ * properties. Schemas are grouped in chains of {@code allOfDepth} + 1 schemas, each schema of a chain extending the
+ * previous one with {@code allOf}. The document has {@code paths} paths, each with a get, put and post operation
+ * referencing the schemas, spread over ten tags. The output only depends on the three sizes.
+ */
+public class SyntheticSpecGenerator {
+    private static final int TAGS = 10;
+
+    private int schemas = 100;
+    private int paths = 50;
+    private int allOfDepth = 2;
+
+    public SyntheticSpecGenerator schemas(int schemas) {
+        this.schemas = Math.max(1, schemas);
+        return this;
+    }
+
+    public SyntheticSpecGenerator paths(int paths) {
+        this.paths = Math.max(1, paths);
+        return this;
+    }
+
+    public SyntheticSpecGenerator allOfDepth(int allOfDepth) {
+        this.allOfDepth = Math.max(0, allOfDepth);
+        return this;
+    }
+
+    public OpenAPI generate() {
+        OpenAPI openAPI = new OpenAPI()
+                .info(new Info().title("Synthetic API").version("1.0.0")
+                        .description("Synthetic spec with " + schemas + " schemas and " + paths + " paths"))
+                .addServersItem(new Server().url("http://localhost:8080/v1"))
+                .components(new Components())
+                .paths(new Paths());
+
+        for (int i = 0; i < schemas; i++) {
+            openAPI.getComponents().addSchemas(modelName(i), schema(i));
+        }
+        for (int i = 0; i < paths; i++) {
+            openAPI.getPaths().addPathItem("/resource" + i + "/{id}", pathItem(i));
+        }
+        return openAPI;
+    }
+
+    private Schema schema(int index) {
+        Schema properties = new ObjectSchema()
+                .addProperties("id" + index, new IntegerSchema().format("int64"))
+                .addProperties("name" + index, new StringSchema().maxLength(64))
+                .addProperties("createdAt", new DateTimeSchema())
+                .addProperties("labels", new ArraySchema().items(new StringSchema()))
+                .addProperties("status", new StringSchema()._enum(Arrays.asList("available", "pending", "sold")))
+                .addProperties("details", new ObjectSchema()
+                        .addProperties("code", new IntegerSchema())
+                        .addProperties("message", new StringSchema()))
+                .addProperties("related", new Schema().$ref(modelName((index + 1) % schemas)));
+        properties.setRequired(Arrays.asList("id" + index, "name" + index));
+
+        if (index % (allOfDepth + 1) == 0) {
+            return properties;
+        }
+        // extends the previous schema of the chain
+        ComposedSchema composed = new ComposedSchema();
+        composed.addAllOfItem(new Schema().$ref(modelName(index - 1)));
+        composed.addAllOfItem(properties);
+        return composed;
+    }
+
+    private PathItem pathItem(int index) {
+        String model = modelName(index % schemas);
+        String tag = "tag" + (index % TAGS);
+        PathItem pathItem = new PathItem();
+        pathItem.addParametersItem(new PathParameter().name("id").required(true).schema(new IntegerSchema().format("int64")));
+        pathItem.get(new Operation()
+                .operationId("getResource" + index)
+                .addTagsItem(tag)
+                .addParametersItem(new QueryParameter().name("filter").schema(new StringSchema()))
+                .addParametersItem(new QueryParameter().name("limit").schema(new IntegerSchema()))
+                .responses(responses(new Schema().$ref(model))));
+        pathItem.put(new Operation()
+                .operationId("updateResource" + index)
+                .addTagsItem(tag)
+                .requestBody(new RequestBody().required(true).content(json(new Schema().$ref(model))))
+                .responses(responses(new Schema().$ref(model))));
+        pathItem.post(new Operation()
+                .operationId("createResource" + index)
+                .addTagsItem(tag)
+                .requestBody(new RequestBody().content(json(new ObjectSchema()
+                        .addProperties("name", new StringSchema())
+                        .addProperties("count", new IntegerSchema()))))
+                .responses(responses(new ArraySchema().items(new Schema().$ref(model)))));
+        return pathItem;
+    }
+
+    private static ApiResponses responses(Schema schema) {
+        return new ApiResponses()
+                .addApiResponse("200", new ApiResponse().description("OK").content(json(schema)))
+                .addApiResponse("404", new ApiResponse().description("Not found"));
+    }
+
+    private static Content json(Schema schema) {
+        return new Content().addMediaType("application/json", new MediaType().schema(schema));
+    }
+
+    private static String modelName(int index) {
+        return "Model" + index;
+    }
+
+    /**
+     * Write a synthetic spec as YAML.
+     *
+     * @param args output file, then optionally the number of schemas, the number of paths and the allOf depth
+     * @throws IOException if the spec cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SyntheticSpecGenerator <output.yaml> [schemas] [paths] [allOfDepth]");
+            System.exit(1);
+        }
+        SyntheticSpecGenerator generator = new SyntheticSpecGenerator();
+        if (args.length > 1) {
+            generator.schemas(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            generator.paths(Integer.parseInt(args[2]));
+        }
+        if (args.length > 3) {
+            generator.allOfDepth(Integer.parseInt(args[3]));
+        }
+        Yaml.pretty().writeValue(new File(args[0]), generator.generate());
+    }
+}
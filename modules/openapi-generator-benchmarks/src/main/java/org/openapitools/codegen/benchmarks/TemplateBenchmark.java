@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import com.google.common.io.CharStreams;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.ClientOpts;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compilation versus execution of the model and api templates of the java client. The template data is captured
+ * from a generation of a synthetic spec, then {@link #compile(Blackhole)} compiles each template once and
+ * {@link #execute()} renders every captured model and api with the compiled templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({"100"})
+    public int schemas;
+
+    private Mustache.Compiler compiler;
+    private final Map<String, String> sources = new LinkedHashMap<>();
+    private final Map<String, Template> templates = new LinkedHashMap<>();
+    private final List<Object[]> renderings = new ArrayList<>();
+    private final Writer output = CharStreams.nullWriter();
+
+    @Setup
+    public void setUp() {
+        final CodegenConfig config = new JavaClientCodegen();
+        config.setOutputDir(Benchmarks.tempDirectory());
+
+        // capture the data of the model and api files instead of writing them
+        DefaultGenerator generator = new DefaultGenerator() {
+            @Override
+            protected File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) {
+                renderings.add(new Object[]{templateName, templateData});
+                return null;
+            }
+        };
+        generator.setGenerateMetadata(false);
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.APIS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.SUPPORTING_FILES, "false");
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_TESTS, "false");
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_DOCS, "false");
+        generator.setGeneratorPropertyDefault(CodegenConstants.API_TESTS, "false");
+        generator.setGeneratorPropertyDefault(CodegenConstants.API_DOCS, "false");
+        generator.opts(new ClientOptInput()
+                .openAPI(new SyntheticSpecGenerator().schemas(schemas).paths(schemas / 2).generate())
+                .config(config)
+                .opts(new ClientOpts()));
+        generator.generate();
+
+        compiler = config.processCompiler(Mustache.compiler())
+                .withLoader(name -> new StringReader(generator.readTemplate(generator.getFullTemplateFile(config, name + ".mustache"))))
+                .defaultValue("");
+        for (Object[] rendering : renderings) {
+            String templateName = (String) rendering[0];
+            if (!sources.containsKey(templateName)) {
+                String source = generator.readTemplate(generator.getFullTemplateFile(config, templateName));
+                sources.put(templateName, source);
+                templates.put(templateName, compiler.compile(source));
+            }
+        }
+    }
+
+    @Benchmark
+    public void compile(Blackhole blackhole) {
+        for (String source : sources.values()) {
+            blackhole.consume(compiler.compile(source));
+        }
+    }
+
+    @Benchmark
+    public Writer execute() {
+        for (Object[] rendering : renderings) {
+            templates.get(rendering[0]).execute(rendering[1], output);
+        }
+        return output;
+    }
+}
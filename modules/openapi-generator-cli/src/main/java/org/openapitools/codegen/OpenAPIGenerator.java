@@ -49,6 +49,8 @@ public class OpenAPIGenerator {
                         .withCommands(
                                 ListGenerators.class,
                                 Generate.class,
+                                Daemon.class,
+                                Batch.class,
                                 Meta.class,
                                 Help.class,
                                 ConfigHelp.class,
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.airlift.airline.Arguments;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.SpecCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the generations of several config files in one JVM, e.g. to generate several languages from the same spec:
+ * each input spec is parsed once (see {@link SpecCache}) and the generations run concurrently.
+ */
+@Command(name = "batch", description = "Generate code from several config files (JSON or YAML) in one process, parsing each input spec once.")
+public class Batch implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Batch.class);
+
+    @Option(name = {"--threads"}, title = "threads",
+            description = "number of generations running at the same time (default: one per processor)")
+    private Integer threads;
+
+    @Arguments(title = "config files", required = true,
+            description = "config files of the generations, with the options of the generate command (generatorName, inputSpec, outputDir...)")
+    private List<String> configFiles = new ArrayList<>();
+
+    @Override
+    public void run() {
+        if (!generate()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run the generations.
+     *
+     * @return false if a generation failed
+     */
+    boolean generate() {
+        SpecCache specCache = new SpecCache();
+        int poolSize = threads != null && threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(poolSize, configFiles.size()),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("openapi-generator-batch-%d")
+                        .setDaemon(true)
+                        .build());
+        List<Job> jobs = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (String configFile : configFiles) {
+                Job job = new Job(configFile, specCache);
+                jobs.add(job);
+                futures.add(executor.submit(job));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating", e);
+        } catch (ExecutionException e) {
+            // failures are recorded by the jobs
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int failed = 0;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-40s %-25s %-7s %7s %9s%n", "Config file", "Generator", "Status", "Files", "Time (ms)"));
+        for (Job job : jobs) {
+            if (job.error != null) {
+                failed++;
+            }
+            sb.append(String.format(Locale.ROOT, "%-40s %-25s %-7s %7d %9d%n", job.configFile,
+                    job.generatorName != null ? job.generatorName : "", job.error != null ? "FAILED" : "OK",
+                    job.files, TimeUnit.NANOSECONDS.toMillis(job.nanos)));
+        }
+        for (Job job : jobs) {
+            if (job.error != null) {
+                sb.append(String.format(Locale.ROOT, "[error] %s: %s%n", job.configFile, job.error));
+            }
+        }
+        sb.append(String.format(Locale.ROOT, "%d generations, %d failed, %d specs parsed%n", jobs.size(), failed, specCache.size()));
+        System.out.print(sb);
+        return failed == 0;
+    }
+
+    /**
+     * The generation of a config file.
+     */
+    private static class Job implements Runnable {
+        private final String configFile;
+        private final SpecCache specCache;
+        private String generatorName;
+        private int files;
+        private long nanos;
+        private String error;
+
+        Job(String configFile, SpecCache specCache) {
+            this.configFile = configFile;
+            this.specCache = specCache;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                if (!new File(configFile).isFile()) {
+                    error = "The config file is not found";
+                    return;
+                }
+                CodegenConfigurator configurator = CodegenConfigurator.fromFile(configFile);
+                if (configurator == null) {
+                    error = "The config file could not be read";
+                    return;
+                }
+                generatorName = configurator.getGeneratorName();
+                configurator.setSpecCache(specCache);
+                List<File> generated = new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+                files = generated != null ? generated.size() : 0;
+            } catch (Throwable e) {
+                // errors included, so that every generation has its summary
+                LOGGER.error("Could not generate {}", configFile, e);
+                error = e.getMessage() != null ? e.getMessage() : e.toString();
+            } finally {
+                nanos = System.nanoTime() - start;
+            }
+        }
+    }
+}
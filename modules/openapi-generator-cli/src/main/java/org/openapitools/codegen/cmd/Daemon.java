@@ -0,0 +1,428 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.ContextInitializer;
+import ch.qos.logback.core.joran.spi.JoranException;
+import io.airlift.airline.Cli;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.airlift.airline.ParseException;
+import org.openapitools.codegen.TemplateCache;
+import org.openapitools.codegen.config.SpecCache;
+import org.openapitools.codegen.config.GeneratorProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.management.ManagementFactory;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a warm JVM generating code for the {@code generate --daemon} command, which saves the start of the JVM,
+ * the loading of the generators and of the parser, and the compilation of the embedded templates on each
+ * generation.
+ * <p>
+ * The daemon listens on a loopback port, written with a random token to a state file only readable by the user.
+ * A client sends the token, its working directory, the arguments of the generate command and the system properties
+ * given to its JVM; the daemon runs the generations one at a time and streams back their output, the generated files
+ * and the exit status. Relative paths, those of config files included, are resolved against the working directory of
+ * the client.
+ */
+@Command(name = "daemon", description = "Start a daemon running the generations of 'generate --daemon' in a warm JVM.")
+public class Daemon implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Daemon.class);
+
+    static final String DEFAULT_STATE_FILE = System.getProperty("user.home") + File.separator + ".openapi-generator"
+            + File.separator + "daemon.properties";
+
+    private static final String GENERATE = "generate";
+    private static final String STOP = "stop";
+
+    private static final int STDOUT = 1;
+    private static final int STDERR = 2;
+    private static final int FILE = 3;
+    private static final int EXIT = 4;
+
+    // time a client has to send its request
+    private static final int REQUEST_TIMEOUT = 10000;
+
+    @Option(name = {"--port"}, title = "port",
+            description = "loopback port to listen on (default: any free port)")
+    private Integer port;
+
+    @Option(name = {"--state-file"}, title = "state file",
+            description = "file where the port and the token of the daemon are written (default: ~/.openapi-generator/daemon.properties)")
+    private String stateFile;
+
+    @Option(name = {"--idle-timeout"}, title = "idle timeout",
+            description = "minutes without generation after which the daemon stops (default: 180)")
+    private Integer idleTimeout;
+
+    @Option(name = {"--stop"}, title = "stop",
+            description = "stop the running daemon")
+    private Boolean stop;
+
+    private final TemplateCache templateCache = new TemplateCache();
+    // the last parsed specs, a spec being parsed again when it or a file it references changes
+    private final SpecCache specCache = new SpecCache(16);
+
+    @Override
+    public void run() {
+        File state = new File(stateFile != null ? stateFile : DEFAULT_STATE_FILE);
+        try {
+            if (Boolean.TRUE.equals(stop)) {
+                if (send(state, STOP, null, new ArrayList<>(), new HashMap<>(), System.out, System.err, null) == null) {
+                    System.err.println("[error] No daemon is running");
+                    System.exit(1);
+                }
+                return;
+            }
+            serve(state);
+        } catch (IOException e) {
+            System.err.println("[error] " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private void serve(File state) throws IOException {
+        String token = newToken();
+        long idleMillis = TimeUnit.MINUTES.toMillis(idleTimeout != null ? idleTimeout : 180);
+        try (ServerSocket server = new ServerSocket(port != null ? port : 0, 50, InetAddress.getLoopbackAddress())) {
+            writeState(state, server.getLocalPort(), token);
+            LOGGER.info("Generation daemon listening on port {}, state written to {}", server.getLocalPort(), state);
+            server.setSoTimeout((int) Math.min(idleMillis, Integer.MAX_VALUE));
+            boolean running = true;
+            while (running) {
+                Socket client;
+                try {
+                    client = server.accept();
+                } catch (SocketTimeoutException e) {
+                    LOGGER.info("No generation for {} minutes, stopping the daemon", TimeUnit.MILLISECONDS.toMinutes(idleMillis));
+                    break;
+                }
+                try (Socket socket = client) {
+                    running = handle(socket, token);
+                } catch (Exception e) {
+                    LOGGER.warn("Could not serve a client: {}", e.getMessage());
+                }
+            }
+        } finally {
+            deleteState(state, token);
+        }
+        LOGGER.info("Generation daemon stopped");
+    }
+
+    /**
+     * Serve a request.
+     *
+     * @return false if the daemon is asked to stop
+     */
+    private boolean handle(Socket socket, String token) throws IOException {
+        socket.setSoTimeout(REQUEST_TIMEOUT);
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+            LOGGER.warn("Rejected a client with a wrong token");
+            return true;
+        }
+        String command = in.readUTF();
+        File workingDirectory = new File(in.readUTF());
+        List<String> arguments = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            arguments.add(in.readUTF());
+        }
+        Map<String, String> systemProperties = new LinkedHashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            systemProperties.put(in.readUTF(), in.readUTF());
+        }
+        socket.setSoTimeout(0);
+
+        if (STOP.equals(command)) {
+            writeExit(out, 0);
+            return false;
+        }
+        writeExit(out, generate(workingDirectory, arguments, systemProperties, out));
+        return true;
+    }
+
+    private int generate(File workingDirectory, List<String> arguments, Map<String, String> systemProperties,
+                         DataOutputStream out) throws UnsupportedEncodingException {
+        PrintStream stdout = System.out;
+        PrintStream stderr = System.err;
+        // the generations run one at a time, so their whole output, logs included, goes to the client
+        PrintStream clientOut = new PrintStream(new FrameOutputStream(out, STDOUT), true, "UTF-8");
+        PrintStream clientErr = new PrintStream(new FrameOutputStream(out, STDERR), true, "UTF-8");
+        System.setOut(clientOut);
+        System.setErr(clientErr);
+        try {
+            // the properties of the generation, reset below
+            systemProperties.forEach(GeneratorProperties::setProperty);
+            List<String> args = new ArrayList<>();
+            args.add(GENERATE);
+            args.addAll(arguments);
+            Generate generate = (Generate) Cli.<Runnable>builder("openapi-generator-cli")
+                    .withCommand(Generate.class)
+                    .build()
+                    .parse(args);
+            generate.runInDaemon(workingDirectory, templateCache, specCache);
+            boolean succeeded = generate.generate();
+            for (File file : generate.getGeneratedFiles()) {
+                writeFrame(out, FILE, file.getPath().getBytes(StandardCharsets.UTF_8));
+            }
+            return succeeded ? 0 : 1;
+        } catch (ParseException e) {
+            clientErr.printf(Locale.ROOT, "[error] %s%n", e.getMessage());
+            return 1;
+        } catch (Throwable e) {
+            // errors included, the daemon going on with the next generation
+            e.printStackTrace(clientErr);
+            return 1;
+        } finally {
+            clientOut.flush();
+            clientErr.flush();
+            System.setOut(stdout);
+            System.setErr(stderr);
+            GeneratorProperties.reset();
+            resetLogging();
+        }
+    }
+
+    /**
+     * Forward a command to the running daemon.
+     *
+     * @param state            state file of the daemon
+     * @param command          the command
+     * @param workingDirectory working directory of the client, which relative paths are resolved against
+     * @param arguments        arguments of the command
+     * @param systemProperties system properties of the command
+     * @param stdout           stream receiving the standard output of the command
+     * @param stderr           stream receiving the error output of the command
+     * @param files            list receiving the generated files, or null
+     * @return the exit status of the command, or null if no daemon is running
+     * @throws IOException if the daemon cannot be reached
+     */
+    static Integer send(File state, String command, File workingDirectory, List<String> arguments,
+                        Map<String, String> systemProperties, OutputStream stdout, OutputStream stderr,
+                        List<String> files) throws IOException {
+        if (!state.isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(state)) {
+            properties.load(in);
+        }
+        Socket socket;
+        try {
+            socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(properties.getProperty("port")));
+        } catch (ConnectException e) {
+            // the daemon did not stop cleanly
+            return null;
+        }
+        try {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeUTF(properties.getProperty("token"));
+            out.writeUTF(command);
+            out.writeUTF(workingDirectory != null ? workingDirectory.getAbsolutePath() : "");
+            out.writeInt(arguments.size());
+            for (String argument : arguments) {
+                out.writeUTF(argument);
+            }
+            out.writeInt(systemProperties.size());
+            for (Map.Entry<String, String> property : systemProperties.entrySet()) {
+                out.writeUTF(property.getKey());
+                out.writeUTF(property.getValue());
+            }
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            while (true) {
+                int type = in.readByte();
+                if (type == EXIT) {
+                    return in.readInt();
+                }
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                if (type == STDOUT) {
+                    stdout.write(bytes);
+                    stdout.flush();
+                } else if (type == STDERR) {
+                    stderr.write(bytes);
+                    stderr.flush();
+                } else if (type == FILE && files != null) {
+                    files.add(new String(bytes, StandardCharsets.UTF_8));
+                }
+            }
+        } finally {
+            socket.close();
+        }
+    }
+
+    static Integer sendGenerate(String stateFile, List<String> arguments, List<String> files) throws IOException {
+        return send(new File(stateFile != null ? stateFile : DEFAULT_STATE_FILE), GENERATE, new File("").getAbsoluteFile(),
+                arguments, commandLineProperties(), System.out, System.err, files);
+    }
+
+    /**
+     * @return the system properties given with -D to this JVM, which the generators read as well
+     */
+    private static Map<String, String> commandLineProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-D")) {
+                int end = argument.indexOf('=');
+                String key = argument.substring(2, end < 0 ? argument.length() : end);
+                String value = System.getProperty(key);
+                if (value != null) {
+                    properties.put(key, value);
+                }
+            }
+        }
+        return properties;
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static void writeState(File state, int port, String token) throws IOException {
+        File parent = state.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create the folder of the state file " + state);
+        }
+        if (!state.exists() && !state.createNewFile()) {
+            throw new IOException("Could not create the state file " + state);
+        }
+        // only the user may read the token
+        state.setReadable(false, false);
+        state.setReadable(true, true);
+        state.setWritable(false, false);
+        state.setWritable(true, true);
+        Properties properties = new Properties();
+        properties.setProperty("port", String.valueOf(port));
+        properties.setProperty("token", token);
+        try (OutputStream out = new FileOutputStream(state)) {
+            properties.store(out, "openapi-generator daemon");
+        }
+    }
+
+    private static void deleteState(File state, String token) {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(state)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return;
+        }
+        // leave the state of another daemon started since
+        if (token.equals(properties.getProperty("token")) && !state.delete()) {
+            LOGGER.warn("Could not delete the state file {}", state);
+        }
+    }
+
+    private static void resetLogging() {
+        // --log-to-stderr changes the appenders
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        try {
+            new ContextInitializer(context).autoConfig();
+        } catch (JoranException e) {
+            System.err.println("[error] Could not reset the logging configuration: " + e.getMessage());
+        }
+    }
+
+    private static void writeExit(DataOutputStream out, int status) throws IOException {
+        synchronized (out) {
+            out.writeByte(EXIT);
+            out.writeInt(status);
+            out.flush();
+        }
+    }
+
+    private static void writeFrame(DataOutputStream out, int type, byte[] bytes) {
+        writeFrame(out, type, bytes, 0, bytes.length);
+    }
+
+    private static void writeFrame(DataOutputStream out, int type, byte[] bytes, int offset, int length) {
+        synchronized (out) {
+            try {
+                out.writeByte(type);
+                out.writeInt(length);
+                out.write(bytes, offset, length);
+                out.flush();
+            } catch (IOException e) {
+                // the client is gone, the generation goes on
+            }
+        }
+    }
+
+    /**
+     * Sends what is written to the client, as frames of the given type.
+     */
+    private static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final int type;
+
+        FrameOutputStream(DataOutputStream out, int type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            if (length > 0) {
+                writeFrame(out, type, bytes, offset, length);
+            }
+        }
+    }
+}
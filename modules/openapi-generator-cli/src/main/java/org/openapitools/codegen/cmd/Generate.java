@@ -25,16 +25,24 @@ import org.openapitools.codegen.ClientOptInput;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.GeneratorNotFoundException;
+import org.openapitools.codegen.TemplateCache;
 import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.SpecCache;
+import org.openapitools.codegen.metrics.GenerationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.openapitools.codegen.config.CodegenConfiguratorUtils.*;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -211,8 +219,170 @@ public class Generate implements Runnable {
     @Option(name = {"--generate-alias-as-model"}, title = "generate alias (array, map) as model", description = CodegenConstants.GENERATE_ALIAS_AS_MODEL_DESC)
     private Boolean generateAliasAsModel;
 
+    @Option(name = {"--parallelism"}, title = "parallelism",
+            description = "number of threads rendering model and api files (default: 1)")
+    private Integer parallelism;
+
+    @Option(name = {"--parallel-operations"}, title = "parallel operations",
+            description = "convert the operations of the spec concurrently, on the threads set with --parallelism (default: one per processor)")
+    private Boolean parallelOperations;
+
+    @Option(name = {"--low-memory"}, title = "low memory",
+            description = "reduce the models to their names, imports and flags once their files are generated, to lower the memory used by large specs."
+                    + " Custom supporting file templates can no longer use the properties of the models")
+    private Boolean lowMemory;
+
+    @Option(name = {"--post-process-file-batch"}, title = "post-process file batch",
+            description = "with --enable-post-process-file, pass the files to the post-processing command several at a time, while the generation goes on."
+                    + " The command must accept several files")
+    private Boolean postProcessFileBatch;
+
+    @Option(name = {"--incremental"}, title = "incremental",
+            description = "only render files whose inputs changed since the previous generation in the output directory, and delete files which are no longer generated")
+    private Boolean incremental;
+
+    @Option(name = {"--write-if-changed"}, title = "write if changed",
+            description = "only write the generated files whose contents changed, leaving the other files untouched")
+    private Boolean writeIfChanged;
+
+    @Option(name = {"--timings"}, title = "timings",
+            description = "print the time spent in each phase of the generation and rendering each template")
+    private Boolean timings;
+
+    @Option(name = {"--timings-report"}, title = "timings report file",
+            description = "write the time spent in each phase of the generation and rendering each template to a JSON file")
+    private String timingsReport;
+
+    @Option(name = {"--daemon"}, title = "daemon",
+            description = "forward the generation to the running daemon (see the daemon command), or generate in this process if none is running or a *_POST_PROCESS_FILE environment variable is set")
+    private Boolean daemon;
+
+    @Option(name = {"--daemon-state-file"}, title = "daemon state file",
+            description = "state file of the daemon (default: ~/.openapi-generator/daemon.properties)")
+    private String daemonStateFile;
+
+    // set when the generation runs in a daemon
+    private File workingDirectory;
+    private TemplateCache templateCache;
+    private SpecCache specCache;
+
+    private List<File> generatedFiles = Collections.emptyList();
+
     @Override
     public void run() {
+        if (Boolean.TRUE.equals(daemon) && forwardToDaemon()) {
+            return;
+        }
+        if (!generate()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run the generation in a daemon: relative paths are resolved against the working directory of the client,
+     * and the compiled embedded templates and the parsed specs are kept in the given caches.
+     *
+     * @param workingDirectory working directory of the client
+     * @param templateCache    template cache of the daemon
+     * @param specCache        spec cache of the daemon
+     */
+    void runInDaemon(File workingDirectory, TemplateCache templateCache, SpecCache specCache) {
+        this.workingDirectory = workingDirectory;
+        this.templateCache = templateCache;
+        this.specCache = specCache;
+        this.daemon = null;
+    }
+
+    List<File> getGeneratedFiles() {
+        return generatedFiles;
+    }
+
+    private boolean forwardToDaemon() {
+        // the generators read the post-processing commands from the environment, which the daemon cannot take
+        List<String> variables = new ArrayList<>();
+        for (Map.Entry<String, String> variable : System.getenv().entrySet()) {
+            if (variable.getKey().endsWith("_POST_PROCESS_FILE") && isNotEmpty(variable.getValue())) {
+                variables.add(variable.getKey());
+            }
+        }
+        if (!variables.isEmpty()) {
+            Collections.sort(variables);
+            LOGGER.warn("The generation daemon does not see the environment variables {} of this shell, generating in this process", variables);
+            return false;
+        }
+        List<String> files = new ArrayList<>();
+        Integer status;
+        try {
+            status = Daemon.sendGenerate(daemonStateFile, toArguments(), files);
+        } catch (IOException e) {
+            LOGGER.warn("Could not reach the generation daemon ({}), generating in this process", e.getMessage());
+            return false;
+        }
+        if (status == null) {
+            LOGGER.warn("No generation daemon is running, generating in this process");
+            return false;
+        }
+        if (status != 0) {
+            System.exit(status);
+        }
+        LOGGER.info("The generation daemon generated {} files", files.size());
+        return true;
+    }
+
+    /**
+     * @return the arguments of this command, to be forwarded to the daemon
+     */
+    private List<String> toArguments() {
+        List<String> arguments = new ArrayList<>();
+        for (Field field : Generate.class.getDeclaredFields()) {
+            Option option = field.getAnnotation(Option.class);
+            if (option == null || "daemon".equals(field.getName()) || "daemonStateFile".equals(field.getName())) {
+                continue;
+            }
+            Object value;
+            try {
+                value = field.get(this);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            String name = option.name()[0];
+            if (value instanceof Boolean) {
+                if ((Boolean) value) {
+                    arguments.add(name);
+                }
+            } else if (value instanceof List) {
+                for (Object item : (List<?>) value) {
+                    arguments.add(name);
+                    arguments.add(item.toString());
+                }
+            } else if (value != null && !"".equals(value)) {
+                arguments.add(name);
+                arguments.add(value.toString());
+            }
+        }
+        return arguments;
+    }
+
+    private String resolvePath(String path) {
+        if (workingDirectory == null || isEmpty(path) || path.matches("^http(s)?://.*") || new File(path).isAbsolute()) {
+            return path;
+        }
+        return new File(workingDirectory, path).getPath();
+    }
+
+    /**
+     * Run the generation.
+     *
+     * @return false if the generation could not run
+     */
+    boolean generate() {
+        spec = resolvePath(spec);
+        output = resolvePath(output);
+        templateDir = resolvePath(templateDir);
+        configFile = resolvePath(configFile);
+        ignoreFileOverride = resolvePath(ignoreFileOverride);
+        timingsReport = resolvePath(timingsReport);
+
         if (logToStderr != null) {
             LoggerContext lc = (LoggerContext) LoggerFactory.getILoggerFactory();
             Stream.of(Logger.ROOT_LOGGER_NAME, "io.swagger", "org.openapitools")
@@ -223,13 +393,18 @@ public class Generate implements Runnable {
                     .ifPresent(FilterAttachable::clearAllFilters);
         }
 
-        // attempt to read from config file
-        CodegenConfigurator configurator = CodegenConfigurator.fromFile(configFile);
+        // attempt to read from config file, whose relative paths are those of the client in a daemon
+        CodegenConfigurator configurator = workingDirectory != null
+                ? CodegenConfigurator.fromFile(configFile, workingDirectory)
+                : CodegenConfigurator.fromFile(configFile);
 
         // if a config file wasn't specified or we were unable to read it
         if (configurator == null) {
             // createa a fresh configurator
             configurator = new CodegenConfigurator();
+            if (workingDirectory != null) {
+                configurator.setOutputDir(workingDirectory.getPath());
+            }
         }
 
         // now override with any specified parameters
@@ -249,7 +424,7 @@ public class Generate implements Runnable {
             if (!spec.matches("^http(s)?://.*") && !new File(spec).exists()) {
                 System.err.println("[error] The spec file is not found: " + spec);
                 System.err.println("[error] Check the path of the OpenAPI spec and try again.");
-                System.exit(1);
+                return false;
             }
             configurator.setInputSpec(spec);
         }
@@ -258,7 +433,7 @@ public class Generate implements Runnable {
             configurator.setGeneratorName(generatorName);
         } else {
             System.err.println("[error] A generator name (--generator-name / -g) is required.");
-            System.exit(1);
+            return false;
         }
 
         if (isNotEmpty(output)) {
@@ -341,6 +516,30 @@ public class Generate implements Runnable {
             configurator.setGenerateAliasAsModel(generateAliasAsModel);
         }
 
+        if (parallelism != null) {
+            configurator.setParallelism(parallelism);
+        }
+
+        if (parallelOperations != null) {
+            configurator.setParallelOperations(parallelOperations);
+        }
+
+        if (lowMemory != null) {
+            configurator.setLowMemory(lowMemory);
+        }
+
+        if (postProcessFileBatch != null) {
+            configurator.setPostProcessFileBatch(postProcessFileBatch);
+        }
+
+        if (incremental != null) {
+            configurator.setIncremental(incremental);
+        }
+
+        if (writeIfChanged != null) {
+            configurator.setWriteIfChanged(writeIfChanged);
+        }
+
         applySystemPropertiesKvpList(systemProperties, configurator);
         applyInstantiationTypesKvpList(instantiationTypes, configurator);
         applyImportMappingsKvpList(importMappings, configurator);
@@ -349,13 +548,52 @@ public class Generate implements Runnable {
         applyLanguageSpecificPrimitivesCsvList(languageSpecificPrimitives, configurator);
         applyReservedWordsMappingsKvpList(reservedWordsMappings, configurator);
 
+        if (workingDirectory != null) {
+            configurator.setSpecCache(specCache);
+        }
+
         try {
+            GenerationMetrics metrics = null;
+            if (Boolean.TRUE.equals(timings) || isNotEmpty(timingsReport)) {
+                metrics = new GenerationMetrics(true);
+                metrics.phaseStarted("parse");
+            }
             final ClientOptInput clientOptInput = configurator.toClientOptInput();
-            new DefaultGenerator().opts(clientOptInput).generate();
+            DefaultGenerator generator = new DefaultGenerator();
+            if (templateCache != null && configurator.getTemplateDir() == null) {
+                // the embedded templates do not change while the daemon runs, unlike custom templates
+                generator.setTemplateCache(templateCache);
+            }
+            if (metrics != null) {
+                metrics.phaseFinished("parse");
+                generator.addGenerationListener(metrics);
+            }
+            List<File> files = generator.opts(clientOptInput).generate();
+            if (files != null) {
+                generatedFiles = files;
+            }
+
+            if (metrics != null) {
+                reportTimings(metrics);
+            }
+            return true;
         } catch (GeneratorNotFoundException e) {
             System.err.println(e.getMessage());
             System.err.println("[error] Check the spelling of the generator's name and try again.");
-            System.exit(1);
+            return false;
+        }
+    }
+
+    private void reportTimings(GenerationMetrics metrics) {
+        if (Boolean.TRUE.equals(timings)) {
+            System.out.println(metrics.toTable());
+        }
+        if (isNotEmpty(timingsReport)) {
+            try {
+                metrics.writeJson(new File(timingsReport));
+            } catch (IOException e) {
+                LOGGER.error("Could not write the timings report to {}", timingsReport, e);
+            }
         }
     }
 }
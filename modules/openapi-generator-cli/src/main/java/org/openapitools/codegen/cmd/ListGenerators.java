@@ -1,16 +1,12 @@
 package org.openapitools.codegen.cmd;
 
-import com.google.common.base.Objects;
-
 import io.airlift.airline.Command;
 import io.airlift.airline.Option;
 
-import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenType;
 
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
@@ -24,18 +20,10 @@ public class ListGenerators implements Runnable {
 
     @Override
     public void run() {
-        List<CodegenConfig> generators = CodegenConfigLoader.getAll();
-
         StringBuilder sb = new StringBuilder();
 
         if (shortened) {
-            for (int i = 0; i < generators.size(); i++) {
-                CodegenConfig generator = generators.get(i);
-                if (i != 0) {
-                    sb.append(",");
-                }
-                sb.append(generator.getName());
-            }
+            sb.append(String.join(",", CodegenConfigLoader.getNames()));
         } else {
             List<CodegenType> types = Arrays.asList(CodegenType.values());
 
@@ -45,18 +33,17 @@ public class ListGenerators implements Runnable {
             sb.append(System.lineSeparator());
 
             for (CodegenType type : types) {
-                appendForType(sb, type, type.name(), generators);
+                appendForType(sb, type, type.name());
             }
-            appendForType(sb, null, "UNSPECIFIED", generators);
+            appendForType(sb, null, "UNSPECIFIED");
         }
 
         System.out.printf(Locale.ROOT, "%s%n", sb.toString());
     }
 
-    private void appendForType(StringBuilder sb, CodegenType type, String typeName, List<CodegenConfig> generators) {
-        List<CodegenConfig> list = generators.stream()
-                .filter(g -> Objects.equal(type, g.getTag()))
-                .sorted(Comparator.comparing(CodegenConfig::getName))
+    private void appendForType(StringBuilder sb, CodegenType type, String typeName) {
+        List<String> list = CodegenConfigLoader.getNames(type).stream()
+                .sorted()
                 .collect(Collectors.toList());
 
         if(list.size() > 0) {
@@ -64,7 +51,7 @@ public class ListGenerators implements Runnable {
             sb.append(System.lineSeparator());
 
             list.stream()
-                    .forEach(generator -> sb.append("    - ").append(generator.getName()).append(System.lineSeparator()));
+                    .forEach(name -> sb.append("    - ").append(name).append(System.lineSeparator()));
 
             sb.append(System.lineSeparator());
             sb.append(System.lineSeparator());
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import io.airlift.airline.Cli;
+import org.openapitools.codegen.DefaultCodegen;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BatchTest {
+
+    @Test
+    public void testBatch() throws Exception {
+        File directory = Files.createTempDirectory("batch").toFile();
+        String spec = new File("src/test/resources/swagger.yaml").getAbsolutePath().replace("\\", "/");
+        File java = new File(directory, "java");
+        File python = new File(directory, "python");
+        File javaConfig = new File(directory, "java.json");
+        File pythonConfig = new File(directory, "python.yaml");
+        Files.write(javaConfig.toPath(), ("{\"generatorName\": \"java\", \"inputSpec\": \"" + spec + "\", \"outputDir\": \""
+                + java.getAbsolutePath().replace("\\", "/") + "\"}").getBytes(StandardCharsets.UTF_8));
+        Files.write(pythonConfig.toPath(), ("generatorName: python\ninputSpec: " + spec + "\noutputDir: "
+                + python.getAbsolutePath().replace("\\", "/") + "\n").getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertTrue(batch("--threads", "2", javaConfig.getPath(), pythonConfig.getPath()).generate());
+        Assert.assertTrue(new File(java, "src/main/java/org/openapitools/client/model/Pet.java").isFile());
+        Assert.assertTrue(new File(python, "openapi_client/models/pet.py").isFile());
+
+        Assert.assertFalse(batch(javaConfig.getPath(), new File(directory, "missing.json").getPath()).generate());
+    }
+
+    @Test
+    public void testBatchWritesTheSameFilesAsGenerate() throws Exception {
+        File directory = Files.createTempDirectory("batch").toFile();
+        String spec = new File("src/test/resources/enum-defaults.yaml").getAbsolutePath().replace("\\", "/");
+        File batch = new File(directory, "batch");
+        File generate = new File(directory, "generate");
+        File config = new File(directory, "html2.json");
+        Files.write(config.toPath(), ("{\"generatorName\": \"html2\", \"inputSpec\": \"" + spec + "\", \"outputDir\": \""
+                + batch.getAbsolutePath().replace("\\", "/") + "\", \"additionalProperties\": {\"hideGenerationTimestamp\": true}}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        // the spec parsed by the batch command is a copy of the cached parse result
+        Assert.assertTrue(batch(config.getPath()).generate());
+        Generate command = (Generate) Cli.<Runnable>builder("openapi-generator-cli")
+                .withCommand(Generate.class)
+                .build()
+                .parse("generate", "-g", "html2", "-i", spec, "-o", generate.getPath(),
+                        "--additional-properties", "hideGenerationTimestamp=true");
+        Assert.assertTrue(command.generate());
+
+        List<Path> files = list(generate.toPath());
+        Assert.assertTrue(files.contains(Paths.get("index.html")));
+        Assert.assertEquals(list(batch.toPath()), files);
+        for (Path file : files) {
+            Assert.assertEquals(new String(Files.readAllBytes(batch.toPath().resolve(file)), StandardCharsets.UTF_8),
+                    new String(Files.readAllBytes(generate.toPath().resolve(file)), StandardCharsets.UTF_8), file.toString());
+        }
+        String index = new String(Files.readAllBytes(batch.toPath().resolve("index.html")), StandardCharsets.UTF_8);
+        Assert.assertTrue(index.contains("\"default\" : \"placed\",\n  \"enum\" : [ \"placed\", \"approved\", \"delivered\" ]"), index);
+    }
+
+    @Test
+    public void testBatchReportsErrors() throws Exception {
+        File directory = Files.createTempDirectory("batch").toFile();
+        String spec = new File("src/test/resources/swagger.yaml").getAbsolutePath().replace("\\", "/");
+        File java = new File(directory, "java");
+        File javaConfig = new File(directory, "java.json");
+        File failingConfig = new File(directory, "failing.json");
+        Files.write(javaConfig.toPath(), ("{\"generatorName\": \"java\", \"inputSpec\": \"" + spec + "\", \"outputDir\": \""
+                + java.getAbsolutePath().replace("\\", "/") + "\"}").getBytes(StandardCharsets.UTF_8));
+        Files.write(failingConfig.toPath(), ("{\"generatorName\": \"" + FailingCodegen.class.getName() + "\", \"inputSpec\": \""
+                + spec + "\", \"outputDir\": \"" + new File(directory, "failing").getAbsolutePath().replace("\\", "/") + "\"}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        // an error of a generation fails it, the others go on
+        Assert.assertFalse(batch("--threads", "1", failingConfig.getPath(), javaConfig.getPath()).generate());
+        Assert.assertTrue(new File(java, "src/main/java/org/openapitools/client/model/Pet.java").isFile());
+    }
+
+    public static class FailingCodegen extends DefaultCodegen {
+        // an ExceptionInInitializerError when the generator is loaded
+        private static final Object FAILURE = fail();
+
+        private static Object fail() {
+            throw new IllegalStateException("failing generator");
+        }
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).map(directory::relativize).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static Batch batch(String... args) {
+        String[] arguments = new String[args.length + 1];
+        arguments[0] = "batch";
+        System.arraycopy(args, 0, arguments, 1, args.length);
+        return (Batch) Cli.<Runnable>builder("openapi-generator-cli")
+                .withCommand(Batch.class)
+                .build()
+                .parse(arguments);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import io.airlift.airline.Cli;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DaemonTest {
+
+    @Test
+    public void testGenerateWithDaemon() throws Exception {
+        File directory = Files.createTempDirectory("daemon").toFile();
+        File state = new File(directory, "daemon.properties");
+        Runnable daemon = Cli.<Runnable>builder("openapi-generator-cli")
+                .withCommand(Daemon.class)
+                .build()
+                .parse("daemon", "--state-file", state.getPath());
+        Thread thread = new Thread(daemon);
+        thread.start();
+        try {
+            for (int i = 0; i < 100 && !state.isFile(); i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertTrue(state.isFile());
+
+            // relative paths are resolved against the working directory of the client
+            File specFile = new File("src/test/resources/swagger.yaml").getAbsoluteFile();
+            ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+            ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+            List<String> files = new ArrayList<>();
+            Integer status = Daemon.send(state, "generate", specFile.getParentFile(),
+                    Arrays.asList("-g", "java", "-i", specFile.getName(), "-o", "out"), Collections.emptyMap(), stdout, stderr, files);
+            Assert.assertEquals(status, Integer.valueOf(0), new String(stderr.toByteArray(), StandardCharsets.UTF_8));
+            File output = new File(specFile.getParentFile(), "out");
+            try {
+                Assert.assertFalse(files.isEmpty());
+                for (String file : files) {
+                    Assert.assertTrue(new File(file).exists(), file);
+                    Assert.assertTrue(file.startsWith(output.getPath()), file);
+                }
+                Assert.assertTrue(new String(stdout.toByteArray(), StandardCharsets.UTF_8).contains("writing file"));
+            } finally {
+                deleteRecursively(output);
+            }
+
+            stderr.reset();
+            status = Daemon.send(state, "generate", specFile.getParentFile(),
+                    Arrays.asList("-g", "nosuch", "-i", specFile.getName()), Collections.emptyMap(), stdout, stderr, null);
+            Assert.assertEquals(status, Integer.valueOf(1));
+            Assert.assertTrue(new String(stderr.toByteArray(), StandardCharsets.UTF_8).contains("Check the spelling of the generator's name"));
+        } finally {
+            Daemon.send(state, "stop", null, Collections.emptyList(), Collections.emptyMap(), System.out, System.err, null);
+            thread.join(10000);
+        }
+        Assert.assertFalse(thread.isAlive());
+        Assert.assertFalse(state.exists());
+        Assert.assertNull(Daemon.send(state, "generate", directory, Collections.emptyList(), Collections.emptyMap(),
+                System.out, System.err, null));
+    }
+
+    @Test
+    public void testConfigFileAndSystemPropertiesOfClient() throws Exception {
+        File directory = Files.createTempDirectory("daemon").toFile();
+        File state = new File(directory, "daemon.properties");
+        Runnable daemon = Cli.<Runnable>builder("openapi-generator-cli")
+                .withCommand(Daemon.class)
+                .build()
+                .parse("daemon", "--state-file", state.getPath());
+        Thread thread = new Thread(daemon);
+        thread.start();
+        try {
+            for (int i = 0; i < 100 && !state.isFile(); i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertTrue(state.isFile());
+
+            // a working directory other than the one of the daemon, holding a config file with relative paths
+            File workingDirectory = new File(directory, "client");
+            File templates = new File(workingDirectory, "templates");
+            Assert.assertTrue(templates.mkdirs());
+            Files.copy(new File("src/test/resources/swagger.yaml").toPath(), new File(workingDirectory, "swagger.yaml").toPath());
+            Files.write(new File(templates, "model.mustache").toPath(),
+                    "custom {{#models}}{{#model}}{{classname}}{{/model}}{{/models}}".getBytes(StandardCharsets.UTF_8));
+            Files.write(new File(workingDirectory, "config.json").toPath(), "{\"outputDir\": \"out\", \"templateDir\": \"templates\"}"
+                    .getBytes(StandardCharsets.UTF_8));
+
+            ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+            ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+            List<String> files = new ArrayList<>();
+            Integer status = Daemon.send(state, "generate", workingDirectory, Arrays.asList("-g", "java", "-i", "swagger.yaml", "-c", "config.json"),
+                    Collections.singletonMap("models", "Pet"), stdout, stderr, files);
+            Assert.assertEquals(status, Integer.valueOf(0), new String(stderr.toByteArray(), StandardCharsets.UTF_8));
+
+            File output = new File(workingDirectory, "out");
+            File pet = new File(output, "src/main/java/org/openapitools/client/model/Pet.java");
+            Assert.assertTrue(files.contains(pet.getPath()), files.toString());
+            for (String file : files) {
+                Assert.assertTrue(file.startsWith(output.getPath()), file);
+                Assert.assertFalse(file.contains(File.separator + "api" + File.separator), file);
+            }
+            Assert.assertEquals(new String(Files.readAllBytes(pet.toPath()), StandardCharsets.UTF_8), "custom Pet");
+        } finally {
+            Daemon.send(state, "stop", null, Collections.emptyList(), Collections.emptyMap(), System.out, System.err, null);
+            thread.join(10000);
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -1,6 +1,5 @@
 package org.openapitools.codegen.online.configuration;
 
-import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenType;
 import org.springframework.stereotype.Component;
@@ -19,15 +18,9 @@ public class ParameterAllowableValuesPlugin implements ParameterBuilderPlugin {
     private static List<String> servers = new ArrayList<>();
 
     static {
-        List<CodegenConfig> extensions = CodegenConfigLoader.getAll();
-        for (CodegenConfig config : extensions) {
-            if (config.getTag().equals(CodegenType.CLIENT)
-                    || config.getTag().equals(CodegenType.DOCUMENTATION)) {
-                clients.add(config.getName());
-            } else if (config.getTag().equals(CodegenType.SERVER)) {
-                servers.add(config.getName());
-            }
-        }
+        clients.addAll(CodegenConfigLoader.getNames(CodegenType.CLIENT));
+        clients.addAll(CodegenConfigLoader.getNames(CodegenType.DOCUMENTATION));
+        servers.addAll(CodegenConfigLoader.getNames(CodegenType.SERVER));
 
         clients.sort(String.CASE_INSENSITIVE_ORDER);
         servers.sort(String.CASE_INSENSITIVE_ORDER);
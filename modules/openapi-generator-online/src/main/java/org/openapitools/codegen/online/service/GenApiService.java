@@ -20,7 +20,6 @@ package org.openapitools.codegen.online.service;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.CliOption;
-import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.online.api.GenApiDelegate;
@@ -55,15 +54,9 @@ public class GenApiService implements GenApiDelegate {
     private static Map<String, Generated> fileMap = new HashMap<>();
 
     static {
-        List<CodegenConfig> extensions = CodegenConfigLoader.getAll();
-        for (CodegenConfig config : extensions) {
-            if (config.getTag().equals(CodegenType.CLIENT)
-                    || config.getTag().equals(CodegenType.DOCUMENTATION)) {
-                clients.add(config.getName());
-            } else if (config.getTag().equals(CodegenType.SERVER)) {
-                servers.add(config.getName());
-            }
-        }
+        clients.addAll(CodegenConfigLoader.getNames(CodegenType.CLIENT));
+        clients.addAll(CodegenConfigLoader.getNames(CodegenType.DOCUMENTATION));
+        servers.addAll(CodegenConfigLoader.getNames(CodegenType.SERVER));
 
         clients.sort(String.CASE_INSENSITIVE_ORDER);
         servers.sort(String.CASE_INSENSITIVE_ORDER);
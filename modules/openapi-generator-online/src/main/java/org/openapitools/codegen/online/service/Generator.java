@@ -18,7 +18,6 @@
 package org.openapitools.codegen.online.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
@@ -29,6 +28,7 @@ import org.openapitools.codegen.ClientOpts;
 import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.SpecCache;
 import org.openapitools.codegen.online.model.GeneratorInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +44,8 @@ import java.util.Map;
 
 public class Generator {
     private static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
+    // the same specs are often generated for several languages
+    private static final SpecCache SPEC_CACHE = new SpecCache(32);
 
     public static Map<String, CliOption> getOptions(String language) {
         CodegenConfig config;
@@ -100,9 +102,9 @@ public class Generator {
                 if (opts.getAuthorizationValue() != null) {
                     List<AuthorizationValue> authorizationValues = new ArrayList<>();
                     authorizationValues.add(opts.getAuthorizationValue());
-                    openapi = new OpenAPIParser().readLocation(opts.getOpenAPIUrl(), authorizationValues, parseOptions).getOpenAPI();
+                    openapi = SPEC_CACHE.read(opts.getOpenAPIUrl(), authorizationValues, parseOptions).getOpenAPI();
                 } else {
-                    openapi = new OpenAPIParser().readLocation(opts.getOpenAPIUrl(), null, parseOptions).getOpenAPI();
+                    openapi = SPEC_CACHE.read(opts.getOpenAPIUrl(), null, parseOptions).getOpenAPI();
                 }
             } else {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No OpenAPI specification was supplied");
@@ -110,10 +112,10 @@ public class Generator {
         } else if (opts.getAuthorizationValue() != null) {
             List<AuthorizationValue> authorizationValues = new ArrayList<>();
             authorizationValues.add(opts.getAuthorizationValue());
-            openapi = new OpenAPIParser().readContents(node.toString(), authorizationValues, parseOptions).getOpenAPI();
+            openapi = SPEC_CACHE.readContents(node.toString(), authorizationValues, parseOptions).getOpenAPI();
 
         } else {
-            openapi = new OpenAPIParser().readContents(node.toString(), null, parseOptions).getOpenAPI();
+            openapi = SPEC_CACHE.readContents(node.toString(), null, parseOptions).getOpenAPI();
         }
         if (openapi == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The OpenAPI specification supplied was not valid");
@@ -31,13 +31,14 @@ import java.nio.file.Paths;
 import java.util.Scanner;
 import java.util.regex.Pattern;
 
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class AbstractGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGenerator.class);
 
+    private volatile TemplateIndex templateIndex;
+
     @SuppressWarnings("static-method")
     public File writeToFile(String filename, String contents) throws IOException {
         LOGGER.info("writing file " + filename);
@@ -84,10 +85,6 @@ public abstract class AbstractGenerator {
         throw new RuntimeException("can't load template " + name);
     }
 
-    private String buildLibraryFilePath(String dir, String library, String file) {
-        return dir + File.separator + "libraries" + File.separator + library + File.separator + file;
-    }
-
     /**
      * Get the template file path with template dir prepended, and use the
      * library template if exists.
@@ -101,34 +98,29 @@ public abstract class AbstractGenerator {
         //2nd it will check for the file in the specified <template folder> folder
         //3rd it will check if there's an <embedded template>/libraries/<library> folder containing the file
         //4th and last it will assume the file is in <embedded template> folder.
+        //The folders are listed once, see TemplateIndex.
+        return getTemplateIndex(config).getFullTemplateFile(templateFile);
+    }
 
-        //check the supplied template library folder for the file
-        final String library = config.getLibrary();
-        if (StringUtils.isNotEmpty(library)) {
-            //look for the file in the library subfolder of the supplied template
-            final String libTemplateFile = buildLibraryFilePath(config.templateDir(), library, templateFile);
-            if (new File(libTemplateFile).exists()) {
-                return libTemplateFile;
-            }
-        }
-
-        //check the supplied template main folder for the file
-        final String template = config.templateDir() + File.separator + templateFile;
-        if (new File(template).exists()) {
-            return template;
-        }
-
-        //try the embedded template library folder next
-        if (StringUtils.isNotEmpty(library)) {
-            final String embeddedLibTemplateFile = buildLibraryFilePath(config.embeddedTemplateDir(), library, templateFile);
-            if (embeddedTemplateExists(embeddedLibTemplateFile)) {
-                // Fall back to the template file embedded/packaged in the JAR file library folder...
-                return embeddedLibTemplateFile;
+    /**
+     * Get the index of the templates of a generator, listing its template folders on the first call and again
+     * whenever they change.
+     *
+     * @param config Codegen config
+     * @return the template index
+     */
+    public TemplateIndex getTemplateIndex(CodegenConfig config) {
+        TemplateIndex index = templateIndex;
+        if (index == null || !index.isIndexOf(config)) {
+            synchronized (this) {
+                index = templateIndex;
+                if (index == null || !index.isIndexOf(config)) {
+                    index = new TemplateIndex(config, this.getClass().getClassLoader());
+                    templateIndex = index;
+                }
             }
         }
-            
-        // Fall back to the template file embedded/packaged in the JAR file...
-        return config.embeddedTemplateDir() + File.separator + templateFile;
+        return index;
     }
 
     public String readResourceContents(String resourceFilePath) {
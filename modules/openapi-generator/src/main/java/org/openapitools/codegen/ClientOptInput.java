@@ -21,12 +21,14 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import java.util.List;
 import org.openapitools.codegen.auth.AuthParser;
+import org.openapitools.codegen.config.GenerationContext;
 
 public class ClientOptInput {
     private CodegenConfig config;
     private ClientOpts opts;
     private OpenAPI openAPI;
     private List<AuthorizationValue> auths;
+    private GenerationContext generationContext;
 
     public ClientOptInput openAPI(OpenAPI openAPI) {
         this.setOpenAPI(openAPI);
@@ -43,6 +45,11 @@ public class ClientOptInput {
         return this;
     }
 
+    public ClientOptInput generationContext(GenerationContext generationContext) {
+        this.setGenerationContext(generationContext);
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -87,4 +94,12 @@ public class ClientOptInput {
     public void setOpenAPI(OpenAPI openAPI) {
         this.openAPI = openAPI;
     }
+
+    public GenerationContext getGenerationContext() {
+        return generationContext;
+    }
+
+    public void setGenerationContext(GenerationContext generationContext) {
+        this.generationContext = generationContext;
+    }
 }
@@ -25,6 +25,7 @@ import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import io.swagger.v3.oas.models.servers.ServerVariable;
+import org.openapitools.codegen.utils.ModelIndex;
 
 import java.io.File;
 import java.util.HashMap;
@@ -189,6 +190,13 @@ public interface CodegenConfig {
 
     Map<String, Object> postProcessOperationsWithModels(Map<String, Object> objs, List<Object> allModels);
 
+    /**
+     * Set the index of the models which will be passed to {@link #postProcessOperationsWithModels(Map, List)}.
+     *
+     * @param modelIndex the index of all the models
+     */
+    void setModelIndex(ModelIndex modelIndex);
+
     Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs);
 
     void postProcessModelProperty(CodegenModel model, CodegenProperty property);
@@ -262,10 +270,24 @@ public interface CodegenConfig {
 
     void postProcessFile(File file, String fileType);
 
+    String getPostProcessFileCommand(File file, String fileType);
+
     boolean isEnablePostProcessFile();
 
     void setEnablePostProcessFile(boolean isEnablePostProcessFile);
 
+    boolean isParallelOperationConversionSupported();
+
+    void setOperationExamplesDeferred(boolean operationExamplesDeferred);
+
+    void generateOperationExamples(CodegenOperation operation);
+
+    boolean isModelSummarySupported();
+
+    boolean isSchemaJsonEnabled();
+
+    void setSchemaJsonEnabled(boolean schemaJsonEnabled);
+
     // set OpenAPI and schemas
     void setGlobalOpenAPI(OpenAPI openAPI);
 
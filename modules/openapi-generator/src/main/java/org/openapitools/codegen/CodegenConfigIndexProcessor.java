@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Set;
+
+/**
+ * Writes the index of the generators read by {@link CodegenConfigLoader} at build time.
+ * <p>
+ * The generators are instantiated to get their names, so the processor runs when the tests are compiled, the
+ * generators being on the class path by then, and writes the index to the file given by the
+ * {@value #INDEX_OPTION} option, among the classes of the generators (see the pom of this module). It is not
+ * registered as a service, so it does not run when other projects are compiled against the generators.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(CodegenConfigIndexProcessor.INDEX_OPTION)
+public class CodegenConfigIndexProcessor extends AbstractProcessor {
+    static final String INDEX_OPTION = "codegenConfigIndex";
+
+    private boolean written;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        String index = processingEnv.getOptions().get(INDEX_OPTION);
+        if (written || index == null) {
+            return false;
+        }
+        written = true;
+        try {
+            CodegenConfigLoader.writeIndex(Paths.get(index), getClass().getClassLoader());
+        } catch (IOException | RuntimeException | LinkageError e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the index of the generators: " + e);
+        }
+        return false;
+    }
+}
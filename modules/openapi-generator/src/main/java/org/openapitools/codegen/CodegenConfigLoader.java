@@ -19,11 +19,45 @@ package org.openapitools.codegen;
 
 import static java.util.ServiceLoader.load;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
 
+/**
+ * Finds the generators declared as {@link ServiceLoader} providers of {@link CodegenConfig}.
+ * <p>
+ * The names of the generators are looked up in an index shipped next to the service file, written by the build (see
+ * {@link CodegenConfigIndexProcessor}), so that only the requested generator is instantiated. Generators of other jars without an index are instantiated once per
+ * class loader to get their name.
+ */
 public class CodegenConfigLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodegenConfigLoader.class);
+
+    static final String SERVICES = "META-INF/services/" + CodegenConfig.class.getName();
+    static final String INDEX = "META-INF/openapi-generator/codegen-configs";
+
+    private static final Map<ClassLoader, List<Generator>> GENERATORS = new WeakHashMap<>();
+
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
      *
@@ -31,7 +65,23 @@ public class CodegenConfigLoader {
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = load(CodegenConfig.class);
+        ClassLoader classLoader = classLoader();
+        for (Generator generator : generators(classLoader)) {
+            if (generator.name.equals(name)) {
+                CodegenConfig config = generator.newInstance(classLoader);
+                if (name.equals(config.getName())) {
+                    return config;
+                }
+                // the index is outdated, e.g. when a generator is renamed without rebuilding the index
+                LOGGER.warn("The generator {} is named {} instead of {} in the index {}", generator.className, config.getName(), name, INDEX);
+                return scan(name, classLoader);
+            }
+        }
+        return scan(name, classLoader);
+    }
+
+    private static CodegenConfig scan(String name, ClassLoader classLoader) {
+        ServiceLoader<CodegenConfig> loader = load(CodegenConfig.class, classLoader);
 
         StringBuilder availableConfigs = new StringBuilder();
 
@@ -52,11 +102,156 @@ public class CodegenConfigLoader {
     }
 
     public static List<CodegenConfig> getAll() {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class);
+        ClassLoader classLoader = classLoader();
         List<CodegenConfig> output = new ArrayList<CodegenConfig>();
-        for (CodegenConfig aLoader : loader) {
-            output.add(aLoader);
+        for (Generator generator : generators(classLoader)) {
+            output.add(generator.newInstance(classLoader));
         }
         return output;
     }
+
+    /**
+     * @return the names of the generators, without instantiating them
+     */
+    public static List<String> getNames() {
+        List<String> names = new ArrayList<>();
+        for (Generator generator : generators(classLoader())) {
+            names.add(generator.name);
+        }
+        return names;
+    }
+
+    /**
+     * @param type type of generators, or null for the generators without type
+     * @return the names of the generators of a type, without instantiating them
+     */
+    public static List<String> getNames(CodegenType type) {
+        List<String> names = new ArrayList<>();
+        for (Generator generator : generators(classLoader())) {
+            if (generator.type == type) {
+                names.add(generator.name);
+            }
+        }
+        return names;
+    }
+
+    private static ClassLoader classLoader() {
+        // same class loader as ServiceLoader.load(Class)
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+    }
+
+    private static List<Generator> generators(ClassLoader classLoader) {
+        synchronized (GENERATORS) {
+            List<Generator> generators = GENERATORS.get(classLoader);
+            if (generators == null) {
+                generators = Collections.unmodifiableList(discover(classLoader, true));
+                GENERATORS.put(classLoader, generators);
+            }
+            return generators;
+        }
+    }
+
+    /**
+     * @param classLoader class loader of the generators
+     * @param useIndex    false to instantiate every generator
+     * @return the generators, in the order of the ServiceLoader
+     */
+    private static List<Generator> discover(ClassLoader classLoader, boolean useIndex) {
+        Map<String, Generator> indexed = new HashMap<>();
+        if (useIndex) {
+            for (String line : readLines(classLoader, INDEX)) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 3) {
+                    LOGGER.warn("Ignoring the line '{}' of {}", line, INDEX);
+                    continue;
+                }
+                indexed.put(fields[2], new Generator(fields[0], fields[1].isEmpty() ? null : CodegenType.valueOf(fields[1]), fields[2]));
+            }
+        }
+
+        List<Generator> generators = new ArrayList<>();
+        for (String className : new LinkedHashSet<>(readLines(classLoader, SERVICES))) {
+            Generator generator = indexed.get(className);
+            if (generator == null) {
+                CodegenConfig config = newInstance(className, classLoader);
+                generator = new Generator(config.getName(), config.getTag(), className);
+            }
+            generators.add(generator);
+        }
+        return generators;
+    }
+
+    /**
+     * @return the lines of all the resources with the given name, without comments and blank lines
+     */
+    private static List<String> readLines(ClassLoader classLoader, String resource) {
+        List<String> lines = new ArrayList<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(resource);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int comment = line.indexOf('#');
+                        if (comment >= 0) {
+                            line = line.substring(0, comment);
+                        }
+                        line = line.trim();
+                        if (!line.isEmpty()) {
+                            lines.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read " + resource, e);
+        }
+        return lines;
+    }
+
+    private static CodegenConfig newInstance(String className, ClassLoader classLoader) {
+        try {
+            return (CodegenConfig) Class.forName(className, true, classLoader).getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError e) {
+            throw new ServiceConfigurationError(CodegenConfig.class.getName() + ": Provider " + className + " could not be instantiated", e);
+        }
+    }
+
+    /**
+     * Writes the index of the generators of a class loader.
+     * Outdated entries are detected by {@link #forName(String)}, which then falls back to instantiating the generators.
+     *
+     * @param index       the file of the index
+     * @param classLoader class loader of the generators
+     * @throws IOException if the index can't be written
+     */
+    static void writeIndex(Path index, ClassLoader classLoader) throws IOException {
+        Files.createDirectories(index.toAbsolutePath().getParent());
+        List<Generator> generators = discover(classLoader, false);
+        try (Writer writer = Files.newBufferedWriter(index, StandardCharsets.UTF_8)) {
+            writer.write("# name, type and class of the generators of " + SERVICES + "\n");
+            writer.write("# written by " + CodegenConfigLoader.class.getName() + ", do not edit\n");
+            for (Generator generator : generators) {
+                writer.write(generator.name + "\t" + (generator.type != null ? generator.type.name() : "") + "\t" + generator.className + "\n");
+            }
+        }
+    }
+
+    private static final class Generator {
+        private final String name;
+        private final CodegenType type;
+        private final String className;
+
+        Generator(String name, CodegenType type, String className) {
+            this.name = Objects.requireNonNull(name, className);
+            this.type = type;
+            this.className = className;
+        }
+
+        CodegenConfig newInstance(ClassLoader classLoader) {
+            return CodegenConfigLoader.newInstance(className, classLoader);
+        }
+    }
 }
@@ -32,6 +32,12 @@ public class CodegenConstants {
     public static final String API_DOCS = "apiDocs";
     public static final String WITH_XML = "withXml";
     public static final String SKIP_FORM_MODEL = "skipFormModel";
+    public static final String PARALLELISM = "parallelism";
+    public static final String PARALLEL_OPERATIONS = "parallelOperations";
+    public static final String INCREMENTAL = "incremental";
+    public static final String WRITE_IF_CHANGED = "writeIfChanged";
+    public static final String LOW_MEMORY = "lowMemory";
+    public static final String POST_PROCESS_FILE_BATCH = "postProcessFileBatch";
     /* /end System Properties */
 
     public static final String API_PACKAGE = "apiPackage";
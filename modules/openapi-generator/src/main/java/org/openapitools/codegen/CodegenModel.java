@@ -23,6 +23,7 @@ import java.util.*;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.openapitools.codegen.utils.JsonSnapshot;
 
 @JsonIgnoreProperties({"parentModel", "interfaceModels"})
 public class CodegenModel {
@@ -41,6 +42,8 @@ public class CodegenModel {
     public Set<String> allOf = new TreeSet<String>();
 
     public String name, classname, title, description, classVarName, modelJson, dataType, xmlPrefix, xmlNamespace, xmlName;
+    // schema formatted as modelJson on first access, as few templates use it
+    private JsonSnapshot modelJsonSource;
     public String classFilename; // store the class file name, mainly used for import
     public String unescapedDescription;
     public CodegenDiscriminator discriminator;
@@ -85,7 +88,7 @@ public class CodegenModel {
                 .append("title", title)
                 .append("description", description)
                 .append("classVarName", classVarName)
-                .append("modelJson", modelJson)
+                .append("modelJson", getModelJson())
                 .append("dataType", dataType)
                 .append("xmlPrefix", xmlPrefix)
                 .append("xmlNamespace", xmlNamespace)
@@ -155,7 +158,7 @@ public class CodegenModel {
             return false;
         if (classVarName != null ? !classVarName.equals(that.classVarName) : that.classVarName != null)
             return false;
-        if (modelJson != null ? !modelJson.equals(that.modelJson) : that.modelJson != null)
+        if (getModelJson() != null ? !getModelJson().equals(that.getModelJson()) : that.getModelJson() != null)
             return false;
         if (dataType != null ? !dataType.equals(that.dataType) : that.dataType != null)
             return false;
@@ -224,7 +227,7 @@ public class CodegenModel {
         result = 31 * result + (title != null ? title.hashCode() : 0);
         result = 31 * result + (description != null ? description.hashCode() : 0);
         result = 31 * result + (classVarName != null ? classVarName.hashCode() : 0);
-        result = 31 * result + (modelJson != null ? modelJson.hashCode() : 0);
+        result = 31 * result + (getModelJson() != null ? getModelJson().hashCode() : 0);
         result = 31 * result + (dataType != null ? dataType.hashCode() : 0);
         result = 31 * result + (xmlPrefix != null ? xmlPrefix.hashCode() : 0);
         result = 31 * result + (xmlNamespace != null ? xmlNamespace.hashCode() : 0);
@@ -351,11 +354,27 @@ public class CodegenModel {
     }
 
     public String getModelJson() {
-        return modelJson;
+        String json = modelJson;
+        if (json == null && modelJsonSource != null) {
+            json = modelJsonSource.toJson();
+            modelJson = json;
+        }
+        return json;
     }
 
     public void setModelJson(String modelJson) {
         this.modelJson = modelJson;
+        this.modelJsonSource = null;
+    }
+
+    /**
+     * Set the schema of the model, serialized now and formatted as JSON by {@link #getModelJson()} when it is first called.
+     *
+     * @param modelJsonSource the schema
+     */
+    public void setModelJsonSource(Object modelJsonSource) {
+        this.modelJson = null;
+        this.modelJsonSource = modelJsonSource == null ? null : new JsonSnapshot(modelJsonSource);
     }
 
     public String getDataType() {
@@ -630,4 +649,28 @@ public class CodegenModel {
             }
         }
     }
+
+    /**
+     * Reduce the model to its summary once its files are generated, to release the memory held by its properties.
+     * <p>
+     * The summary keeps the names, imports, flags (e.g. isEnum, hasVars), allowable values, discriminator and vendor
+     * extensions of the model. The lists of properties and required properties become empty, and the schema
+     * (modelJson) and the references to the parent, interface and children models are dropped.
+     */
+    public void summarize() {
+        vars = new ArrayList<CodegenProperty>();
+        allVars = new ArrayList<CodegenProperty>();
+        requiredVars = new ArrayList<CodegenProperty>();
+        optionalVars = new ArrayList<CodegenProperty>();
+        readOnlyVars = new ArrayList<CodegenProperty>();
+        readWriteVars = new ArrayList<CodegenProperty>();
+        parentVars = new ArrayList<CodegenProperty>();
+        mandatory = new TreeSet<String>();
+        allMandatory = new TreeSet<String>();
+        modelJson = null;
+        modelJsonSource = null;
+        parentModel = null;
+        interfaceModels = null;
+        children = null;
+    }
 }
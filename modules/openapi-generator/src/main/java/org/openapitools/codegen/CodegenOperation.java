@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -66,6 +68,161 @@ public class CodegenOperation {
     public String operationIdCamelCase; // for class names
     public String operationIdSnakeCase;
 
+    /**
+     * Copy the operation, e.g. to add it to several groups. The copy does not share the parameters, responses or other
+     * mutable parts of this operation, except for the schemas and documentation of the spec.
+     *
+     * @return the copy
+     */
+    public CodegenOperation copy() {
+        CodegenOperation output = new CodegenOperation();
+        for (CodegenProperty responseHeader : this.responseHeaders) {
+            output.responseHeaders.add(responseHeader.clone());
+        }
+        output.hasAuthMethods = this.hasAuthMethods;
+        output.hasConsumes = this.hasConsumes;
+        output.hasProduces = this.hasProduces;
+        output.hasParams = this.hasParams;
+        output.hasOptionalParams = this.hasOptionalParams;
+        output.hasRequiredParams = this.hasRequiredParams;
+        output.returnTypeIsPrimitive = this.returnTypeIsPrimitive;
+        output.returnSimpleType = this.returnSimpleType;
+        output.subresourceOperation = this.subresourceOperation;
+        output.isMapContainer = this.isMapContainer;
+        output.isListContainer = this.isListContainer;
+        output.isMultipart = this.isMultipart;
+        output.hasMore = this.hasMore;
+        output.isResponseBinary = this.isResponseBinary;
+        output.isResponseFile = this.isResponseFile;
+        output.hasReference = this.hasReference;
+        output.isRestfulIndex = this.isRestfulIndex;
+        output.isRestfulShow = this.isRestfulShow;
+        output.isRestfulCreate = this.isRestfulCreate;
+        output.isRestfulUpdate = this.isRestfulUpdate;
+        output.isRestfulDestroy = this.isRestfulDestroy;
+        output.isRestful = this.isRestful;
+        output.isDeprecated = this.isDeprecated;
+        output.isCallbackRequest = this.isCallbackRequest;
+        output.path = this.path;
+        output.operationId = this.operationId;
+        output.returnType = this.returnType;
+        output.httpMethod = this.httpMethod;
+        output.returnBaseType = this.returnBaseType;
+        output.returnContainer = this.returnContainer;
+        output.summary = this.summary;
+        output.unescapedNotes = this.unescapedNotes;
+        output.notes = this.notes;
+        output.baseName = this.baseName;
+        output.defaultResponse = this.defaultResponse;
+        output.discriminator = this.discriminator;
+        output.consumes = copyMaps(this.consumes);
+        output.produces = copyMaps(this.produces);
+        output.prioritizedContentTypes = copyMaps(this.prioritizedContentTypes);
+
+        // the same parameter may be in several lists, e.g. the body parameter
+        Map<CodegenParameter, CodegenParameter> params = new IdentityHashMap<CodegenParameter, CodegenParameter>();
+        output.bodyParam = copyParam(this.bodyParam, params);
+        output.allParams = copyParams(this.allParams, params);
+        output.bodyParams = copyParams(this.bodyParams, params);
+        output.pathParams = copyParams(this.pathParams, params);
+        output.queryParams = copyParams(this.queryParams, params);
+        output.headerParams = copyParams(this.headerParams, params);
+        output.formParams = copyParams(this.formParams, params);
+        output.cookieParams = copyParams(this.cookieParams, params);
+        output.requiredParams = copyParams(this.requiredParams, params);
+        output.optionalParams = copyParams(this.optionalParams, params);
+
+        if (this.authMethods != null) {
+            output.authMethods = new ArrayList<CodegenSecurity>(this.authMethods.size());
+            for (CodegenSecurity authMethod : this.authMethods) {
+                output.authMethods.add(authMethod.copy());
+            }
+        }
+        if (this.tags != null) {
+            output.tags = new ArrayList<Tag>(this.tags);
+        }
+        if (this.responses != null) {
+            output.responses = new ArrayList<CodegenResponse>(this.responses.size());
+            for (CodegenResponse response : this.responses) {
+                output.responses.add(response.copy());
+            }
+        }
+        if (this.callbacks != null) {
+            output.callbacks = new ArrayList<CodegenCallback>(this.callbacks.size());
+            for (CodegenCallback callback : this.callbacks) {
+                output.callbacks.add(copyCallback(callback));
+            }
+        }
+        if (this.imports != null) {
+            output.imports = new HashSet<String>(this.imports);
+        }
+        output.examples = copyMaps(this.examples);
+        output.requestBodyExamples = copyMaps(this.requestBodyExamples);
+        output.externalDocs = this.externalDocs;
+        if (this.vendorExtensions != null) {
+            output.vendorExtensions = new LinkedHashMap<String, Object>(this.vendorExtensions);
+        }
+        output.nickname = this.nickname;
+        output.operationIdOriginal = this.operationIdOriginal;
+        output.operationIdLowerCase = this.operationIdLowerCase;
+        output.operationIdCamelCase = this.operationIdCamelCase;
+        output.operationIdSnakeCase = this.operationIdSnakeCase;
+        return output;
+    }
+
+    private static <V> List<Map<String, V>> copyMaps(List<Map<String, V>> maps) {
+        if (maps == null) {
+            return null;
+        }
+        List<Map<String, V>> output = new ArrayList<Map<String, V>>(maps.size());
+        for (Map<String, V> map : maps) {
+            output.add(map == null ? null : new LinkedHashMap<String, V>(map));
+        }
+        return output;
+    }
+
+    private static List<CodegenParameter> copyParams(List<CodegenParameter> params,
+                                                     Map<CodegenParameter, CodegenParameter> copies) {
+        if (params == null) {
+            return null;
+        }
+        List<CodegenParameter> output = new ArrayList<CodegenParameter>(params.size());
+        for (CodegenParameter param : params) {
+            output.add(copyParam(param, copies));
+        }
+        return output;
+    }
+
+    private static CodegenParameter copyParam(CodegenParameter param, Map<CodegenParameter, CodegenParameter> copies) {
+        if (param == null) {
+            return null;
+        }
+        CodegenParameter output = copies.get(param);
+        if (output == null) {
+            output = param.copy();
+            copies.put(param, output);
+        }
+        return output;
+    }
+
+    private static CodegenCallback copyCallback(CodegenCallback callback) {
+        CodegenCallback output = new CodegenCallback();
+        output.name = callback.name;
+        output.hasMore = callback.hasMore;
+        for (CodegenCallback.Url url : callback.urls) {
+            CodegenCallback.Url outputUrl = new CodegenCallback.Url();
+            outputUrl.expression = url.expression;
+            outputUrl.hasMore = url.hasMore;
+            for (CodegenOperation request : url.requests) {
+                outputUrl.requests.add(request.copy());
+            }
+            outputUrl.vendorExtensions = new LinkedHashMap<String, Object>(url.vendorExtensions);
+            output.urls.add(outputUrl);
+        }
+        output.vendorExtensions = new LinkedHashMap<String, Object>(callback.vendorExtensions);
+        return output;
+    }
+
     /**
      * Check if there's at least one parameter
      *
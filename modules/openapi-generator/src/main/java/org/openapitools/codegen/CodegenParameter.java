@@ -17,6 +17,8 @@
 
 package org.openapitools.codegen;
 
+import org.openapitools.codegen.utils.JsonSnapshot;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +33,8 @@ public class CodegenParameter {
 
     public String example; // example value (x-example)
     public String jsonSchema;
+    // parameter or schema formatted as jsonSchema on first access, as few templates use it
+    private JsonSnapshot jsonSchemaSource;
     public boolean isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isByteArray, isBinary,
             isBoolean, isDate, isDateTime, isUuid, isEmail, isFreeFormObject;
     public boolean isListContainer, isMapContainer;
@@ -134,6 +138,7 @@ public class CodegenParameter {
         output.uniqueItems = this.uniqueItems;
         output.multipleOf = this.multipleOf;
         output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSource = this.jsonSchemaSource;
         output.defaultValue = this.defaultValue;
         output.example = this.example;
         output.isEnum = this.isEnum;
@@ -175,6 +180,30 @@ public class CodegenParameter {
         return output;
     }
 
+    public String getJsonSchema() {
+        String json = jsonSchema;
+        if (json == null && jsonSchemaSource != null) {
+            json = jsonSchemaSource.toJson();
+            jsonSchema = json;
+        }
+        return json;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+        this.jsonSchemaSource = null;
+    }
+
+    /**
+     * Set the parameter or schema, serialized now and formatted as JSON by {@link #getJsonSchema()} when it is first called.
+     *
+     * @param jsonSchemaSource the parameter or schema
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchema = null;
+        this.jsonSchemaSource = jsonSchemaSource == null ? null : new JsonSnapshot(jsonSchemaSource);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -231,7 +260,7 @@ public class CodegenParameter {
             return false;
         if (example != null ? !example.equals(that.example) : that.example != null)
             return false;
-        if (jsonSchema != null ? !jsonSchema.equals(that.jsonSchema) : that.jsonSchema != null)
+        if (getJsonSchema() != null ? !getJsonSchema().equals(that.getJsonSchema()) : that.getJsonSchema() != null)
             return false;
         if (isString != that.isString)
             return false;
@@ -335,7 +364,7 @@ public class CodegenParameter {
         result = 31 * result + (baseType != null ? baseType.hashCode() : 0);
         result = 31 * result + (defaultValue != null ? defaultValue.hashCode() : 0);
         result = 31 * result + (example != null ? example.hashCode() : 0);
-        result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        result = 31 * result + (getJsonSchema() != null ? getJsonSchema().hashCode() : 0);
         result = 31 * result + (isString ? 13 : 31);
         result = 31 * result + (isNumeric ? 13 : 31);
         result = 31 * result + (isInteger ? 13 : 31);
@@ -404,7 +433,7 @@ public class CodegenParameter {
                 ", defaultValue='" + defaultValue + '\'' +
                 ", enumName='" + enumName + '\'' +
                 ", example='" + example + '\'' +
-                ", jsonSchema='" + jsonSchema + '\'' +
+                ", jsonSchema='" + getJsonSchema() + '\'' +
                 ", isString=" + isString +
                 ", isNumeric=" + isNumeric +
                 ", isInteger=" + isInteger +
@@ -17,6 +17,8 @@
 
 package org.openapitools.codegen;
 
+import org.openapitools.codegen.utils.JsonSnapshot;
+
 import java.util.*;
 
 public class CodegenProperty implements Cloneable {
@@ -47,6 +49,8 @@ public class CodegenProperty implements Cloneable {
     public String example;
 
     public String jsonSchema;
+    // schema formatted as jsonSchema on first access, as few templates use it
+    private JsonSnapshot jsonSchemaSource;
     public String minimum;
     public String maximum;
     public boolean exclusiveMinimum;
@@ -263,11 +267,27 @@ public class CodegenProperty implements Cloneable {
     }
 
     public String getJsonSchema() {
-        return jsonSchema;
+        String json = jsonSchema;
+        if (json == null && jsonSchemaSource != null) {
+            json = jsonSchemaSource.toJson();
+            jsonSchema = json;
+        }
+        return json;
     }
 
     public void setJsonSchema(String jsonSchema) {
         this.jsonSchema = jsonSchema;
+        this.jsonSchemaSource = null;
+    }
+
+    /**
+     * Set the schema of the property, serialized now and formatted as JSON by {@link #getJsonSchema()} when it is first called.
+     *
+     * @param jsonSchemaSource the schema
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchema = null;
+        this.jsonSchemaSource = jsonSchemaSource == null ? null : new JsonSnapshot(jsonSchemaSource);
     }
 
     public String getMinimum() {
@@ -443,7 +463,7 @@ public class CodegenProperty implements Cloneable {
         result = prime * result + ((isSelfReference ? 13 : 31));
         result = prime * result + ((items == null) ? 0 : items.hashCode());
         result = prime * result + ((mostInnerItems == null) ? 0 : mostInnerItems.hashCode());
-        result = prime * result + ((jsonSchema == null) ? 0 : jsonSchema.hashCode());
+        result = prime * result + ((getJsonSchema() == null) ? 0 : getJsonSchema().hashCode());
         result = prime * result + ((max == null) ? 0 : max.hashCode());
         result = prime * result + ((maxLength == null) ? 0 : maxLength.hashCode());
         result = prime * result + ((maximum == null) ? 0 : maximum.hashCode());
@@ -557,7 +577,7 @@ public class CodegenProperty implements Cloneable {
         if ((this.example == null) ? (other.example != null) : !this.example.equals(other.example)) {
             return false;
         }
-        if ((this.jsonSchema == null) ? (other.jsonSchema != null) : !this.jsonSchema.equals(other.jsonSchema)) {
+        if ((this.getJsonSchema() == null) ? (other.getJsonSchema() != null) : !this.getJsonSchema().equals(other.getJsonSchema())) {
             return false;
         }
         if (this.minimum != other.minimum && (this.minimum == null || !this.minimum.equals(other.minimum))) {
@@ -761,7 +781,7 @@ public class CodegenProperty implements Cloneable {
                 ", minLength=" + minLength +
                 ", pattern='" + pattern + '\'' +
                 ", example='" + example + '\'' +
-                ", jsonSchema='" + jsonSchema + '\'' +
+                ", jsonSchema='" + getJsonSchema() + '\'' +
                 ", minimum='" + minimum + '\'' +
                 ", maximum='" + maximum + '\'' +
                 ", exclusiveMinimum=" + exclusiveMinimum +
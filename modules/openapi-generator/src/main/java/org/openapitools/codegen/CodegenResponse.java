@@ -17,6 +17,8 @@
 
 package org.openapitools.codegen;
 
+import org.openapitools.codegen.utils.JsonSnapshot;
+
 import java.util.*;
 
 public class CodegenResponse {
@@ -37,12 +39,87 @@ public class CodegenResponse {
     public boolean isFile = false;
     public Object schema;
     public String jsonSchema;
+    // response formatted as jsonSchema on first access, as few templates use it
+    private JsonSnapshot jsonSchemaSource;
     public Map<String, Object> vendorExtensions = new HashMap<String, Object>();
 
+    public CodegenResponse copy() {
+        CodegenResponse output = new CodegenResponse();
+        for (CodegenProperty header : this.headers) {
+            output.headers.add(header.clone());
+        }
+        output.code = this.code;
+        output.message = this.message;
+        output.hasMore = this.hasMore;
+        if (this.examples != null) {
+            output.examples = new ArrayList<Map<String, Object>>(this.examples.size());
+            for (Map<String, Object> example : this.examples) {
+                output.examples.add(new LinkedHashMap<String, Object>(example));
+            }
+        }
+        output.dataType = this.dataType;
+        output.baseType = this.baseType;
+        output.containerType = this.containerType;
+        output.hasHeaders = this.hasHeaders;
+        output.isString = this.isString;
+        output.isNumeric = this.isNumeric;
+        output.isInteger = this.isInteger;
+        output.isLong = this.isLong;
+        output.isNumber = this.isNumber;
+        output.isFloat = this.isFloat;
+        output.isDouble = this.isDouble;
+        output.isByteArray = this.isByteArray;
+        output.isBoolean = this.isBoolean;
+        output.isDate = this.isDate;
+        output.isDateTime = this.isDateTime;
+        output.isUuid = this.isUuid;
+        output.isEmail = this.isEmail;
+        output.isModel = this.isModel;
+        output.isFreeFormObject = this.isFreeFormObject;
+        output.isDefault = this.isDefault;
+        output.simpleType = this.simpleType;
+        output.primitiveType = this.primitiveType;
+        output.isMapContainer = this.isMapContainer;
+        output.isListContainer = this.isListContainer;
+        output.isBinary = this.isBinary;
+        output.isFile = this.isFile;
+        output.schema = this.schema;
+        output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSource = this.jsonSchemaSource;
+        if (this.vendorExtensions != null) {
+            output.vendorExtensions = new LinkedHashMap<String, Object>(this.vendorExtensions);
+        }
+        return output;
+    }
+
     public boolean isWildcard() {
         return "0".equals(code) || "default".equals(code);
     }
 
+    public String getJsonSchema() {
+        String json = jsonSchema;
+        if (json == null && jsonSchemaSource != null) {
+            json = jsonSchemaSource.toJson();
+            jsonSchema = json;
+        }
+        return json;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+        this.jsonSchemaSource = null;
+    }
+
+    /**
+     * Set the response, serialized now and formatted as JSON by {@link #getJsonSchema()} when it is first called.
+     *
+     * @param jsonSchemaSource the response
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchema = null;
+        this.jsonSchemaSource = jsonSchemaSource == null ? null : new JsonSnapshot(jsonSchemaSource);
+    }
+
     @Override
     public String toString() {
         return "CodegenResponse{" +
@@ -78,7 +155,7 @@ public class CodegenResponse {
                 ", isBinary=" + isBinary +
                 ", isFile=" + isFile +
                 ", schema=" + schema +
-                ", jsonSchema='" + jsonSchema + '\'' +
+                ", jsonSchema='" + getJsonSchema() + '\'' +
                 ", vendorExtensions=" + vendorExtensions +
                 '}';
     }
@@ -120,7 +197,7 @@ public class CodegenResponse {
                 Objects.equals(baseType, that.baseType) &&
                 Objects.equals(containerType, that.containerType) &&
                 Objects.equals(schema, that.schema) &&
-                Objects.equals(jsonSchema, that.jsonSchema) &&
+                Objects.equals(getJsonSchema(), that.getJsonSchema()) &&
                 Objects.equals(vendorExtensions, that.vendorExtensions);
     }
 
@@ -129,6 +206,6 @@ public class CodegenResponse {
         return Objects.hash(headers, code, message, hasMore, examples, dataType, baseType, containerType, hasHeaders,
                 isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isByteArray, isBoolean, isDate,
                 isDateTime, isUuid, isEmail, isFreeFormObject, isModel, isDefault, simpleType, primitiveType, isMapContainer,
-                isListContainer, isBinary, isFile, schema, jsonSchema, vendorExtensions);
+                isListContainer, isBinary, isFile, schema, getJsonSchema(), vendorExtensions);
     }
 }
@@ -19,7 +19,9 @@ package org.openapitools.codegen;
 
 import io.swagger.v3.oas.models.security.Scopes;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -40,6 +42,40 @@ public class CodegenSecurity {
     public List<Map<String, Object>> scopes;
     public Boolean isCode, isPassword, isApplication, isImplicit;
 
+    public CodegenSecurity copy() {
+        CodegenSecurity output = new CodegenSecurity();
+        output.name = this.name;
+        output.type = this.type;
+        output.scheme = this.scheme;
+        output.hasMore = this.hasMore;
+        output.isBasic = this.isBasic;
+        output.isOAuth = this.isOAuth;
+        output.isApiKey = this.isApiKey;
+        output.isBasicBasic = this.isBasicBasic;
+        output.isBasicBearer = this.isBasicBearer;
+        if (this.vendorExtensions != null) {
+            output.vendorExtensions = new LinkedHashMap<String, Object>(this.vendorExtensions);
+        }
+        output.keyParamName = this.keyParamName;
+        output.isKeyInQuery = this.isKeyInQuery;
+        output.isKeyInHeader = this.isKeyInHeader;
+        output.isKeyInCookie = this.isKeyInCookie;
+        output.flow = this.flow;
+        output.authorizationUrl = this.authorizationUrl;
+        output.tokenUrl = this.tokenUrl;
+        if (this.scopes != null) {
+            output.scopes = new ArrayList<Map<String, Object>>(this.scopes.size());
+            for (Map<String, Object> scope : this.scopes) {
+                output.scopes.add(new LinkedHashMap<String, Object>(scope));
+            }
+        }
+        output.isCode = this.isCode;
+        output.isPassword = this.isPassword;
+        output.isApplication = this.isApplication;
+        output.isImplicit = this.isImplicit;
+        return output;
+    }
+
     @Override
     public String toString() {
         return String.format(Locale.ROOT, "%s(%s)", name, type);
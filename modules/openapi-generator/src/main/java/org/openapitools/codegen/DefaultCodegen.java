@@ -19,6 +19,8 @@ package org.openapitools.codegen;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.CaseFormat;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.samskivert.mustache.Mustache.Compiler;
 
 import io.swagger.v3.core.util.Json;
@@ -51,11 +53,15 @@ import io.swagger.v3.parser.util.SchemaTypeUtil;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.openapitools.codegen.CodegenDiscriminator.MappedModel;
 import org.openapitools.codegen.config.GeneratorProperties;
+import org.openapitools.codegen.examples.ExampleCache;
 import org.openapitools.codegen.examples.ExampleGenerator;
 import org.openapitools.codegen.serializer.SerializerUtils;
+import org.openapitools.codegen.utils.ModelIndex;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +73,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -88,6 +95,15 @@ import static org.openapitools.codegen.utils.StringUtils.underscore;
 public class DefaultCodegen implements CodegenConfig {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultCodegen.class);
 
+    // sanitizeName is called for every name of every model, property, parameter and operation, often with the same
+    // arguments; the results and the compiled patterns are shared by all codegen instances
+    private static final Cache<Triple<String, String, Boolean>, String> sanitizedNames = CacheBuilder.newBuilder()
+            .maximumSize(100_000)
+            .build();
+    private static final Cache<Pair<String, Boolean>, Pattern> removeCharPatterns = CacheBuilder.newBuilder()
+            .maximumSize(1_000)
+            .build();
+
     protected String inputSpec;
     protected String outputFolder = "";
     protected Set<String> defaultIncludes = new HashSet<String>();
@@ -131,18 +147,29 @@ public class DefaultCodegen implements CodegenConfig {
     // Then translated back during JSON encoding and decoding
     protected Map<String, String> specialCharReplacements = new HashMap<String, String>();
     // When a model is an alias for a simple type
-    protected Map<String, String> typeAliases = null;
+    protected volatile Map<String, String> typeAliases = null;
     protected Boolean prependFormOrBodyParameters = false;
     // The extension of the generated documentation files (defaults to markdown .md)
     protected String docExtension;
     protected String ignoreFilePathOverride;
     // flag to indicate whether to use environment variable to post process file
     protected boolean enablePostProcessFile = false;
+    // whether to keep the JSON documents of the schemas (modelJson, jsonSchema), read by few templates
+    protected boolean schemaJsonEnabled = true;
 
     // make openapi and schemas available to all methods
     protected OpenAPI globalOpenAPI;
     protected Map<String, Schema> globalSchemas;
 
+    // index of the models passed to postProcessOperationsWithModels
+    protected ModelIndex modelIndex;
+
+    // JSON examples of the models, shared by the operations of the spec
+    private volatile ExampleCache exampleCache;
+
+    // examples of the operations converted concurrently, generated afterwards in the order of the operations
+    private volatile Map<CodegenOperation, List<Runnable>> deferredExamples;
+
     public List<CliOption> cliOptions() {
         return cliOptions;
     }
@@ -483,6 +510,64 @@ public class DefaultCodegen implements CodegenConfig {
         return objs;
     }
 
+    public void setModelIndex(ModelIndex modelIndex) {
+        this.modelIndex = modelIndex;
+    }
+
+    /**
+     * Get the index of the models passed to {@link #postProcessOperationsWithModels(Map, List)}, to look models up
+     * without scanning the list. The index set by the generator is shared by all the operations; other lists of
+     * models are indexed on each call.
+     *
+     * @param allModels the models passed to {@link #postProcessOperationsWithModels(Map, List)}
+     * @return the index of the models
+     */
+    protected ModelIndex getModelIndex(List<Object> allModels) {
+        ModelIndex index = modelIndex;
+        if (index == null || !index.isIndexOf(allModels)) {
+            index = new ModelIndex(allModels);
+        }
+        return index;
+    }
+
+    /**
+     * Get the JSON examples of the models shared by the operations of the spec, e.g. to generate the examples of the
+     * responses of the operations converted by {@link #fromOperation(String, String, Operation, Map, OpenAPI)}.
+     *
+     * @param schemas the schemas of the models
+     * @param openAPI the spec
+     * @return the examples of the models
+     */
+    private ExampleCache getExampleCache(Map<String, Schema> schemas, OpenAPI openAPI) {
+        ExampleCache cache = exampleCache;
+        if (cache == null || !cache.isCacheOf(schemas, openAPI)) {
+            // operations may be converted concurrently
+            synchronized (this) {
+                cache = exampleCache;
+                if (cache == null || !cache.isCacheOf(schemas, openAPI)) {
+                    cache = new ExampleCache(schemas, openAPI);
+                    exampleCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Generate examples of an operation, or defer them while operations are converted concurrently: the examples
+     * generated for the models are set on their schemas and reused by the later operations, so they are only the
+     * same as when converting operations one by one if they are generated in the order of the operations.
+     */
+    private void generateExamples(CodegenOperation op, Runnable examples) {
+        Map<CodegenOperation, List<Runnable>> deferred = deferredExamples;
+        if (deferred == null) {
+            examples.run();
+        } else {
+            // an operation is converted by a single thread
+            deferred.computeIfAbsent(op, k -> new ArrayList<>()).add(examples);
+        }
+    }
+
     // override with any special post-processing
     @SuppressWarnings("static-method")
     public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
@@ -1621,8 +1706,12 @@ public class DefaultCodegen implements CodegenConfig {
      */
     public CodegenModel fromModel(String name, Schema schema, Map<String, Schema> allDefinitions) {
         if (typeAliases == null) {
-            // Only do this once during first call
-            typeAliases = getAllAliases(allDefinitions);
+            // Only do this once during first call (operations may be converted concurrently)
+            synchronized (this) {
+                if (typeAliases == null) {
+                    typeAliases = getAllAliases(allDefinitions);
+                }
+            }
         }
 
         // unalias schema
@@ -1645,7 +1734,9 @@ public class DefaultCodegen implements CodegenConfig {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(schema);
+        if (schemaJsonEnabled) {
+            m.setModelJsonSource(schema);
+        }
         m.externalDocumentation = schema.getExternalDocs();
         if (schema.getExtensions() != null && !schema.getExtensions().isEmpty()) {
             m.getVendorExtensions().putAll(schema.getExtensions());
@@ -1921,7 +2012,7 @@ public class DefaultCodegen implements CodegenConfig {
             LOGGER.error("Unexpected missing property for name " + name);
             return null;
         }
-        LOGGER.debug("debugging fromProperty for " + name + " : " + p);
+        LOGGER.debug("debugging fromProperty for {} : {}", name, p);
 
         // unalias schema
         p = ModelUtils.unaliasSchema(globalSchemas, p);
@@ -1939,7 +2030,9 @@ public class DefaultCodegen implements CodegenConfig {
         property.example = toExampleValue(p);
         property.defaultValue = toDefaultValue(p);
         property.defaultValueWithParam = toDefaultValueWithParam(name, p);
-        property.jsonSchema = Json.pretty(p);
+        if (schemaJsonEnabled) {
+            property.setJsonSchemaSource(p);
+        }
         if (p.getReadOnly() != null) {
             property.isReadOnly = p.getReadOnly();
         }
@@ -2183,7 +2276,7 @@ public class DefaultCodegen implements CodegenConfig {
             setNonArrayMapProperty(property, type);
         }
 
-        LOGGER.debug("debugging from property return: " + property);
+        LOGGER.debug("debugging from property return: {}", property);
         return property;
     }
 
@@ -2398,7 +2491,7 @@ public class DefaultCodegen implements CodegenConfig {
                                           Operation operation,
                                           Map<String, Schema> schemas,
                                           OpenAPI openAPI) {
-        LOGGER.debug("fromOperation => operation: " + operation);
+        LOGGER.debug("fromOperation => operation: {}", operation);
         if (operation == null)
             throw new RuntimeException("operation cannot be null in fromOperation");
 
@@ -2492,7 +2585,9 @@ public class DefaultCodegen implements CodegenConfig {
                             exampleStatusCode = key;
                         }
                     }
-                    op.examples = new ExampleGenerator(schemas, openAPI).generateFromResponseSchema(exampleStatusCode, responseSchema, getProducesInfo(openAPI, operation));
+                    final String exampleCode = exampleStatusCode;
+                    final Set<String> producesInfo = getProducesInfo(openAPI, operation);
+                    generateExamples(op, () -> op.examples = new ExampleGenerator(schemas, openAPI, getExampleCache(schemas, openAPI)).generateFromResponseSchema(exampleCode, responseSchema, producesInfo));
                     op.defaultResponse = toDefaultValue(responseSchema);
                     op.returnType = cm.dataType;
                     op.hasReference = schemas != null && schemas.containsKey(op.returnBaseType);
@@ -2582,7 +2677,9 @@ public class DefaultCodegen implements CodegenConfig {
 
                 // add example
                 if (schemas != null) {
-                    op.requestBodyExamples = new ExampleGenerator(schemas, openAPI).generate(null, new ArrayList<String>(getConsumesInfo(openAPI, operation)), bodyParam.baseType);
+                    final List<String> consumesInfo = new ArrayList<String>(getConsumesInfo(openAPI, operation));
+                    final String bodyType = bodyParam.baseType;
+                    generateExamples(op, () -> op.requestBodyExamples = new ExampleGenerator(schemas, openAPI, getExampleCache(schemas, openAPI)).generate(null, consumesInfo, bodyType));
                 }
             }
         }
@@ -2731,7 +2828,9 @@ public class DefaultCodegen implements CodegenConfig {
         // TODO need to revise and test examples in responses
         // ApiResponse does not support examples at the moment
         //r.examples = toExamples(response.getExamples());
-        r.jsonSchema = Json.pretty(response);
+        if (schemaJsonEnabled) {
+            r.setJsonSchemaSource(response);
+        }
         if (response.getExtensions() != null && !response.getExtensions().isEmpty()) {
             r.vendorExtensions.putAll(response.getExtensions());
         }
@@ -2911,11 +3010,13 @@ public class DefaultCodegen implements CodegenConfig {
         if (parameter.getRequired() != null) {
             codegenParameter.required = parameter.getRequired();
         }
-        codegenParameter.jsonSchema = Json.pretty(parameter);
+        if (schemaJsonEnabled) {
+            codegenParameter.setJsonSchemaSource(parameter);
+        }
 
         if (GeneratorProperties.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + parameter.getName());
-            LOGGER.info("JSON schema: " + codegenParameter.jsonSchema);
+            LOGGER.info("JSON schema: " + codegenParameter.getJsonSchema());
         }
 
         if (parameter.getExtensions() != null && !parameter.getExtensions().isEmpty()) {
@@ -3176,7 +3277,7 @@ public class DefaultCodegen implements CodegenConfig {
         setParameterExampleValue(codegenParameter, parameter);
 
         postProcessParameter(codegenParameter);
-        LOGGER.debug("debugging codegenParameter return: " + codegenParameter);
+        LOGGER.debug("debugging codegenParameter return: {}", codegenParameter);
         return codegenParameter;
     }
 
@@ -3904,37 +4005,46 @@ public class DefaultCodegen implements CodegenConfig {
             return "value";
         }
 
+        boolean unicode = allowUnicodeIdentifiers;
+        Triple<String, String, Boolean> key = ImmutableTriple.of(name, removeCharRegEx, unicode);
+        String sanitized = sanitizedNames.getIfPresent(key);
+        if (sanitized != null) {
+            return sanitized;
+        }
+
         // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
+        name = name.replace("[]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
 
         // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
+        name = name.replace("[", "_");
+        name = name.replace("]", "");
 
         // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
+        name = name.replace("(", "_");
+        name = name.replace(")", "");
 
         // input.name => input_name
-        name = name.replaceAll("\\.", "_");
+        name = name.replace(".", "_");
 
         // input-name => input_name
-        name = name.replaceAll("-", "_");
+        name = name.replace("-", "_");
 
         // a|b => a_b
         name = name.replace("|", "_");
 
         // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
+        name = name.replace(" ", "_");
 
         // remove everything else other than word, number and _
         // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
-            name = Pattern.compile(removeCharRegEx, Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
-        } else {
-            name = name.replaceAll(removeCharRegEx, "");
+        Pattern removeChars = removeCharPatterns.getIfPresent(Pair.of(removeCharRegEx, unicode));
+        if (removeChars == null) {
+            removeChars = Pattern.compile(removeCharRegEx, unicode ? Pattern.UNICODE_CHARACTER_CLASS : 0);
+            removeCharPatterns.put(Pair.of(removeCharRegEx, unicode), removeChars);
         }
+        name = removeChars.matcher(name).replaceAll("");
 
+        sanitizedNames.put(key, name);
         return name;
     }
 
@@ -4411,7 +4521,7 @@ public class DefaultCodegen implements CodegenConfig {
     public List<CodegenParameter> fromRequestBodyToFormParameters(RequestBody
                                                                           body, Map<String, Schema> schemas, Set<String> imports) {
         List<CodegenParameter> parameters = new ArrayList<CodegenParameter>();
-        LOGGER.debug("debugging fromRequestBodyToFormParameters= " + body);
+        LOGGER.debug("debugging fromRequestBodyToFormParameters= {}", body);
         Schema schema = ModelUtils.getSchemaFromRequestBody(body);
         if (StringUtils.isNotBlank(schema.get$ref())) {
             schema = schemas.get(ModelUtils.getSimpleRef(schema.get$ref()));
@@ -4496,7 +4606,9 @@ public class DefaultCodegen implements CodegenConfig {
         codegenParameter.dataFormat = codegenProperty.dataFormat;
         codegenParameter.description = escapeText(codegenProperty.description);
         codegenParameter.unescapedDescription = codegenProperty.getDescription();
-        codegenParameter.jsonSchema = Json.pretty(propertySchema);
+        if (schemaJsonEnabled) {
+            codegenParameter.setJsonSchemaSource(propertySchema);
+        }
         codegenParameter.defaultValue = codegenProperty.getDefaultValue();
 
         if (codegenProperty.getVendorExtensions() != null && !codegenProperty.getVendorExtensions().isEmpty()) {
@@ -4578,7 +4690,7 @@ public class DefaultCodegen implements CodegenConfig {
         codegenParameter.isBodyParam = Boolean.TRUE;
 
         String name = null;
-        LOGGER.debug("Request body = " + body);
+        LOGGER.debug("Request body = {}", body);
         Schema schema = ModelUtils.getSchemaFromRequestBody(body);
         if (schema == null) {
             throw new RuntimeException("Request body cannot be null. Possible cause: missing schema in body parameter (OAS v2): " + body);
@@ -4800,7 +4912,7 @@ public class DefaultCodegen implements CodegenConfig {
         OpenAPI openAPI = (OpenAPI) objs.get("openAPI");
         if (openAPI != null) {
             try {
-                objs.put("openapi-json", Json.pretty().writeValueAsString(openAPI).replace("\r\n", "\n"));
+                objs.put("openapi-json", SerializerUtils.jsonMapper().writerWithDefaultPrettyPrinter().writeValueAsString(openAPI).replace("\r\n", "\n"));
             } catch (JsonProcessingException e) {
                 LOGGER.error(e.getMessage(), e);
             }
@@ -4882,6 +4994,37 @@ public class DefaultCodegen implements CodegenConfig {
      */
     public void postProcessFile(File file, String fileType) {
         LOGGER.debug("Post processing file {} ({})", file, fileType);
+        String postProcessCommand = getPostProcessFileCommand(file, fileType);
+        if (postProcessCommand == null) {
+            return;
+        }
+
+        String command = postProcessCommand + " " + file.toString();
+        try {
+            Process p = Runtime.getRuntime().exec(command);
+            int exitValue = p.waitFor();
+            if (exitValue != 0) {
+                LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
+            } else {
+                LOGGER.info("Successfully executed: " + command);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the external command post-processing the auto-generated file (e.g. "gofmt -w" to format the Go code),
+     * usually set with an environment variable, see {@link #postProcessFile(File, String)}. The paths of the files
+     * are appended to the command: with the {@code postProcessFileBatch} generator property, several files are passed
+     * to a single invocation of the command.
+     *
+     * @param file     file to be processed
+     * @param fileType file type
+     * @return the command, or null if the file is not post-processed
+     */
+    public String getPostProcessFileCommand(File file, String fileType) {
+        return null;
     }
 
     /**
@@ -4902,4 +5045,77 @@ public class DefaultCodegen implements CodegenConfig {
         this.enablePostProcessFile = enablePostProcessFile;
     }
 
+    /**
+     * Whether operations can be converted concurrently with the {@code parallelOperations} generator property, i.e.
+     * {@link #fromOperation(String, String, Operation, Map, OpenAPI)} and the methods it calls are thread-safe and
+     * give the same results in any order. Generators which keep state while converting operations (e.g. counters or
+     * registries of generated names) must return false.
+     *
+     * @return true if operations can be converted concurrently
+     */
+    public boolean isParallelOperationConversionSupported() {
+        return true;
+    }
+
+    /**
+     * Defer the generation of the examples of the operations converted by
+     * {@link #fromOperation(String, String, Operation, Map, OpenAPI)} until
+     * {@link #generateOperationExamples(CodegenOperation)} is called, while operations are converted concurrently.
+     *
+     * @param operationExamplesDeferred true to defer the examples, false to generate them during the conversion
+     */
+    public void setOperationExamplesDeferred(boolean operationExamplesDeferred) {
+        // operations are keyed by identity, as they are not complete (and their hash codes change) until converted
+        this.deferredExamples = operationExamplesDeferred ? Collections.synchronizedMap(new IdentityHashMap<>()) : null;
+    }
+
+    /**
+     * Generate the deferred examples of a converted operation, see {@link #setOperationExamplesDeferred(boolean)}.
+     * Operations must be passed in the order they are converted one by one.
+     *
+     * @param operation the converted operation
+     */
+    public void generateOperationExamples(CodegenOperation operation) {
+        Map<CodegenOperation, List<Runnable>> deferred = deferredExamples;
+        List<Runnable> examples = deferred != null ? deferred.remove(operation) : null;
+        if (examples != null) {
+            for (Runnable example : examples) {
+                example.run();
+            }
+        }
+    }
+
+    /**
+     * Whether models can be reduced to their summary (see {@link CodegenModel#summarize()}) once their files are
+     * generated, with the {@code lowMemory} generator property, i.e. neither
+     * {@link #postProcessOperationsWithModels(Map, List)} nor the supporting files use the properties or the schema
+     * of the models. Generators whose supporting files list the properties of the models (e.g. documentation
+     * indexes) must return false.
+     *
+     * @return true if models can be reduced to their summary
+     */
+    public boolean isModelSummarySupported() {
+        return true;
+    }
+
+    /**
+     * Whether the JSON documents of the schemas ({@link CodegenModel#getModelJson()}, and
+     * {@code getJsonSchema()} of properties, parameters and responses) are kept when they are converted. The generator
+     * turns them off when no template of the run reads them.
+     * <p>
+     * The documents are not lazy: the schemas are changed after they are converted (e.g. examples are generated,
+     * properties are unaliased) while the templates expect them as they were converted, so each schema is serialized
+     * to a {@link org.openapitools.codegen.utils.JsonSnapshot} up front, only the formatting of the document being
+     * left to the first read. Turning the documents off is what saves their cost.
+     *
+     * @return true if the JSON documents of the schemas are kept
+     */
+    public boolean isSchemaJsonEnabled() {
+        return schemaJsonEnabled;
+    }
+
+    public void setSchemaJsonEnabled(boolean schemaJsonEnabled) {
+        this.schemaJsonEnabled = schemaJsonEnabled;
+    }
+
 }
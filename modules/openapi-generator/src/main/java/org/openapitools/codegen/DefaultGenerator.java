@@ -17,6 +17,7 @@
 
 package org.openapitools.codegen;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 
@@ -37,10 +38,16 @@ import io.swagger.v3.oas.models.tags.Tag;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.config.GenerationContext;
 import org.openapitools.codegen.config.GeneratorProperties;
 import org.openapitools.codegen.ignore.CodegenIgnoreProcessor;
+import org.openapitools.codegen.metrics.GenerationListener;
+import org.openapitools.codegen.metrics.GenerationMetrics;
 import org.openapitools.codegen.utils.ImplementationVersion;
+import org.openapitools.codegen.utils.LayeredMap;
+import org.openapitools.codegen.utils.ModelIndex;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaReferenceGraph;
 import org.openapitools.codegen.utils.URLPathUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,10 +55,27 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.util.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
+    // names of the JSON documents of the schemas in the templates
+    private static final Pattern SCHEMA_JSON = Pattern.compile("\\b(modelJson|jsonSchema)\\b");
     protected CodegenConfig config;
     protected ClientOptInput opts;
     protected OpenAPI openAPI;
@@ -68,12 +92,30 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private String basePathWithoutHost;
     private String contextPath;
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
+    private TemplateCache templateCache = new TemplateCache();
+    private boolean sharedTemplateCache;
+    // cache of the templates of the current run, the shared cache unless the templates may change between runs
+    private TemplateCache runTemplateCache;
+    private Mustache.Compiler templateCompiler;
+    private ExecutorService renderExecutor;
+    private ExecutorService postProcessExecutor;
+    private PostProcessQueue postProcessQueue;
+    private GenerationContext generationContext;
+    private GenerationManifest manifest;
+    private final Set<File> unchangedFiles = ConcurrentHashMap.newKeySet();
+    private final List<GenerationListener> listeners = new CopyOnWriteArrayList<>();
+    private boolean writeIfChanged;
+    // snapshot of the additional properties, shared by the template data of all files until they change
+    private Map<String, Object> additionalPropertiesSnapshot;
 
     @Override
     public Generator opts(ClientOptInput opts) {
         this.opts = opts;
         this.openAPI = opts.getOpenAPI();
         this.config = opts.getConfig();
+        this.templateCompiler = null;
+        this.runTemplateCache = null;
+        this.generationContext = opts.getGenerationContext() != null ? opts.getGenerationContext() : GenerationContext.fromGlobals();
         this.config.additionalProperties().putAll(opts.getOpts().getProperties());
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
@@ -104,6 +146,32 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.generateMetadata = generateMetadata;
     }
 
+    /**
+     * Use the given template cache instead of a cache private to this generator, e.g. to share compiled
+     * templates between several generator runs in the same JVM. Only the embedded templates are shared: a
+     * generation with a custom template folder uses a cache of its own.
+     *
+     * @param templateCache the template cache
+     */
+    public void setTemplateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+        this.sharedTemplateCache = true;
+    }
+
+    public TemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
+    /**
+     * Add a listener notified of the phases of the generation and of the generated files, e.g. a
+     * {@link GenerationMetrics} to measure where the time goes.
+     *
+     * @param listener the listener
+     */
+    public void addGenerationListener(GenerationListener listener) {
+        this.listeners.add(listener);
+    }
+
     /**
      * Set generator properties otherwise pulled from system properties.
      * Useful for running tests in parallel without relying on System.properties.
@@ -127,12 +195,99 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         return defaultValue;
     }
 
+    /**
+     * Number of threads rendering model and api files, set with the {@code parallelism} generator property.
+     * Files are rendered on the generating thread when the value is 1 (default).
+     */
+    private int getParallelism() {
+        String value = generationContext.getProperty(CodegenConstants.PARALLELISM);
+        if (value == null) {
+            value = this.generatorPropertyDefaults.get(CodegenConstants.PARALLELISM);
+        }
+        if (StringUtils.isEmpty(value)) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value '{}' for {}, rendering files on a single thread", value, CodegenConstants.PARALLELISM);
+            return 1;
+        }
+    }
+
+    /**
+     * Whether to regenerate incrementally, set with the {@code incremental} generator property. Requires the
+     * metadata files, as the fingerprints of the generated files are stored next to them.
+     */
+    private boolean isIncremental() {
+        String value = generationContext.getProperty(CodegenConstants.INCREMENTAL);
+        if (value == null) {
+            value = this.generatorPropertyDefaults.get(CodegenConstants.INCREMENTAL);
+        }
+        return Boolean.parseBoolean(value) && Boolean.TRUE.equals(generateMetadata);
+    }
+
+    /**
+     * Whether to leave files whose contents did not change untouched, set with the {@code writeIfChanged} generator
+     * property.
+     */
+    private boolean isWriteIfChanged() {
+        String value = generationContext.getProperty(CodegenConstants.WRITE_IF_CHANGED);
+        if (value == null) {
+            value = this.generatorPropertyDefaults.get(CodegenConstants.WRITE_IF_CHANGED);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Whether to post-process files in batches, set with the {@code postProcessFileBatch} generator property: the
+     * files are passed several at a time to the post-processing command, on the threads set with the
+     * {@code parallelism} generator property (or one per processor) while the generation goes on.
+     */
+    private boolean isPostProcessFileBatch() {
+        String value = generationContext.getProperty(CodegenConstants.POST_PROCESS_FILE_BATCH);
+        if (value == null) {
+            value = this.generatorPropertyDefaults.get(CodegenConstants.POST_PROCESS_FILE_BATCH);
+        }
+        return Boolean.parseBoolean(value) && config.isEnablePostProcessFile();
+    }
+
+    /**
+     * Whether to reduce the models to their summary once their files are generated, set with the {@code lowMemory}
+     * generator property, so that the apis and supporting files do not keep the properties of all models in memory.
+     */
+    private boolean isLowMemory() {
+        String value = generationContext.getProperty(CodegenConstants.LOW_MEMORY);
+        if (value == null) {
+            value = this.generatorPropertyDefaults.get(CodegenConstants.LOW_MEMORY);
+        }
+        if (!Boolean.parseBoolean(value)) {
+            return false;
+        }
+        if (!config.isModelSummarySupported()) {
+            LOGGER.warn("The {} generator does not support summarizing models, keeping the properties of all models in memory", config.getName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Files of the last generation which were not written because they already had the generated contents, either
+     * when regenerating incrementally or with the {@code writeIfChanged} generator property. These files are still
+     * part of the files returned by {@link #generate()}.
+     *
+     * @return the unchanged files
+     */
+    public Set<File> getUnchangedFiles() {
+        return Collections.unmodifiableSet(new HashSet<>(unchangedFiles));
+    }
+
     private void configureGeneratorProperties() {
         // allows generating only models by specifying a CSV of models to generate, or empty for all
         // NOTE: Boolean.TRUE is required below rather than `true` because of JVM boxing constraints and type inference.
-        generateApis = GeneratorProperties.getProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
-        generateModels = GeneratorProperties.getProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
-        generateSupportingFiles = GeneratorProperties.getProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
+        generateApis = generationContext.getProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
+        generateModels = generationContext.getProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
+        generateSupportingFiles = generationContext.getProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
 
         if (generateApis == null && generateModels == null && generateSupportingFiles == null) {
             // no specifics are set, generate everything
@@ -150,10 +305,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
         // model/api tests and documentation options rely on parent generate options (api or model) and no other options.
         // They default to true in all scenarios and can only be marked false explicitly
-        generateModelTests = GeneratorProperties.getProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
-        generateModelDocumentation = GeneratorProperties.getProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
-        generateApiTests = GeneratorProperties.getProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
-        generateApiDocumentation = GeneratorProperties.getProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
+        generateModelTests = generationContext.getProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(generationContext.getProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
+        generateModelDocumentation = generationContext.getProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(generationContext.getProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
+        generateApiTests = generationContext.getProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(generationContext.getProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
+        generateApiDocumentation = generationContext.getProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(generationContext.getProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
 
 
         // Additional properties added for tests to exclude references in project related files
@@ -170,9 +325,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             config.additionalProperties().put(CodegenConstants.EXCLUDE_TESTS, true);
         }
 
-        if (GeneratorProperties.getProperty("debugOpenAPI") != null) {
+        if (generationContext.getProperty("debugOpenAPI") != null) {
             Json.prettyPrint(openAPI);
-        } else if (GeneratorProperties.getProperty("debugSwagger") != null) {
+        } else if (generationContext.getProperty("debugSwagger") != null) {
             // This exists for backward compatibility
             // We fall to this block only if debugOpenAPI is null. No need to dump this twice.
             LOGGER.info("Please use system property 'debugOpenAPI' instead of 'debugSwagger'.");
@@ -272,14 +427,14 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             // do not overwrite test file that already exists
             if (new File(filename).exists()) {
                 LOGGER.info("File exists. Skipped overwriting " + filename);
+                claimFile(filename);
                 continue;
             }
             File written = processTemplateToFile(models, templateName, filename);
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile()) {
-                    config.postProcessFile(written, "model-test");
-                }
+                disownFile(written);
+                postProcessFile(written, "model-test");
             }
         }
     }
@@ -291,14 +446,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             String filename = config.modelDocFileFolder() + File.separator + config.toModelDocFilename(modelName) + suffix;
             if (!config.shouldOverwrite(filename)) {
                 LOGGER.info("Skipped overwriting " + filename);
+                claimFile(filename);
                 continue;
             }
             File written = processTemplateToFile(models, templateName, filename);
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile()) {
-                    config.postProcessFile(written, "model-doc");
-                }
+                postProcessFile(written, "model-doc");
             }
         }
     }
@@ -309,19 +463,18 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             String filename = config.modelFileFolder() + File.separator + config.toModelFilename(modelName) + suffix;
             if (!config.shouldOverwrite(filename)) {
                 LOGGER.info("Skipped overwriting " + filename);
+                claimFile(filename);
                 continue;
             }
             File written = processTemplateToFile(models, templateName, filename);
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile()) {
-                    config.postProcessFile(written, "model");
-                }
+                postProcessFile(written, "model");
             }
         }
     }
 
-    private void generateModels(List<File> files, List<Object> allModels, List<String> unusedModels) {
+    private void generateModels(List<File> files, List<Object> allModels, Set<String> unusedModels) {
         if (!generateModels) {
             return;
         }
@@ -331,7 +484,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
 
-        String modelNames = GeneratorProperties.getProperty("models");
+        String modelNames = generationContext.getProperty("models");
         Set<String> modelsToGenerate = null;
         if (modelNames != null && !modelNames.isEmpty()) {
             modelsToGenerate = new HashSet<String>(Arrays.asList(modelNames.split(",")));
@@ -404,10 +557,11 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             } */
         });
 
-        Boolean skipFormModel = GeneratorProperties.getProperty(CodegenConstants.SKIP_FORM_MODEL) != null ?
-                Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.SKIP_FORM_MODEL)) :
+        Boolean skipFormModel = generationContext.getProperty(CodegenConstants.SKIP_FORM_MODEL) != null ?
+                Boolean.valueOf(generationContext.getProperty(CodegenConstants.SKIP_FORM_MODEL)) :
                 getGeneratorPropertyDefaultSwitch(CodegenConstants.SKIP_FORM_MODEL, false);
 
+        phaseStarted("models/process");
         // process models only
         for (String name : modelKeys) {
             try {
@@ -434,13 +588,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     LOGGER.info("Model " + name + " not generated since it's a free-form object");
                     continue;
                 } else if (ModelUtils.isMapSchema(schema)) { // check to see if it's a "map" model
-                    if (!ModelUtils.isGenerateAliasAsModel() && (schema.getProperties() == null || schema.getProperties().isEmpty())) {
+                    if (!generationContext.isGenerateAliasAsModel() && (schema.getProperties() == null || schema.getProperties().isEmpty())) {
                         // schema without property, i.e. alias to map
                         LOGGER.info("Model " + name + " not generated since it's an alias to map (without property)");
                         continue;
                     }
                 } else if (ModelUtils.isArraySchema(schema)) { // check to see if it's an "array" model
-                    if (!ModelUtils.isGenerateAliasAsModel() && (schema.getProperties() == null || schema.getProperties().isEmpty())) {
+                    if (!generationContext.isGenerateAliasAsModel() && (schema.getProperties() == null || schema.getProperties().isEmpty())) {
                         // schema without property, i.e. alias to array
                         LOGGER.info("Model " + name + " not generated since it's an alias to array (without property)");
                         continue;
@@ -451,20 +605,27 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 schemaMap.put(name, schema);
                 Map<String, Object> models = processModels(config, schemaMap, schemas);
                 models.put("classname", config.toModelName(name));
-                models.putAll(config.additionalProperties());
+                models = withAdditionalProperties(models, () -> manifest.modelInputs(name));
                 allProcessedModels.put(name, models);
             } catch (Exception e) {
                 throw new RuntimeException("Could not process model '" + name + "'" + ".Please make sure that your schema is correct!", e);
             }
         }
 
+        phaseFinished("models/process");
+
+        phaseStarted("models/postProcessAllModels");
         // loop through all models to update children models, isSelfReference, isCircularReference, etc
         allProcessedModels = config.updateAllModels(allProcessedModels);
 
         // post process all processed models
         allProcessedModels = config.postProcessAllModels(allProcessedModels);
 
+        phaseFinished("models/postProcessAllModels");
+
+        phaseStarted("models/render");
         // generate files based on processed models
+        RenderQueue renderQueue = new RenderQueue(renderExecutor, generationContext);
         for (String modelName : allProcessedModels.keySet()) {
             Map<String, Object> models = (Map<String, Object>) allProcessedModels.get(modelName);
             models.put("modelPackage", config.modelPackage());
@@ -485,36 +646,51 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
 
                 allModels.add(modelTemplate);
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate model '" + modelName + "'", e);
+            }
 
+            renderQueue.submit("Could not generate model '" + modelName + "'", modelFiles -> {
                 // to generate model files
-                generateModel(files, models, modelName);
+                generateModel(modelFiles, models, modelName);
 
                 if (generateModelTests) {
                     // to generate model test files
-                    generateModelTests(files, models, modelName);
+                    generateModelTests(modelFiles, models, modelName);
                 }
                 if (generateModelDocumentation) {
                     // to generate model documentation files
-                    generateModelDocumentation(files, models, modelName);
+                    generateModelDocumentation(modelFiles, models, modelName);
                 }
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate model '" + modelName + "'", e);
-            }
+            });
         }
-        if (GeneratorProperties.getProperty("debugModels") != null) {
+        files.addAll(renderQueue.drain());
+        phaseFinished("models/render");
+        if (generationContext.getProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
         }
 
+        if (isLowMemory()) {
+            // the apis and supporting files get the summaries, the processed models are released with this method
+            for (Object modelTemplate : allModels) {
+                CodegenModel m = (CodegenModel) ((Map<String, Object>) modelTemplate).get("model");
+                if (m != null) {
+                    m.summarize();
+                }
+            }
+        }
     }
 
     private void generateApis(List<File> files, List<Object> allOperations, List<Object> allModels) {
         if (!generateApis) {
             return;
         }
+        phaseStarted("apis/processPaths");
         Map<String, List<CodegenOperation>> paths = processPaths(this.openAPI.getPaths());
+        phaseFinished("apis/processPaths");
         Set<String> apisToGenerate = null;
-        String apiNames = GeneratorProperties.getProperty("apis");
+        String apiNames = generationContext.getProperty("apis");
         if (apiNames != null && !apiNames.isEmpty()) {
             apisToGenerate = new HashSet<String>(Arrays.asList(apiNames.split(",")));
         }
@@ -527,7 +703,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
             paths = updatedPaths;
         }
+        // shared by the post-processing of all the apis, to look models up without scanning the list
+        config.setModelIndex(new ModelIndex(allModels));
+        phaseStarted("apis/render");
+        RenderQueue renderQueue = new RenderQueue(renderExecutor, generationContext);
         for (String tag : paths.keySet()) {
+            final LayeredMap<String, Object> operation;
             try {
                 List<CodegenOperation> ops = paths.get(tag);
                 Collections.sort(ops, new Comparator<CodegenOperation>() {
@@ -536,15 +717,15 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         return ObjectUtils.compare(one.operationId, another.operationId);
                     }
                 });
-                Map<String, Object> operation = processOperations(config, tag, ops, allModels);
+                Map<String, Object> apiData = processOperations(config, tag, ops, allModels);
                 URL url = URLPathUtils.getServerURL(openAPI);
-                operation.put("basePath", basePath);
-                operation.put("basePathWithoutHost", config.encodePath(url.getPath()).replaceAll("/$", ""));
-                operation.put("contextPath", contextPath);
-                operation.put("baseName", tag);
-                operation.put("apiPackage", config.apiPackage());
-                operation.put("modelPackage", config.modelPackage());
-                operation.putAll(config.additionalProperties());
+                apiData.put("basePath", basePath);
+                apiData.put("basePathWithoutHost", config.encodePath(url.getPath()).replaceAll("/$", ""));
+                apiData.put("contextPath", contextPath);
+                apiData.put("baseName", tag);
+                apiData.put("apiPackage", config.apiPackage());
+                apiData.put("modelPackage", config.modelPackage());
+                operation = withAdditionalProperties(apiData, () -> manifest.apiInputs(ops));
                 operation.put("classname", config.toApiName(tag));
                 operation.put("classVarName", config.toApiVarName(tag));
                 operation.put("importPath", config.toApiImport(tag));
@@ -586,27 +767,30 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 processMimeTypes(swagger.getProduces(), operation, "produces");
                 */
 
-                allOperations.add(new HashMap<String, Object>(operation));
+                allOperations.add(new LayeredMap<>(operation));
                 for (int i = 0; i < allOperations.size(); i++) {
                     Map<String, Object> oo = (Map<String, Object>) allOperations.get(i);
                     if (i < (allOperations.size() - 1)) {
                         oo.put("hasMore", "true");
                     }
                 }
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+            }
 
+            renderQueue.submit("Could not generate api file for '" + tag + "'", apiFiles -> {
                 for (String templateName : config.apiTemplateFiles().keySet()) {
                     String filename = config.apiFilename(templateName, tag);
                     if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
                         LOGGER.info("Skipped overwriting " + filename);
+                        claimFile(filename);
                         continue;
                     }
 
                     File written = processTemplateToFile(operation, templateName, filename);
                     if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile()) {
-                            config.postProcessFile(written, "api");
-                        }
+                        apiFiles.add(written);
+                        postProcessFile(written, "api");
                     }
                 }
 
@@ -617,15 +801,15 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         // do not overwrite test file that already exists
                         if (new File(filename).exists()) {
                             LOGGER.info("File exists. Skipped overwriting " + filename);
+                            claimFile(filename);
                             continue;
                         }
 
                         File written = processTemplateToFile(operation, templateName, filename);
                         if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile()) {
-                                config.postProcessFile(written, "api-test");
-                            }
+                            apiFiles.add(written);
+                            disownFile(written);
+                            postProcessFile(written, "api-test");
                         }
                     }
                 }
@@ -637,24 +821,22 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         String filename = config.apiDocFilename(templateName, tag);
                         if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
                             LOGGER.info("Skipped overwriting " + filename);
+                            claimFile(filename);
                             continue;
                         }
 
                         File written = processTemplateToFile(operation, templateName, filename);
                         if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile()) {
-                                config.postProcessFile(written, "api-doc");
-                            }
+                            apiFiles.add(written);
+                            postProcessFile(written, "api-doc");
                         }
                     }
                 }
-
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
-            }
+            });
         }
-        if (GeneratorProperties.getProperty("debugOperations") != null) {
+        files.addAll(renderQueue.drain());
+        phaseFinished("apis/render");
+        if (generationContext.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
         }
@@ -666,7 +848,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
         Set<String> supportingFilesToGenerate = null;
-        String supportingFiles = GeneratorProperties.getProperty(CodegenConstants.SUPPORTING_FILES);
+        String supportingFiles = generationContext.getProperty(CodegenConstants.SUPPORTING_FILES);
         if (supportingFiles != null && !supportingFiles.isEmpty()) {
             supportingFilesToGenerate = new HashSet<String>(Arrays.asList(supportingFiles.split(",")));
         }
@@ -684,6 +866,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 String outputFilename = outputFolder + File.separator + support.destinationFilename.replace('/', File.separatorChar);
                 if (!config.shouldOverwrite(outputFilename)) {
                     LOGGER.info("Skipped overwriting " + outputFilename);
+                    claimFile(outputFilename);
                     continue;
                 }
                 String templateFile;
@@ -702,25 +885,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
                 if (ignoreProcessor.allowsFile(new File(outputFilename))) {
                     if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
-                        File written = new File(outputFilename);
+                        File written = renderToFile(bundle, templateFile, outputFilename);
                         files.add(written);
-                        if (config.isEnablePostProcessFile()) {
-                            config.postProcessFile(written, "supporting-mustache");
-                        }
+                        postProcessFile(written, "supporting-mustache");
                     } else {
                         InputStream in = null;
 
@@ -732,14 +899,16 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         if (in == null) {
                             in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
                         }
+                        long start = System.nanoTime();
                         File outputFile = writeInputStreamToFile(outputFilename, in, templateFile);
+                        fileGenerated(templateFile, outputFile, start);
+                        claimFile(outputFilename);
                         files.add(outputFile);
-                        if (config.isEnablePostProcessFile()) {
-                            config.postProcessFile(outputFile, "supporting-common");
-                        }
+                        postProcessFile(outputFile, "supporting-common");
                     }
                 } else {
                     LOGGER.info("Skipped generation of " + outputFilename + " due to rule in .openapi-generator-ignore");
+                    claimFile(outputFilename);
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
@@ -751,6 +920,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         final String openapiGeneratorIgnore = ".openapi-generator-ignore";
         String ignoreFileNameTarget = config.outputFolder() + File.separator + openapiGeneratorIgnore;
         File ignoreFile = new File(ignoreFileNameTarget);
+        claimFile(ignoreFileNameTarget);
         if (generateMetadata && !ignoreFile.exists()) {
             String ignoreFileNameSource = File.separator + config.getCommonTemplateDir() + File.separator + openapiGeneratorIgnore;
             String ignoreFileContents = readResourceContents(ignoreFileNameSource);
@@ -760,9 +930,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate supporting file '" + openapiGeneratorIgnore + "'", e);
             }
             files.add(ignoreFile);
-            if (config.isEnablePostProcessFile()) {
-                config.postProcessFile(ignoreFile, "openapi-generator-ignore");
-            }
+            postProcessFile(ignoreFile, "openapi-generator-ignore");
         }
 
         if (generateMetadata) {
@@ -770,10 +938,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             File versionMetadataFile = new File(versionMetadata);
             try {
                 writeToFile(versionMetadata, ImplementationVersion.read());
+                claimFile(versionMetadata);
                 files.add(versionMetadataFile);
-                if (config.isEnablePostProcessFile()) {
-                    config.postProcessFile(ignoreFile, "openapi-generator-version");
-                }
+                postProcessFile(ignoreFile, "openapi-generator-version");
             } catch (IOException e) {
                 throw new RuntimeException("Could not generate supporting file '" + versionMetadata + "'", e);
             }
@@ -801,7 +968,17 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     protected File writeInputStreamToFile(String filename, InputStream in, String templateFile) throws FileNotFoundException, IOException {
         File outputFile = java.nio.file.Paths.get(filename).toFile();
-        if (in != null) {
+        if (in != null && writeIfChanged) {
+            byte[] contents = IOUtils.toByteArray(in);
+            in.close();
+            if (hasContents(outputFile, contents.length, new ByteArrayInputStream(contents))) {
+                LOGGER.info("Skipped writing unchanged file " + outputFile);
+                unchangedFiles.add(new File(filename));
+            } else {
+                LOGGER.info("writing file " + outputFile);
+                Files.write(outputFile.toPath(), contents);
+            }
+        } else if (in != null) {
             OutputStream out = new FileOutputStream(outputFile, false);
             LOGGER.info("writing file " + outputFile);
             IOUtils.copy(in, out);
@@ -812,10 +989,160 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         return outputFile;
     }
 
+    /**
+     * Write a file, unless the {@code writeIfChanged} generator property is set and the file already has the given
+     * contents. Unchanged files are left untouched (including their modification time) and reported by
+     * {@link #getUnchangedFiles()}.
+     */
+    @Override
+    public File writeToFile(String filename, String contents) throws IOException {
+        if (writeIfChanged) {
+            File output = java.nio.file.Paths.get(filename).toFile();
+            byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+            if (hasContents(output, bytes.length, new ByteArrayInputStream(bytes))) {
+                LOGGER.info("Skipped writing unchanged file " + filename);
+                unchangedFiles.add(new File(filename));
+                return output;
+            }
+        }
+        return super.writeToFile(filename, contents);
+    }
+
+    /**
+     * Render a template into a file. The output is streamed to a temporary file in the same folder rather than built
+     * in memory, so that the memory used does not depend on the size of the file, and then moved over the file, so
+     * that a failed rendering leaves the file untouched. With the {@code writeIfChanged} generator property, the file
+     * is only replaced if its contents differ.
+     *
+     * @param filename output file
+     * @param template compiled template
+     * @param context  template data
+     * @return the output file
+     * @throws IOException if the file cannot be written
+     */
+    protected File writeTemplateToFile(String filename, Template template, Object context) throws IOException {
+        File output = java.nio.file.Paths.get(filename).toFile();
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        Path rendered = createRenderFile(parent.toPath(), output.getName());
+        try {
+            executeTemplate(template, context, rendered);
+            if (writeIfChanged && output.isFile()) {
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(rendered))) {
+                    if (hasContents(output, Files.size(rendered), in)) {
+                        LOGGER.info("Skipped writing unchanged file " + filename);
+                        unchangedFiles.add(new File(filename));
+                        return output;
+                    }
+                }
+            }
+            LOGGER.info("writing file " + filename);
+            if (output.isFile()) {
+                copyPermissions(output.toPath(), rendered);
+            }
+            Files.move(rendered, output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(rendered);
+        }
+        return output;
+    }
+
+    /**
+     * Create an empty file next to an output file, with the default permissions of new files.
+     */
+    private static Path createRenderFile(Path folder, String name) throws IOException {
+        while (true) {
+            Path file = folder.resolve("." + name + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                return Files.createFile(file);
+            } catch (FileAlreadyExistsException e) {
+                // try another name
+            }
+        }
+    }
+
+    /**
+     * Keep the permissions of a replaced file, e.g. executable scripts.
+     */
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        try {
+            Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system
+        }
+    }
+
+    private static void executeTemplate(Template template, Object context, Path output) throws IOException {
+        try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            template.execute(context, out);
+        }
+    }
+
+    /**
+     * Compare the contents of a file with the given stream, reading both and stopping at the first difference.
+     */
+    private static boolean hasContents(File file, long length, InputStream contents) throws IOException {
+        if (!file.isFile() || file.length() != length) {
+            return false;
+        }
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            int b;
+            do {
+                b = contents.read();
+                if (in.read() != b) {
+                    return false;
+                }
+            } while (b != -1);
+            return true;
+        }
+    }
+
+    /**
+     * Layer template data over the additional properties, as if they were put into it, without copying them, and
+     * register its inputs when regenerating incrementally.
+     *
+     * @param data   template data
+     * @param inputs fingerprint of the inputs of the data, see {@link GenerationManifest#register(Map, Map, String)}
+     */
+    private LayeredMap<String, Object> withAdditionalProperties(Map<String, Object> data, Supplier<String> inputs) {
+        Map<String, Object> additionalProperties = getAdditionalPropertiesSnapshot();
+        // the additional properties replace the data with the same keys
+        data.keySet().removeIf(additionalProperties::containsKey);
+        LayeredMap<String, Object> layered = new LayeredMap<>(data, additionalProperties);
+        if (manifest != null) {
+            manifest.register(layered, additionalProperties, inputs.get());
+        }
+        return layered;
+    }
+
+    private Map<String, Object> getAdditionalPropertiesSnapshot() {
+        Map<String, Object> additionalProperties = config.additionalProperties();
+        Map<String, Object> snapshot = additionalPropertiesSnapshot;
+        if (snapshot == null || !isSnapshotOf(snapshot, additionalProperties)) {
+            // generators may change the additional properties while processing models and operations
+            snapshot = Collections.unmodifiableMap(new HashMap<>(additionalProperties));
+            additionalPropertiesSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    private static boolean isSnapshotOf(Map<String, Object> snapshot, Map<String, Object> map) {
+        if (snapshot.size() != map.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (snapshot.get(entry.getKey()) != entry.getValue() || !snapshot.containsKey(entry.getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private Map<String, Object> buildSupportFileBundle(List<Object> allOperations, List<Object> allModels) {
 
-        Map<String, Object> bundle = new HashMap<String, Object>();
-        bundle.putAll(config.additionalProperties());
+        Map<String, Object> bundle = withAdditionalProperties(new HashMap<>(), () -> manifest.documentInputs());
         bundle.put("apiPackage", config.apiPackage());
 
         Map<String, Object> apis = new HashMap<String, Object>();
@@ -864,7 +1191,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
         config.postProcessSupportingFileData(bundle);
 
-        if (GeneratorProperties.getProperty("debugSupportingFiles") != null) {
+        if (generationContext.getProperty("debugSupportingFiles") != null) {
             LOGGER.info("############ Supporting file info ############");
             Json.prettyPrint(bundle);
         }
@@ -882,26 +1209,105 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             throw new RuntimeException("missing config!");
         }
 
+        GenerationContext previousContext = generationContext.bind();
+        try {
+            return generateFiles();
+        } finally {
+            GenerationContext.restore(previousContext);
+        }
+    }
+
+    private List<File> generateFiles() {
         // resolve inline models
+        phaseStarted("flatten");
         InlineModelResolver inlineModelResolver = new InlineModelResolver();
         inlineModelResolver.flatten(openAPI);
+        phaseFinished("flatten");
 
+        phaseStarted("configure");
         configureGeneratorProperties();
         configureOpenAPIInfo();
+        config.setSchemaJsonEnabled(templatesReadSchemaJson());
+        phaseFinished("configure");
+
+        unchangedFiles.clear();
+        writeIfChanged = isWriteIfChanged();
+        manifest = isIncremental() ? GenerationManifest.load(config, openAPI) : null;
 
         List<File> files = new ArrayList<File>();
-        // models
-        List<String> filteredSchemas = ModelUtils.getSchemasUsedOnlyInFormParam(openAPI);
-        List<Object> allModels = new ArrayList<Object>();
-        generateModels(files, allModels, filteredSchemas);
-        // apis
-        List<Object> allOperations = new ArrayList<Object>();
-        generateApis(files, allOperations, allModels);
-
-        // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
-        generateSupportingFiles(files, bundle);
+        int parallelism = getParallelism();
+        if (parallelism > 1) {
+            renderExecutor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                    .setNameFormat("openapi-generator-render-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        if (isPostProcessFileBatch()) {
+            postProcessExecutor = Executors.newFixedThreadPool(parallelism > 1 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("openapi-generator-post-process-%d")
+                            .setDaemon(true)
+                            .build());
+            postProcessQueue = new PostProcessQueue(postProcessExecutor, listeners);
+        }
+        try {
+            // models
+            phaseStarted("models");
+            phaseStarted("models/formParamSchemas");
+            Set<String> filteredSchemas = new HashSet<>(new SchemaReferenceGraph(openAPI).getSchemasUsedOnlyInFormParam());
+            phaseFinished("models/formParamSchemas");
+            List<Object> allModels = new ArrayList<Object>();
+            generateModels(files, allModels, filteredSchemas);
+            phaseFinished("models");
+            // apis
+            phaseStarted("apis");
+            List<Object> allOperations = new ArrayList<Object>();
+            generateApis(files, allOperations, allModels);
+            phaseFinished("apis");
+
+            // supporting files
+            phaseStarted("supportingFiles");
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+            generateSupportingFiles(files, bundle);
+            phaseFinished("supportingFiles");
+
+            if (postProcessQueue != null) {
+                phaseStarted("postProcess");
+                postProcessQueue.drain();
+                phaseFinished("postProcess");
+            }
+        } finally {
+            if (renderExecutor != null) {
+                renderExecutor.shutdownNow();
+                renderExecutor = null;
+            }
+            if (postProcessExecutor != null) {
+                postProcessExecutor.shutdownNow();
+                postProcessExecutor = null;
+                postProcessQueue = null;
+            }
+        }
+        phaseStarted("processOpenAPI");
         config.processOpenAPI(openAPI);
+        phaseFinished("processOpenAPI");
+
+        if (manifest != null) {
+            phaseStarted("manifest");
+            saveManifest();
+            phaseFinished("manifest");
+        }
+
+        if (!unchangedFiles.isEmpty()) {
+            LOGGER.info("{} of {} files were unchanged and left untouched", unchangedFiles.size(), files.size());
+        }
+
+        if (runTemplateCache != null) {
+            LOGGER.debug("Template cache: {} hits, {} misses, {} compiled templates",
+                    runTemplateCache.getHitCount(), runTemplateCache.getMissCount(), runTemplateCache.size());
+        }
+        if (LOGGER.isDebugEnabled()) {
+            getTemplateIndex(config).logResolutions();
+        }
 
         // reset GeneratorProperties, so that the running thread can be reused for another generator-run
         GeneratorProperties.reset();
@@ -914,74 +1320,358 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
         if (ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
             String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
-            Mustache.Compiler compiler = Mustache.compiler();
-            compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
-                    .withLoader(new Mustache.TemplateLoader() {
-                        @Override
-                        public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                        }
-                    })
-                    .defaultValue("")
-                    .compile(template);
-
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
-            return new File(adjustedOutputFilename);
+            return renderToFile(templateData, templateFile, adjustedOutputFilename);
         }
 
         LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .openapi-generator-ignore");
+        claimFile(adjustedOutputFilename);
         return null;
     }
 
+    /**
+     * Render a template to a file. When regenerating incrementally, the file is left untouched if it was generated
+     * from the same data and template by the previous generation.
+     */
+    private File renderToFile(Map<String, Object> templateData, String templateFile, String outputFilename) throws IOException {
+        File output = new File(outputFilename);
+        String fingerprint = null;
+        if (manifest != null) {
+            fingerprint = manifest.fingerprint(templateData, templateFile);
+            if (manifest.isUpToDate(output, fingerprint)) {
+                LOGGER.info("Skipped rendering " + outputFilename + ", unchanged since the previous generation");
+                manifest.record(output, fingerprint);
+                unchangedFiles.add(output);
+                for (GenerationListener listener : listeners) {
+                    listener.fileUnchanged(output);
+                }
+                return output;
+            }
+        }
+        long start = System.nanoTime();
+        Template tmpl = getTemplate(templateFile);
+        writeTemplateToFile(outputFilename, tmpl, templateData);
+        fileGenerated(templateFile, output, start);
+        if (manifest != null) {
+            manifest.record(output, fingerprint);
+        }
+        return output;
+    }
+
+    /**
+     * Mark a file which is not (re)generated by this run but must not be deleted as stale, when regenerating
+     * incrementally.
+     */
+    private void claimFile(String filename) {
+        if (manifest != null) {
+            manifest.claim(new File(filename));
+        }
+    }
+
+    /**
+     * Leave a generated file out of the manifest of this run, so that later incremental runs never skip nor
+     * delete it. Used for test files, which are generated once and then maintained by the user.
+     */
+    private void disownFile(File file) {
+        if (manifest != null) {
+            manifest.disown(file);
+        }
+    }
+
+    private void postProcessFile(File file, String fileType) {
+        if (config.isEnablePostProcessFile() && !unchangedFiles.contains(file)) {
+            if (postProcessQueue != null) {
+                String command = config.getPostProcessFileCommand(file, fileType);
+                if (command != null) {
+                    postProcessQueue.submit(command, file, fileType);
+                    return;
+                }
+            }
+            long start = System.nanoTime();
+            config.postProcessFile(file, fileType);
+            for (GenerationListener listener : listeners) {
+                listener.filePostProcessed(file, fileType, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void fileGenerated(String templateFile, File file, long start) {
+        if (!listeners.isEmpty()) {
+            long nanos = System.nanoTime() - start;
+            for (GenerationListener listener : listeners) {
+                listener.fileGenerated(templateFile, file, nanos, file.length());
+            }
+        }
+    }
+
+    private void phaseStarted(String phase) {
+        for (GenerationListener listener : listeners) {
+            listener.phaseStarted(phase);
+        }
+    }
+
+    private void phaseFinished(String phase) {
+        for (GenerationListener listener : listeners) {
+            listener.phaseFinished(phase);
+        }
+    }
+
+    /**
+     * Delete the files which are no longer generated, if all files were generated by this run, and save the
+     * manifest of this run for the next incremental generation.
+     */
+    private void saveManifest() {
+        boolean complete = generateApis && generateModels && generateSupportingFiles
+                && generateApiTests && generateApiDocumentation && generateModelTests && generateModelDocumentation
+                && StringUtils.isEmpty(generationContext.getProperty(CodegenConstants.APIS))
+                && StringUtils.isEmpty(generationContext.getProperty(CodegenConstants.MODELS))
+                && StringUtils.isEmpty(generationContext.getProperty(CodegenConstants.SUPPORTING_FILES));
+        if (complete) {
+            manifest.deleteStaleFiles();
+        }
+        try {
+            manifest.save(complete);
+        } catch (IOException e) {
+            LOGGER.warn("Could not save the generation manifest, the next generation will not be incremental", e);
+        }
+        manifest = null;
+    }
+
+    /**
+     * Get the compiled template for the given (resolved) template file. Templates and the partials they
+     * include are read and compiled once, then served from the {@link TemplateCache}.
+     *
+     * @param templateFile Full template file path
+     * @return the compiled template
+     */
+    protected Template getTemplate(final String templateFile) {
+        final Mustache.Compiler compiler = getTemplateCompiler();
+        final TemplateIndex index = getTemplateIndex(config);
+        return runTemplateCache.getTemplate(TemplateCache.key(config, templateFile),
+                key -> compiler.compile(runTemplateCache.getSource(templateFile, index::readTemplate)));
+    }
+
+    /**
+     * Whether a template of this run, or a partial it includes, reads the JSON documents of the schemas
+     * ({@code modelJson}, {@code jsonSchema}), so that they are only kept for the generators which use them.
+     * The templates are read through the template cache, as they are when compiled.
+     */
+    private boolean templatesReadSchemaJson() {
+        List<String> templateFiles = new ArrayList<>();
+        for (Map<String, String> templates : Arrays.asList(config.modelTemplateFiles(), config.apiTemplateFiles(),
+                config.modelTestTemplateFiles(), config.apiTestTemplateFiles(), config.modelDocTemplateFiles(),
+                config.apiDocTemplateFiles())) {
+            for (String templateName : templates.keySet()) {
+                templateFiles.add(getFullTemplateFile(config, templateName));
+            }
+        }
+        for (SupportingFile support : config.supportingFiles()) {
+            if (support.templateFile.endsWith("mustache")) {
+                templateFiles.add(support instanceof GlobalSupportingFile
+                        ? config.getCommonTemplateDir() + File.separator + support.templateFile
+                        : getFullTemplateFile(config, support.templateFile));
+            }
+        }
+        getTemplateCompiler();
+        TemplateIndex index = getTemplateIndex(config);
+        Set<String> visited = new HashSet<>();
+        try {
+            for (String templateFile : templateFiles) {
+                if (readsSchemaJson(index, templateFile, visited)) {
+                    LOGGER.debug("{} reads the JSON documents of the schemas", templateFile);
+                    return true;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not scan the templates, keeping the JSON documents of the schemas", e);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean readsSchemaJson(TemplateIndex index, String templateFile, Set<String> visited) {
+        if (!visited.add(templateFile)) {
+            return false;
+        }
+        String source = runTemplateCache.getSource(templateFile, index::readTemplate);
+        if (SCHEMA_JSON.matcher(source).find()) {
+            return true;
+        }
+        for (String partial : partials(source)) {
+            if (readsSchemaJson(index, index.getFullTemplateFile(partial + ".mustache"), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * List the partials included by a template, following the changes of delimiters.
+     */
+    private static Set<String> partials(String source) {
+        Set<String> partials = new LinkedHashSet<>();
+        String start = "{{";
+        String end = "}}";
+        int i = 0;
+        while ((i = source.indexOf(start, i)) >= 0) {
+            int close = source.indexOf(end, i + start.length());
+            if (close < 0) {
+                break;
+            }
+            String tag = source.substring(i + start.length(), close).trim();
+            i = close + end.length();
+            if (tag.length() > 1 && tag.startsWith("=") && tag.endsWith("=")) {
+                String[] delims = tag.substring(1, tag.length() - 1).trim().split("\\s+");
+                if (delims.length == 2) {
+                    start = delims[0];
+                    end = delims[1];
+                }
+            } else if (tag.startsWith(">")) {
+                partials.add(tag.substring(1).trim());
+            }
+        }
+        return partials;
+    }
+
+    private synchronized Mustache.Compiler getTemplateCompiler() {
+        if (templateCompiler == null) {
+            Mustache.Compiler standardCompiler = Mustache.compiler();
+            Mustache.Compiler compiler = config.processCompiler(standardCompiler);
+            if (sharedTemplateCache && !Objects.equals(config.templateDir(), config.embeddedTemplateDir())) {
+                // the files of a custom template folder may change before the next run
+                LOGGER.debug("Not sharing the templates of {}", config.templateDir());
+                runTemplateCache = new TemplateCache();
+            } else if (sharedTemplateCache && compiler != standardCompiler) {
+                // the templates compiled by a customized compiler are only shared by this run
+                LOGGER.debug("Not sharing the templates compiled by the compiler of {}", config.getName());
+                runTemplateCache = new TemplateCache();
+            } else {
+                runTemplateCache = templateCache;
+            }
+            templateCompiler = compiler
+                    .withLoader(runTemplateCache.loader(getTemplateIndex(config)))
+                    .defaultValue("");
+        }
+        return templateCompiler;
+    }
+
     public Map<String, List<CodegenOperation>> processPaths(Paths paths) {
         Map<String, List<CodegenOperation>> ops = new TreeMap<String, List<CodegenOperation>>();
+        OperationContext context = new OperationContext(openAPI.getTags());
+        List<PathOperation> pathOperations = new ArrayList<PathOperation>();
         for (String resourcePath : paths.keySet()) {
             PathItem path = paths.get(resourcePath);
-            processOperation(resourcePath, "get", path.getGet(), ops, path);
-            processOperation(resourcePath, "head", path.getHead(), ops, path);
-            processOperation(resourcePath, "put", path.getPut(), ops, path);
-            processOperation(resourcePath, "post", path.getPost(), ops, path);
-            processOperation(resourcePath, "delete", path.getDelete(), ops, path);
-            processOperation(resourcePath, "patch", path.getPatch(), ops, path);
-            processOperation(resourcePath, "options", path.getOptions(), ops, path);
+            addPathOperation(pathOperations, resourcePath, "get", path.getGet(), path);
+            addPathOperation(pathOperations, resourcePath, "head", path.getHead(), path);
+            addPathOperation(pathOperations, resourcePath, "put", path.getPut(), path);
+            addPathOperation(pathOperations, resourcePath, "post", path.getPost(), path);
+            addPathOperation(pathOperations, resourcePath, "delete", path.getDelete(), path);
+            addPathOperation(pathOperations, resourcePath, "patch", path.getPatch(), path);
+            addPathOperation(pathOperations, resourcePath, "options", path.getOptions(), path);
+        }
+        boolean parallel = isParallelOperations();
+        if (parallel) {
+            // convert all the operations up front, then group them in the same order as when converting them one by one
+            for (PathOperation pathOperation : pathOperations) {
+                prepareOperation(pathOperation, context);
+            }
+            config.setOperationExamplesDeferred(true);
+        }
+        try {
+            if (parallel) {
+                convertOperations(pathOperations);
+            }
+            for (PathOperation pathOperation : pathOperations) {
+                processOperation(pathOperation, ops, context);
+            }
+        } finally {
+            if (parallel) {
+                config.setOperationExamplesDeferred(false);
+            }
         }
         return ops;
     }
 
-    private void processOperation(String resourcePath, String httpMethod, Operation operation, Map<String, List<CodegenOperation>> operations, PathItem path) {
-        if (operation == null) {
-            return;
+    private static void addPathOperation(List<PathOperation> pathOperations, String resourcePath, String httpMethod, Operation operation, PathItem path) {
+        if (operation != null) {
+            pathOperations.add(new PathOperation(resourcePath, httpMethod, operation, path));
         }
+    }
 
-        if (GeneratorProperties.getProperty("debugOperations") != null) {
-            LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
+    /**
+     * Whether to convert operations concurrently, set with the {@code parallelOperations} generator property. Uses
+     * the number of threads set with the {@code parallelism} generator property, or one per processor. Operations are
+     * converted one by one when the generator does not support it.
+     */
+    private boolean isParallelOperations() {
+        String value = generationContext.getProperty(CodegenConstants.PARALLEL_OPERATIONS);
+        if (value == null) {
+            value = this.generatorPropertyDefaults.get(CodegenConstants.PARALLEL_OPERATIONS);
+        }
+        if (!Boolean.parseBoolean(value)) {
+            return false;
+        }
+        if (!config.isParallelOperationConversionSupported()) {
+            LOGGER.warn("The {} generator does not support converting operations concurrently, converting them one by one", config.getName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Convert the operations concurrently. The converted operations (or failures) are kept in the path operations,
+     * to be grouped by {@link #processOperation(PathOperation, Map, OperationContext)} in order.
+     */
+    private void convertOperations(List<PathOperation> pathOperations) {
+        final Map<String, Schema> schemas = openAPI.getComponents() != null ? openAPI.getComponents().getSchemas() : null;
+        int parallelism = getParallelism();
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 1 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<?>> futures = new ArrayList<>(pathOperations.size());
+            for (PathOperation pathOperation : pathOperations) {
+                futures.add(pool.submit(() -> {
+                    GenerationContext previousContext = generationContext.bind();
+                    try {
+                        pathOperation.converted = config.fromOperation(pathOperation.resourcePath, pathOperation.httpMethod,
+                                pathOperation.operation, schemas, openAPI);
+                    } catch (RuntimeException e) {
+                        pathOperation.failure = e;
+                    } finally {
+                        GenerationContext.restore(previousContext);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new RuntimeException("Could not convert operations", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while converting operations", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Resolve the tags of an operation, and add the parameters of its path to it.
+     */
+    private void prepareOperation(PathOperation pathOperation, OperationContext context) {
+        Operation operation = pathOperation.operation;
+        PathItem path = pathOperation.path;
+
+        if (generationContext.getProperty("debugOperations") != null) {
+            LOGGER.info("processOperation: resourcePath= " + pathOperation.resourcePath + "\t;" + pathOperation.httpMethod + " " + operation + "\n");
         }
 
         List<Tag> tags = new ArrayList<Tag>();
         List<String> tagNames = operation.getTags();
-        List<Tag> swaggerTags = openAPI.getTags();
         if (tagNames != null) {
-            if (swaggerTags == null) {
-                for (String tagName : tagNames) {
-                    tags.add(new Tag().name(tagName));
-                }
-            } else {
-                for (String tagName : tagNames) {
-                    boolean foundTag = false;
-                    for (Tag tag : swaggerTags) {
-                        if (tag.getName().equals(tagName)) {
-                            tags.add(tag);
-                            foundTag = true;
-                            break;
-                        }
-                    }
-
-                    if (!foundTag) {
-                        tags.add(new Tag().name(tagName));
-                    }
-                }
+            for (String tagName : tagNames) {
+                Tag tag = context.tags.get(tagName);
+                tags.add(tag != null ? tag : new Tag().name(tagName));
             }
         }
 
@@ -1011,12 +1701,48 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
         }
 
+        pathOperation.tags = tags;
+    }
+
+    private void processOperation(PathOperation pathOperation, Map<String, List<CodegenOperation>> operations, OperationContext context) {
+        if (pathOperation.tags == null) {
+            prepareOperation(pathOperation, context);
+        }
+        String resourcePath = pathOperation.resourcePath;
+        String httpMethod = pathOperation.httpMethod;
+        Operation operation = pathOperation.operation;
+        List<Tag> tags = pathOperation.tags;
+
         final Map<String, Schema> schemas = openAPI.getComponents() != null ? openAPI.getComponents().getSchemas() : null;
         final Map<String, SecurityScheme> securitySchemes = openAPI.getComponents() != null ? openAPI.getComponents().getSecuritySchemes() : null;
         final List<SecurityRequirement> globalSecurities = openAPI.getSecurity();
-        for (Tag tag : tags) {
+
+        // the operation is converted once, and copied for each other tag before it is added to the group of a tag
+        // (which may change it); custom operation types are converted again for each tag, as they cannot be copied
+        CodegenOperation template = null;
+        for (int i = 0; i < tags.size(); i++) {
+            Tag tag = tags.get(i);
             try {
-                CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, schemas, openAPI);
+                CodegenOperation codegenOperation;
+                if (template == null) {
+                    if (pathOperation.failure != null) {
+                        throw pathOperation.failure;
+                    }
+                    if (pathOperation.converted != null) {
+                        // converted concurrently, the examples complete the schemas in the order of the operations
+                        codegenOperation = pathOperation.converted;
+                        pathOperation.converted = null;
+                        config.generateOperationExamples(codegenOperation);
+                    } else {
+                        codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, schemas, openAPI);
+                    }
+                    if (codegenOperation.getClass() == CodegenOperation.class && i < tags.size() - 1) {
+                        template = codegenOperation;
+                        codegenOperation = template.copy();
+                    }
+                } else {
+                    codegenOperation = i < tags.size() - 1 ? template.copy() : template;
+                }
                 codegenOperation.tags = new ArrayList<>(tags);
                 config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
 
@@ -1030,7 +1756,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
 
                 if (authMethods != null && !authMethods.isEmpty()) {
-                    codegenOperation.authMethods = config.fromSecurity(authMethods);
+                    codegenOperation.authMethods = context.fromSecurity(config, authMethods);
                     codegenOperation.hasAuthMethods = true;
                 }
 
@@ -1209,4 +1935,68 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
         return oauthMethods;
     }
+
+    /**
+     * An operation of a path, with its tags and its conversion when operations are converted concurrently.
+     */
+    private static class PathOperation {
+        private final String resourcePath;
+        private final String httpMethod;
+        private final Operation operation;
+        private final PathItem path;
+        private List<Tag> tags;
+        private CodegenOperation converted;
+        private RuntimeException failure;
+
+        PathOperation(String resourcePath, String httpMethod, Operation operation, PathItem path) {
+            this.resourcePath = resourcePath;
+            this.httpMethod = httpMethod;
+            this.operation = operation;
+            this.path = path;
+        }
+    }
+
+    /**
+     * State shared by the operations of {@link #processPaths(Paths)}: the tags of the spec by name, and the auth
+     * methods converted for each set of security schemes.
+     */
+    private static class OperationContext {
+        private final Map<String, Tag> tags = new HashMap<>();
+        private final Map<List<String>, List<CodegenSecurity>> authMethods = new HashMap<>();
+
+        OperationContext(List<Tag> tags) {
+            if (tags != null) {
+                for (Tag tag : tags) {
+                    if (tag.getName() != null) {
+                        // the first tag wins, as when searching the list
+                        this.tags.putIfAbsent(tag.getName(), tag);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Convert the security schemes of an operation, or copy the auth methods converted for the same schemes.
+         */
+        List<CodegenSecurity> fromSecurity(CodegenConfig config, Map<String, SecurityScheme> securitySchemes) {
+            // the schemes are those of the spec, so their names (in order) identify them
+            List<String> key = new ArrayList<>(securitySchemes.keySet());
+            List<CodegenSecurity> converted = authMethods.get(key);
+            if (converted == null) {
+                converted = config.fromSecurity(securitySchemes);
+                for (CodegenSecurity security : converted) {
+                    if (security.getClass() != CodegenSecurity.class) {
+                        // custom types cannot be copied
+                        return converted;
+                    }
+                }
+                authMethods.put(key, converted);
+            }
+            List<CodegenSecurity> copies = new ArrayList<>(converted.size());
+            for (CodegenSecurity security : converted) {
+                copies.add(security.copy());
+            }
+            return copies;
+        }
+    }
 }
@@ -0,0 +1,530 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.collect.MapMaker;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Record of the files written by a previous generation, stored in {@code .openapi-generator/manifest.json}, used to
+ * regenerate incrementally.
+ * <p>
+ * Each output file is recorded with a fingerprint of the inputs it was rendered from and of the template used. The
+ * inputs are listed explicitly when the template data is built (see {@link #register(Map, Map, String)}):
+ * <ul>
+ * <li>for model files, the definitions of the schema and of its related components: those it references,
+ * transitively, and the schemas extending it, whose models are linked to it (e.g. {@code parentModel},
+ * {@code children})</li>
+ * <li>for api files, the path items of the operations and the components they reference</li>
+ * <li>for supporting files, the whole document</li>
+ * </ul>
+ * together with the parts of the document shared by all files (info, servers, security...), the mappings of the
+ * generator and the additional properties, fingerprinted once per run. Together with a fingerprint of the template set
+ * (generator, library, version and custom template directory), it allows the generator to skip rendering files whose
+ * inputs did not change, and to delete the files which a previous run generated but the current run no longer produces.
+ */
+public class GenerationManifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String MANIFEST_FILE = ".openapi-generator" + File.separator + "manifest.json";
+
+    // values which change on every run, and would otherwise invalidate every file
+    private static final String[] VOLATILE_KEYS = {"generatedDate"};
+
+    private static final String SCHEMAS = "schemas/";
+
+    // local references to components, including the discriminator mappings
+    private static final Pattern COMPONENT_REF = Pattern.compile("#/components/([^/\"]+)/([^/\"]+)\"");
+
+    private static final ObjectMapper MAPPER = Json.mapper().copy()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+
+    private final File outputDir;
+    private final File manifestFile;
+    private final String templatesFingerprint;
+    private final Map<String, String> previousFiles;
+    private final boolean templatesUnchanged;
+    private final Map<String, String> files = new ConcurrentHashMap<>();
+    private final Set<String> claimedFiles = ConcurrentHashMap.newKeySet();
+    private final Document document;
+    // the inputs of the template data being rendered, held weakly and compared by identity
+    private final Map<Map<String, Object>, String> inputs = new MapMaker().weakKeys().makeMap();
+    private final Map<Map<String, Object>, String> additionalPropertiesFingerprints = new MapMaker().weakKeys().makeMap();
+
+    private GenerationManifest(File outputDir, String templatesFingerprint, Manifest previous, Document document) {
+        this.outputDir = outputDir;
+        this.manifestFile = new File(outputDir, MANIFEST_FILE);
+        this.templatesFingerprint = templatesFingerprint;
+        this.previousFiles = previous != null && previous.files != null ? previous.files : Collections.emptyMap();
+        this.templatesUnchanged = previous != null && templatesFingerprint.equals(previous.templates);
+        this.document = document;
+    }
+
+    /**
+     * Load the manifest of the previous generation in the output folder of the given config, if any.
+     *
+     * @param config  Codegen config
+     * @param openAPI document being generated, once its inline models are resolved
+     * @return the manifest of the current generation
+     */
+    public static GenerationManifest load(CodegenConfig config, OpenAPI openAPI) {
+        File outputDir = new File(config.outputFolder());
+        String templatesFingerprint = templatesFingerprint(config);
+        File manifestFile = new File(outputDir, MANIFEST_FILE);
+        Manifest previous = null;
+        if (manifestFile.isFile()) {
+            try {
+                previous = Json.mapper().readValue(manifestFile, Manifest.class);
+            } catch (IOException e) {
+                LOGGER.warn("Could not read generation manifest {}, all files will be generated", manifestFile, e);
+            }
+        }
+        if (previous != null && !templatesFingerprint.equals(previous.templates)) {
+            LOGGER.info("Generator or templates changed since the previous generation, all files will be generated");
+        }
+        return new GenerationManifest(outputDir, templatesFingerprint, previous, Document.of(config, openAPI));
+    }
+
+    /**
+     * @param schemaName name of a schema of the components
+     * @return the fingerprint of the inputs of the model files of the schema, or null if they cannot be listed
+     */
+    public String modelInputs(String schemaName) {
+        return document.inputs(Collections.singleton(SCHEMAS + schemaName), Collections.emptySet());
+    }
+
+    /**
+     * @param operations operations of an api file
+     * @return the fingerprint of the inputs of the api files of the operations, or null if they cannot be listed
+     */
+    public String apiInputs(Collection<CodegenOperation> operations) {
+        Set<String> paths = new TreeSet<>();
+        for (CodegenOperation operation : operations) {
+            paths.add(operation.path);
+        }
+        return document.inputs(Collections.emptySet(), paths);
+    }
+
+    /**
+     * @return the fingerprint of the inputs of the supporting files, i.e. the whole document
+     */
+    public String documentInputs() {
+        return document.inputs(document.components.keySet(), document.paths.keySet());
+    }
+
+    /**
+     * Register the inputs of template data, until it is garbage collected.
+     *
+     * @param templateData         template data, identified by reference
+     * @param additionalProperties snapshot of the additional properties the template data is layered over
+     * @param dataInputs           fingerprint of the other inputs of the template data, or null if the files rendered
+     *                             from it must always be generated
+     */
+    public void register(Map<String, Object> templateData, Map<String, Object> additionalProperties, String dataInputs) {
+        if (dataInputs == null) {
+            return;
+        }
+        String additionalPropertiesFingerprint = additionalPropertiesFingerprints.computeIfAbsent(additionalProperties,
+                GenerationManifest::fingerprintAdditionalProperties);
+        if (additionalPropertiesFingerprint.isEmpty()) {
+            return;
+        }
+        inputs.put(templateData, Hashing.sha256().newHasher()
+                .putString(document.fingerprint, StandardCharsets.UTF_8)
+                .putString(additionalPropertiesFingerprint, StandardCharsets.UTF_8)
+                .putString(dataInputs, StandardCharsets.UTF_8)
+                .hash().toString());
+    }
+
+    /**
+     * Compute the fingerprint of an output file.
+     *
+     * @param templateData data the file is rendered from
+     * @param templateFile resolved template file
+     * @return the fingerprint, or null if the inputs of the data were not registered (the file is then always
+     * generated)
+     */
+    public String fingerprint(Map<String, Object> templateData, String templateFile) {
+        String dataInputs = inputs.get(templateData);
+        if (dataInputs == null) {
+            return null;
+        }
+        return Hashing.sha256().newHasher()
+                .putString(dataInputs, StandardCharsets.UTF_8)
+                .putString(templateFile, StandardCharsets.UTF_8)
+                .hash().toString();
+    }
+
+    private static String fingerprintAdditionalProperties(Map<String, Object> additionalProperties) {
+        Map<String, Object> data = new HashMap<>(additionalProperties);
+        for (String key : VOLATILE_KEYS) {
+            data.remove(key);
+        }
+        String fingerprint = fingerprint(data);
+        return fingerprint != null ? fingerprint : "";
+    }
+
+    /**
+     * @return the fingerprint of the serialized value, or null if it cannot be serialized
+     */
+    private static String fingerprint(Object value) {
+        String json = serialize(value);
+        return json != null ? Hashing.sha256().hashString(json, StandardCharsets.UTF_8).toString() : null;
+    }
+
+    private static String serialize(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Could not serialize the inputs of the generation, the files depending on them will be generated", e);
+            return null;
+        }
+    }
+
+    /**
+     * @param output      output file
+     * @param fingerprint fingerprint of the file in the current generation
+     * @return true if the file exists and was generated from the same inputs by the previous generation
+     */
+    public boolean isUpToDate(File output, String fingerprint) {
+        return templatesUnchanged && fingerprint != null && output.isFile()
+                && fingerprint.equals(previousFiles.get(relativePath(output)));
+    }
+
+    /**
+     * Record a file produced by the current generation.
+     *
+     * @param output      output file
+     * @param fingerprint fingerprint of the file, or null if it cannot be skipped in later generations
+     */
+    public void record(File output, String fingerprint) {
+        String path = relativePath(output);
+        claimedFiles.add(path);
+        if (fingerprint != null) {
+            files.put(path, fingerprint);
+        }
+    }
+
+    /**
+     * Mark a file as belonging to the current generation although it was not (re)generated, e.g. because it must
+     * not be overwritten or is excluded by the ignore file, so that it is not considered stale.
+     *
+     * @param output output file
+     */
+    public void claim(File output) {
+        claimedFiles.add(relativePath(output));
+    }
+
+    /**
+     * Remove a file of the current generation from the manifest, so that it is neither skipped nor deleted by later
+     * generations, e.g. test files which are generated once and then maintained by the user.
+     *
+     * @param output output file
+     */
+    public void disown(File output) {
+        String path = relativePath(output);
+        claimedFiles.add(path);
+        files.remove(path);
+    }
+
+    /**
+     * Delete the files recorded by the previous generation which the current generation did not produce.
+     *
+     * @return the deleted files
+     */
+    public List<File> deleteStaleFiles() {
+        List<File> deleted = new ArrayList<>();
+        for (String path : new TreeMap<>(previousFiles).keySet()) {
+            if (claimedFiles.contains(path)) {
+                continue;
+            }
+            File stale = new File(path).isAbsolute() ? new File(path) : new File(outputDir, path);
+            if (stale.isFile() && stale.delete()) {
+                LOGGER.info("Deleted " + stale + " which is no longer generated");
+                deleted.add(stale);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Write the manifest of the current generation.
+     *
+     * @param complete false if only part of the files were generated (e.g. selected models), in which case the
+     *                 entries of the previous generation for the other files are kept
+     * @throws IOException if the manifest cannot be written
+     */
+    public void save(boolean complete) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.templates = templatesFingerprint;
+        manifest.files = new TreeMap<>();
+        if (!complete && templatesUnchanged) {
+            for (Map.Entry<String, String> entry : previousFiles.entrySet()) {
+                if (!claimedFiles.contains(entry.getKey())) {
+                    manifest.files.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        manifest.files.putAll(files);
+        File parent = manifestFile.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(manifestFile, manifest);
+    }
+
+    private String relativePath(File output) {
+        Path path = outputDir.getAbsoluteFile().toPath().normalize();
+        Path file = output.getAbsoluteFile().toPath().normalize();
+        String relative = file.startsWith(path) ? path.relativize(file).toString() : file.toString();
+        return relative.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Fingerprint of everything which changes how the same data is rendered: generator, library, generator version
+     * (embedded templates) and the content of the custom template directory.
+     */
+    static String templatesFingerprint(CodegenConfig config) {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(config.getClass().getName(), StandardCharsets.UTF_8)
+                .putString(String.valueOf(config.getLibrary()), StandardCharsets.UTF_8)
+                .putString(ImplementationVersion.read(), StandardCharsets.UTF_8)
+                .putString(String.valueOf(config.embeddedTemplateDir()), StandardCharsets.UTF_8);
+        String templateDir = config.templateDir();
+        if (StringUtils.isNotEmpty(templateDir) && !templateDir.equals(config.embeddedTemplateDir())
+                && new File(templateDir).isDirectory()) {
+            try (Stream<Path> paths = Files.walk(new File(templateDir).toPath())) {
+                for (Path template : paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    hasher.putString(template.toString(), StandardCharsets.UTF_8);
+                    hasher.putBytes(Files.readAllBytes(template));
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not read template directory {}", templateDir, e);
+                hasher.putLong(System.nanoTime());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Fingerprints of the parts of the document, computed once, before the document is processed, and the references
+     * between them.
+     */
+    private static final class Document {
+        // fingerprint of the inputs shared by all files: the document without its paths and components (except the
+        // security schemes, referenced by name), and the mappings of the generator
+        private final String fingerprint;
+        // keyed by "<components type>/<name>", e.g. "schemas/Pet"
+        private final Map<String, Part> components = new HashMap<>();
+        private final Map<String, Part> paths = new HashMap<>();
+        // names of the schemas extending each schema through allOf
+        private final Map<String, Set<String>> children = new HashMap<>();
+
+        private Document(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        static Document of(CodegenConfig config, OpenAPI openAPI) {
+            OpenAPI shared = new OpenAPI()
+                    .openapi(openAPI.getOpenapi())
+                    .info(openAPI.getInfo())
+                    .externalDocs(openAPI.getExternalDocs())
+                    .servers(openAPI.getServers())
+                    .security(openAPI.getSecurity())
+                    .tags(openAPI.getTags())
+                    .extensions(openAPI.getExtensions());
+            Components components = openAPI.getComponents();
+            if (components != null) {
+                shared.components(new Components().securitySchemes(components.getSecuritySchemes()));
+            }
+            Map<String, Object> generator = new HashMap<>();
+            generator.put("document", shared);
+            generator.put("typeMapping", config.typeMapping());
+            generator.put("instantiationTypes", config.instantiationTypes());
+            generator.put("importMapping", config.importMapping());
+            generator.put("languageSpecificPrimitives", config.languageSpecificPrimitives());
+            generator.put("reservedWordsMappings", config.reservedWordsMappings());
+            generator.put("vendorExtensions", config.vendorExtensions());
+            // e.g. whether api files import models
+            generator.put("hasSchemas", components != null && components.getSchemas() != null && !components.getSchemas().isEmpty());
+            String fingerprint = fingerprint(generator);
+            if (fingerprint == null) {
+                return new Document(null);
+            }
+
+            Document document = new Document(fingerprint);
+            if (components != null) {
+                document.addComponents("schemas", components.getSchemas());
+                document.addComponents("responses", components.getResponses());
+                document.addComponents("parameters", components.getParameters());
+                document.addComponents("examples", components.getExamples());
+                document.addComponents("requestBodies", components.getRequestBodies());
+                document.addComponents("headers", components.getHeaders());
+                document.addComponents("links", components.getLinks());
+                document.addComponents("callbacks", components.getCallbacks());
+                if (components.getSchemas() != null) {
+                    for (Map.Entry<String, Schema> schema : components.getSchemas().entrySet()) {
+                        if (schema.getValue() instanceof ComposedSchema && ((ComposedSchema) schema.getValue()).getAllOf() != null) {
+                            for (Schema parent : ((ComposedSchema) schema.getValue()).getAllOf()) {
+                                if (parent.get$ref() != null) {
+                                    document.children.computeIfAbsent(ModelUtils.getSimpleRef(parent.get$ref()), k -> new TreeSet<>())
+                                            .add(schema.getKey());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            if (openAPI.getPaths() != null) {
+                for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+                    document.paths.put(path.getKey(), Part.of(path.getValue()));
+                }
+            }
+            return document;
+        }
+
+        private void addComponents(String type, Map<String, ?> values) {
+            if (values != null) {
+                for (Map.Entry<String, ?> value : values.entrySet()) {
+                    components.put(type + "/" + value.getKey(), Part.of(value.getValue()));
+                }
+            }
+        }
+
+        /**
+         * @return the fingerprint of the given parts of the document and of the components related to them, or null
+         * if one of them cannot be fingerprinted
+         */
+        String inputs(Collection<String> componentKeys, Collection<String> pathKeys) {
+            if (fingerprint == null) {
+                return null;
+            }
+            Hasher hasher = Hashing.sha256().newHasher();
+            Deque<String> pending = new ArrayDeque<>(componentKeys);
+            for (String pathKey : new TreeSet<>(pathKeys)) {
+                Part path = paths.get(pathKey);
+                if (path == null && pathKey.startsWith("/")) {
+                    // the operations of paths without leading slash get one
+                    path = paths.get(pathKey.substring(1));
+                }
+                if (path == null || path.fingerprint == null) {
+                    return null;
+                }
+                hasher.putString(pathKey, StandardCharsets.UTF_8).putString(path.fingerprint, StandardCharsets.UTF_8);
+                pending.addAll(path.references);
+            }
+            Set<String> related = new TreeSet<>();
+            while (!pending.isEmpty()) {
+                String key = pending.pop();
+                if (!related.add(key)) {
+                    continue;
+                }
+                Part component = components.get(key);
+                if (component != null) {
+                    pending.addAll(component.references);
+                }
+                if (key.startsWith(SCHEMAS)) {
+                    for (String child : children.getOrDefault(key.substring(SCHEMAS.length()), Collections.emptySet())) {
+                        pending.add(SCHEMAS + child);
+                    }
+                }
+            }
+            for (String key : related) {
+                Part component = components.get(key);
+                if (component != null && component.fingerprint == null) {
+                    return null;
+                }
+                // unresolved references are part of the definitions referencing them
+                hasher.putString(key, StandardCharsets.UTF_8)
+                        .putString(component != null ? component.fingerprint : "", StandardCharsets.UTF_8);
+            }
+            return hasher.hash().toString();
+        }
+    }
+
+    /**
+     * Fingerprint of a part of the document, and the components it references.
+     */
+    private static final class Part {
+        private final String fingerprint;
+        private final Set<String> references = new TreeSet<>();
+
+        private Part(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        static Part of(Object value) {
+            String json = serialize(value);
+            if (json == null) {
+                return new Part(null);
+            }
+            Part part = new Part(Hashing.sha256().hashString(json, StandardCharsets.UTF_8).toString());
+            Matcher matcher = COMPONENT_REF.matcher(json);
+            while (matcher.find()) {
+                part.references.add(matcher.group(1) + "/" + matcher.group(2));
+            }
+            return part;
+        }
+    }
+
+    /**
+     * Serialized form of the manifest.
+     */
+    static class Manifest {
+        public String templates;
+        public Map<String, String> files;
+    }
+}
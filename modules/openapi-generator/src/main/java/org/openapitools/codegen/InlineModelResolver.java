@@ -25,9 +25,9 @@ import io.swagger.v3.oas.models.media.*;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
-import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaFingerprint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,10 +41,13 @@ import io.swagger.v3.oas.models.media.XML;
 public class InlineModelResolver {
     private OpenAPI openapi;
     private Map<String, Schema> addedModels = new HashMap<String, Schema>();
-    private Map<String, String> generatedSignature = new HashMap<String, String>();
+    private Map<SchemaFingerprint, String> generatedSignature = new HashMap<SchemaFingerprint, String>();
+    // fingerprint of the last schema looked up, which is usually added next
+    private Schema lastMatched;
+    private SchemaFingerprint lastFingerprint;
     static Logger LOGGER = LoggerFactory.getLogger(InlineModelResolver.class);
 
-    void flatten(OpenAPI openapi) {
+    public void flatten(OpenAPI openapi) {
         this.openapi = openapi;
 
         if (openapi.getComponents() == null) {
@@ -403,15 +406,17 @@ public class InlineModelResolver {
     }
 
     private String matchGenerated(Schema model) {
-        String json = Json.pretty(model);
-        if (generatedSignature.containsKey(json)) {
-            return generatedSignature.get(json);
-        }
-        return null;
+        SchemaFingerprint fingerprint = SchemaFingerprint.of(model);
+        lastMatched = model;
+        lastFingerprint = fingerprint;
+        return generatedSignature.get(fingerprint);
     }
 
     private void addGenerated(String name, Schema model) {
-        generatedSignature.put(Json.pretty(model), name);
+        SchemaFingerprint fingerprint = model == lastMatched ? lastFingerprint : SchemaFingerprint.of(model);
+        lastMatched = null;
+        lastFingerprint = null;
+        generatedSignature.put(fingerprint, name);
     }
 
     private String uniqueName(String key) {
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.openapitools.codegen.metrics.GenerationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Post-processes the generated files with external commands (see
+ * {@link CodegenConfig#getPostProcessFileCommand(File, String)}) while the generation goes on. Files are queued as
+ * they are written, grouped by command into batches passed to a single invocation of the command, up to the length
+ * of a command line, and the batches run concurrently on an executor. {@link #drain()} waits for all the batches and
+ * reports their timing and failures.
+ */
+class PostProcessQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostProcessQueue.class);
+
+    // command lines are limited to 32767 characters on Windows; elsewhere the limit (ARG_MAX) also counts the
+    // environment and is at least 256 KB on the usual systems
+    static final int MAX_COMMAND_LENGTH = SystemUtils.IS_OS_WINDOWS ? 32000 : 128 * 1024;
+
+    // bytes of the output of a failed command included in the report
+    private static final int MAX_OUTPUT_LENGTH = 4096;
+
+    private final ExecutorService executor;
+    private final List<GenerationListener> listeners;
+    private final int maxCommandLength;
+    private final Map<String, Batch> pendingBatches = new LinkedHashMap<>();
+    private final List<Batch> batches = new ArrayList<>();
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    /**
+     * @param executor  executor running the batches
+     * @param listeners listeners notified of the post-processed files
+     */
+    PostProcessQueue(ExecutorService executor, List<GenerationListener> listeners) {
+        this(executor, listeners, MAX_COMMAND_LENGTH);
+    }
+
+    PostProcessQueue(ExecutorService executor, List<GenerationListener> listeners, int maxCommandLength) {
+        this.executor = executor;
+        this.listeners = listeners;
+        this.maxCommandLength = maxCommandLength;
+    }
+
+    /**
+     * Queue a file. The batch of its command is run once it is full.
+     *
+     * @param command  command post-processing the file, without the file
+     * @param file     file to be processed
+     * @param fileType file type
+     */
+    synchronized void submit(String command, File file, String fileType) {
+        Batch batch = pendingBatches.get(command);
+        int length = file.getPath().length() + 1;
+        if (batch != null && batch.length + length > maxCommandLength) {
+            run(batch);
+            batch = null;
+        }
+        if (batch == null) {
+            batch = new Batch(command);
+            pendingBatches.put(command, batch);
+        }
+        batch.add(file, fileType, length);
+    }
+
+    /**
+     * Run the batches which are not full yet, wait for all the batches and report them.
+     *
+     * @return the batches, in the order they were started
+     */
+    List<Batch> drain() {
+        List<Future<?>> running;
+        synchronized (this) {
+            for (Batch batch : new ArrayList<>(pendingBatches.values())) {
+                run(batch);
+            }
+            running = new ArrayList<>(futures);
+            futures.clear();
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // failures are recorded by the batches
+                LOGGER.error("Could not post-process files", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while post-processing files", e);
+            }
+        }
+        List<Batch> done;
+        synchronized (this) {
+            done = new ArrayList<>(batches);
+            batches.clear();
+        }
+        report(done);
+        return done;
+    }
+
+    private void run(Batch batch) {
+        pendingBatches.remove(batch.command);
+        batches.add(batch);
+        futures.add(executor.submit(batch::run));
+    }
+
+    private void report(List<Batch> done) {
+        if (done.isEmpty()) {
+            return;
+        }
+        int files = 0;
+        int failed = 0;
+        long nanos = 0;
+        for (Batch batch : done) {
+            files += batch.files.size();
+            nanos += batch.nanos;
+            if (batch.isFailed()) {
+                failed++;
+                LOGGER.error("Error running the command ({}) on {} files ({} ms). {}: {}", batch.command, batch.files.size(),
+                        TimeUnit.NANOSECONDS.toMillis(batch.nanos), batch.error != null ? "Exception" : "Exit value " + batch.exitValue,
+                        batch.error != null ? batch.error : batch.output);
+            } else {
+                LOGGER.debug("Post-processed {} files with {} in {} ms", batch.files.size(), batch.command,
+                        TimeUnit.NANOSECONDS.toMillis(batch.nanos));
+            }
+        }
+        LOGGER.info("Post-processed {} files in {} batches ({} ms in total), {} batches failed", files, done.size(),
+                TimeUnit.NANOSECONDS.toMillis(nanos), failed);
+    }
+
+    /**
+     * Files post-processed by a single invocation of a command.
+     */
+    class Batch {
+        private final String command;
+        private final List<File> files = new ArrayList<>();
+        private final List<String> fileTypes = new ArrayList<>();
+        private int length;
+        private long nanos;
+        private int exitValue;
+        private String output;
+        private String error;
+
+        Batch(String command) {
+            this.command = command;
+            this.length = command.length();
+        }
+
+        private void add(File file, String fileType, int fileLength) {
+            files.add(file);
+            fileTypes.add(fileType);
+            length += fileLength;
+        }
+
+        private void run() {
+            // split the command as Runtime#exec(String) does, the files are passed as they are
+            List<String> commandLine = new ArrayList<>();
+            StringTokenizer tokenizer = new StringTokenizer(command);
+            while (tokenizer.hasMoreTokens()) {
+                commandLine.add(tokenizer.nextToken());
+            }
+            for (File file : files) {
+                commandLine.add(file.toString());
+            }
+
+            long start = System.nanoTime();
+            try {
+                Process p = new ProcessBuilder(commandLine).redirectErrorStream(true).start();
+                // the output is read so that the command never blocks on a full pipe
+                output = readOutput(p.getInputStream());
+                exitValue = p.waitFor();
+            } catch (IOException | RuntimeException e) {
+                error = e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = "interrupted";
+            }
+            nanos = System.nanoTime() - start;
+
+            // the time of the batch is shared by its files
+            long fileNanos = nanos / files.size();
+            for (int i = 0; i < files.size(); i++) {
+                for (GenerationListener listener : listeners) {
+                    listener.filePostProcessed(files.get(i), fileTypes.get(i), fileNanos);
+                }
+            }
+        }
+
+        String getCommand() {
+            return command;
+        }
+
+        List<File> getFiles() {
+            return Collections.unmodifiableList(files);
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+
+        boolean isFailed() {
+            return error != null || exitValue != 0;
+        }
+    }
+
+    private static String readOutput(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, Math.max(0, Math.min(read, MAX_OUTPUT_LENGTH - out.size())));
+        }
+        return new String(out.toByteArray(), Charset.defaultCharset()).trim();
+    }
+}
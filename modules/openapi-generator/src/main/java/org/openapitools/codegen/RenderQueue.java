@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.config.GenerationContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the file rendering tasks of one generation phase (models, apis). Without an executor, tasks run
+ * as soon as they are submitted. With an executor, tasks are held until {@link #drain()}, so that all the
+ * (single-threaded) processing of the phase is done before any template is executed, and then run
+ * concurrently. In both cases files are returned in submission order, so the result does not depend on
+ * the parallelism.
+ */
+class RenderQueue {
+
+    @FunctionalInterface
+    interface RenderTask {
+        void render(List<File> files) throws Exception;
+    }
+
+    private final ExecutorService executor;
+    private final GenerationContext generationContext;
+    private final List<File> files = new ArrayList<>();
+    private final List<String> errorMessages = new ArrayList<>();
+    private final List<RenderTask> tasks = new ArrayList<>();
+
+    /**
+     * @param executor          executor used to render files, or null to render them on the calling thread
+     * @param generationContext context of the generation, bound to the threads of the executor while rendering
+     */
+    RenderQueue(ExecutorService executor, GenerationContext generationContext) {
+        this.executor = executor;
+        this.generationContext = generationContext;
+    }
+
+    /**
+     * Submit a rendering task.
+     *
+     * @param errorMessage message of the exception thrown if the task fails (e.g. naming the model or tag)
+     * @param task         task rendering and writing files
+     */
+    void submit(String errorMessage, RenderTask task) {
+        if (executor == null) {
+            try {
+                task.render(files);
+            } catch (Exception e) {
+                throw new RuntimeException(errorMessage, e);
+            }
+            return;
+        }
+        errorMessages.add(errorMessage);
+        tasks.add(task);
+    }
+
+    /**
+     * Run the held tasks, if any, and wait for them.
+     *
+     * @return the written files, in submission order
+     * @throws RuntimeException wrapping the failure of the first failed task (in submission order)
+     */
+    List<File> drain() {
+        List<Future<List<File>>> futures = new ArrayList<>();
+        for (RenderTask task : tasks) {
+            futures.add(executor.submit(() -> {
+                GenerationContext previousContext = generationContext.bind();
+                try {
+                    List<File> rendered = new ArrayList<>();
+                    task.render(rendered);
+                    return rendered;
+                } finally {
+                    GenerationContext.restore(previousContext);
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    files.addAll(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(errorMessages.get(i), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(errorMessages.get(i), e);
+                }
+            }
+        } catch (RuntimeException e) {
+            for (Future<List<File>> future : futures) {
+                future.cancel(true);
+            }
+            throw e;
+        } finally {
+            tasks.clear();
+            errorMessages.clear();
+        }
+        return files;
+    }
+}
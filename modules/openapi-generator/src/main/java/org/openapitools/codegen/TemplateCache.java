@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Holds compiled mustache templates and raw template sources (including partials resolved through the
+ * {@link Mustache.TemplateLoader}) so that each distinct template is read and parsed only once.
+ * <p>
+ * A cache is created per {@link DefaultGenerator} by default. The same instance may be handed to several
+ * generators (see {@link DefaultGenerator#setTemplateCache(TemplateCache)}) to keep compiled templates warm
+ * across runs in one JVM. Such a shared cache only holds embedded templates compiled by the standard compiler: the
+ * sources are identified by their path and never read again, so generations with a custom template folder, whose
+ * files may change between runs, use a cache of their own, and so do the generators customizing the compiler,
+ * whose settings (e.g. the delimiters) cannot all be told apart.
+ * <p>
+ * The compiled templates keep their compiler, which loads the partials through {@link #loader(TemplateIndex)}: it
+ * resolves them from the template folders and library of the cache key, not through a generator, so a cached
+ * template does not keep the generator, config or spec of the run which compiled it.
+ */
+public class TemplateCache {
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> sources = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Build the cache key of a template, made of the resolved template path and of the settings which
+     * influence how the template (and the partials it includes) are resolved.
+     * <p>
+     * The key does not describe the compiler: a shared cache only holds the templates compiled by the standard
+     * compiler, the generators customizing it in {@link CodegenConfig#processCompiler(Mustache.Compiler)} using a
+     * cache of their own.
+     *
+     * @param config       Codegen config
+     * @param templateFile resolved template file path
+     * @return the cache key
+     */
+    public static String key(CodegenConfig config, String templateFile) {
+        return config.getClass().getName()
+                + "|" + config.templateDir()
+                + "|" + config.embeddedTemplateDir()
+                + "|" + config.getLibrary()
+                + "|" + templateFile;
+    }
+
+    /**
+     * Get a loader of the partials of the templates compiled with this cache, resolving and reading them through
+     * the given index only.
+     *
+     * @param index index of the template folders of the templates
+     * @return the loader
+     */
+    public Mustache.TemplateLoader loader(TemplateIndex index) {
+        return new Loader(this, index);
+    }
+
+    /**
+     * Return the compiled template for the given key, compiling it on the first request.
+     *
+     * @param key      cache key, see {@link #key(CodegenConfig, String)}
+     * @param compiler function compiling the template on a cache miss
+     * @return the compiled template
+     */
+    public Template getTemplate(String key, Function<String, Template> compiler) {
+        Template template = templates.get(key);
+        if (template != null) {
+            hits.incrementAndGet();
+            return template;
+        }
+        misses.incrementAndGet();
+        return templates.computeIfAbsent(key, compiler);
+    }
+
+    /**
+     * Return the content of a template file, reading it on the first request.
+     *
+     * @param templateFile resolved template file path, see {@link TemplateIndex#getFullTemplateFile(String)}
+     * @param reader       function reading the template on a cache miss
+     * @return the template content
+     */
+    public String getSource(String templateFile, Function<String, String> reader) {
+        return sources.computeIfAbsent(templateFile, reader);
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public void clear() {
+        templates.clear();
+        sources.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "TemplateCache [templates=" + templates.size() + ", sources=" + sources.size()
+                + ", hits=" + hits.get() + ", misses=" + misses.get() + "]";
+    }
+
+    private static final class Loader implements Mustache.TemplateLoader {
+        private final TemplateCache cache;
+        private final TemplateIndex index;
+
+        Loader(TemplateCache cache, TemplateIndex index) {
+            this.cache = cache;
+            this.index = index;
+        }
+
+        @Override
+        public Reader getTemplate(String name) {
+            return new StringReader(cache.getSource(index.getFullTemplateFile(name + ".mustache"), index::readTemplate));
+        }
+    }
+}
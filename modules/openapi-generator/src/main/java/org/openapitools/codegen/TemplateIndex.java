@@ -0,0 +1,295 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Resolves template files to the layer providing them (see
+ * {@link AbstractGenerator#getFullTemplateFile(CodegenConfig, String)}), from the files of the template folder and
+ * of the embedded template folder listed once, instead of probing the file system and the classpath for each
+ * template, partial and supporting file. The resolutions are memoized.
+ * <p>
+ * When a folder cannot be listed (e.g. embedded templates served by a custom class loader), its templates are
+ * looked up one by one as before, and the result memoized as well.
+ */
+public class TemplateIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateIndex.class);
+
+    /**
+     * The layers providing templates, in the order they are looked up.
+     */
+    public enum Layer {
+        TEMPLATE_DIR_LIBRARY, TEMPLATE_DIR, EMBEDDED_LIBRARY, EMBEDDED
+    }
+
+    private final String templateDir;
+    private final String embeddedTemplateDir;
+    private final String library;
+    private final ClassLoader classLoader;
+    // relative paths of the files and folders of the template folders, null if they could not be listed
+    private final Set<String> templateDirFiles;
+    private final Set<String> embeddedTemplateDirFiles;
+    private final ConcurrentMap<String, Layer> layers = new ConcurrentHashMap<>();
+
+    /**
+     * List the templates of the template folder and of the embedded template folder of a generator.
+     *
+     * @param config      Codegen config
+     * @param classLoader class loader of the embedded templates
+     */
+    public TemplateIndex(CodegenConfig config, ClassLoader classLoader) {
+        this.templateDir = config.templateDir();
+        this.embeddedTemplateDir = config.embeddedTemplateDir();
+        this.library = config.getLibrary();
+        this.classLoader = classLoader;
+        this.templateDirFiles = listTemplateDir(templateDir);
+        this.embeddedTemplateDirFiles = listEmbeddedTemplateDir(embeddedTemplateDir, classLoader);
+    }
+
+    /**
+     * @param config Codegen config
+     * @return true if this index lists the templates of the given generator settings
+     */
+    public boolean isIndexOf(CodegenConfig config) {
+        return Objects.equals(templateDir, config.templateDir())
+                && Objects.equals(embeddedTemplateDir, config.embeddedTemplateDir())
+                && Objects.equals(library, config.getLibrary());
+    }
+
+    /**
+     * Get the full path of a template file, from the first layer providing it.
+     *
+     * @param templateFile Template file
+     * @return String Full template file path
+     */
+    public String getFullTemplateFile(String templateFile) {
+        Layer layer = layers.computeIfAbsent(templateFile, this::resolve);
+        switch (layer) {
+            case TEMPLATE_DIR_LIBRARY:
+                return libraryFilePath(templateDir, templateFile);
+            case TEMPLATE_DIR:
+                return templateDir + File.separator + templateFile;
+            case EMBEDDED_LIBRARY:
+                return libraryFilePath(embeddedTemplateDir, templateFile);
+            default:
+                return embeddedTemplateDir + File.separator + templateFile;
+        }
+    }
+
+    /**
+     * Read a template file resolved by this index, from the class path of the embedded templates or else from the
+     * file system, the same way as {@link AbstractGenerator#readTemplate(String)}.
+     *
+     * @param fullTemplateFile full template file path, see {@link #getFullTemplateFile(String)}
+     * @return the content of the template
+     */
+    public String readTemplate(String fullTemplateFile) {
+        try (InputStream in = openTemplate(fullTemplateFile)) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage());
+            throw new RuntimeException("can't load template " + fullTemplateFile, e);
+        }
+    }
+
+    private InputStream openTemplate(String fullTemplateFile) throws IOException {
+        InputStream in = classLoader.getResourceAsStream(cpPath(fullTemplateFile));
+        return in != null ? in : new FileInputStream(new File(fullTemplateFile));
+    }
+
+    private Layer resolve(String templateFile) {
+        if (StringUtils.isNotEmpty(library) && templateDirContains(libraryFilePath(null, templateFile), libraryFilePath(templateDir, templateFile))) {
+            return Layer.TEMPLATE_DIR_LIBRARY;
+        }
+        if (templateDirContains(templateFile, templateDir + File.separator + templateFile)) {
+            return Layer.TEMPLATE_DIR;
+        }
+        if (StringUtils.isNotEmpty(library) && embeddedTemplateDirContains(libraryFilePath(null, templateFile), libraryFilePath(embeddedTemplateDir, templateFile))) {
+            return Layer.EMBEDDED_LIBRARY;
+        }
+        return Layer.EMBEDDED;
+    }
+
+    private boolean templateDirContains(String relativePath, String path) {
+        String key = key(relativePath);
+        if (templateDirFiles == null || key == null) {
+            return new File(path).exists();
+        }
+        return templateDirFiles.contains(key);
+    }
+
+    private boolean embeddedTemplateDirContains(String relativePath, String path) {
+        String key = key(relativePath);
+        if (embeddedTemplateDirFiles == null || key == null) {
+            return classLoader.getResource(cpPath(path)) != null;
+        }
+        return embeddedTemplateDirFiles.contains(key);
+    }
+
+    private String libraryFilePath(String dir, String templateFile) {
+        String path = "libraries" + File.separator + library + File.separator + templateFile;
+        return dir == null ? path : dir + File.separator + path;
+    }
+
+    /**
+     * Log which layer each template resolved so far came from.
+     */
+    public void logResolutions() {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+        LOGGER.debug("Template index of {} (library: {}, embedded: {}): {} templates resolved", templateDir, library,
+                embeddedTemplateDir, layers.size());
+        for (Map.Entry<String, Layer> entry : new TreeMap<>(layers).entrySet()) {
+            LOGGER.debug("  {} <- {} ({})", entry.getKey(), getFullTemplateFile(entry.getKey()), entry.getValue());
+        }
+    }
+
+    /**
+     * @return the layer of each template resolved so far
+     */
+    public Map<String, Layer> getResolutions() {
+        return new TreeMap<>(layers);
+    }
+
+    /**
+     * Normalize a relative path to the form of the listed paths.
+     *
+     * @return the normalized path, or null if it leaves its folder and cannot be looked up in the listing
+     */
+    private static String key(String relativePath) {
+        Path path;
+        try {
+            path = Paths.get(relativePath).normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        if (path.isAbsolute() || path.startsWith("..")) {
+            return null;
+        }
+        return path.toString().replace(File.separatorChar, '/');
+    }
+
+    private static String cpPath(String path) {
+        return "/".equals(File.separator) ? path : path.replace(File.separator, "/");
+    }
+
+    private static Set<String> listTemplateDir(String templateDir) {
+        if (StringUtils.isEmpty(templateDir)) {
+            return null;
+        }
+        Path root = Paths.get(templateDir);
+        if (!Files.isDirectory(root)) {
+            return new HashSet<>();
+        }
+        try {
+            return list(root);
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.debug("Could not list the templates of {}: {}", templateDir, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Set<String> listEmbeddedTemplateDir(String embeddedTemplateDir, ClassLoader classLoader) {
+        if (StringUtils.isEmpty(embeddedTemplateDir)) {
+            return null;
+        }
+        String prefix = StringUtils.stripEnd(cpPath(embeddedTemplateDir), "/");
+        Set<String> files = new HashSet<>();
+        boolean found = false;
+        try {
+            // templates of the same folder may come from several jars
+            Enumeration<URL> urls = classLoader.getResources(prefix);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                found = true;
+                if ("file".equals(url.getProtocol())) {
+                    files.addAll(list(Paths.get(url.toURI())));
+                } else if ("jar".equals(url.getProtocol())) {
+                    URLConnection connection = url.openConnection();
+                    // the jar file is shared with the class loader, it must not be closed
+                    connection.setUseCaches(true);
+                    JarFile jar = ((JarURLConnection) connection).getJarFile();
+                    Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        String name = entries.nextElement().getName();
+                        if (name.startsWith(prefix + "/") && name.length() > prefix.length() + 1) {
+                            files.add(StringUtils.stripEnd(name.substring(prefix.length() + 1), "/"));
+                        }
+                    }
+                } else {
+                    LOGGER.debug("Could not list the embedded templates of {} from {}", embeddedTemplateDir, url);
+                    return null;
+                }
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            LOGGER.debug("Could not list the embedded templates of {}: {}", embeddedTemplateDir, e.getMessage());
+            return null;
+        }
+        if (!found) {
+            // the folder has no entry of its own, e.g. in a jar built without folder entries
+            return null;
+        }
+        // a jar may hold files without entries for their folders
+        for (String file : new HashSet<>(files)) {
+            for (int i = file.indexOf('/'); i > 0; i = file.indexOf('/', i + 1)) {
+                files.add(file.substring(0, i));
+            }
+        }
+        return files;
+    }
+
+    private static Set<String> list(Path root) throws IOException {
+        Set<String> files = new HashSet<>();
+        try (Stream<Path> paths = Files.walk(root, FileVisitOption.FOLLOW_LINKS)) {
+            paths.filter(path -> !path.equals(root))
+                    .forEach(path -> files.add(root.relativize(path).toString().replace(File.separatorChar, '/')));
+        }
+        return files;
+    }
+}
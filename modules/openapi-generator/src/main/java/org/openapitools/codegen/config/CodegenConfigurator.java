@@ -19,8 +19,13 @@ package org.openapitools.codegen.config;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import io.swagger.v3.parser.core.models.ParseOptions;
@@ -73,6 +78,9 @@ public class CodegenConfigurator implements Serializable {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(CodegenConfigurator.class);
 
+    // properties of config files holding paths
+    private static final String[] PATH_PROPERTIES = {"inputSpec", "outputDir", "templateDir", "ignoreFileOverride"};
+
     private static Map<String,String> nameMigrationMap = new HashMap<>();
     static {
         nameMigrationMap.put("akka-scala", new ScalaAkkaClientCodegen().getName());
@@ -98,6 +106,14 @@ public class CodegenConfigurator implements Serializable {
     private boolean logToStderr;
     private boolean validateSpec;
     private boolean enablePostProcessFile;
+    private int parallelism = 1;
+    private boolean parallelOperations;
+    private boolean incremental;
+    private boolean writeIfChanged;
+    private boolean lowMemory;
+    private boolean postProcessFileBatch;
+    private transient SpecCache specCache;
+    private Boolean generateAliasAsModel;
     private String templateDir;
     private String auth;
     private String apiPackage;
@@ -221,6 +237,122 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads rendering model and api files. Defaults to 1, i.e. files are rendered
+     * one after the other on the generating thread. The generated files are the same for any value.
+     *
+     * @param parallelism The number of rendering threads.
+     * @return The fluent instance of {@link CodegenConfigurator}
+     */
+    public CodegenConfigurator setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public boolean isParallelOperations() {
+        return parallelOperations;
+    }
+
+    /**
+     * Sets whether to convert the operations of the spec concurrently, on as many threads as set with
+     * {@link #setParallelism(int)} (or one per processor). The generated files are the same as when converting
+     * operations one by one. Generators which do not support it convert operations one by one.
+     *
+     * @param parallelOperations true to convert operations concurrently
+     * @return The fluent instance of {@link CodegenConfigurator}
+     */
+    public CodegenConfigurator setParallelOperations(boolean parallelOperations) {
+        this.parallelOperations = parallelOperations;
+        return this;
+    }
+
+    public boolean isLowMemory() {
+        return lowMemory;
+    }
+
+    /**
+     * Sets whether to reduce the models to their summary (names, imports and flags) once their files are generated,
+     * to lower the memory used by large specs. Generators whose supporting files list the properties of the models
+     * keep them.
+     *
+     * @param lowMemory true to reduce the models to their summary
+     * @return The fluent instance of {@link CodegenConfigurator}
+     */
+    public CodegenConfigurator setLowMemory(boolean lowMemory) {
+        this.lowMemory = lowMemory;
+        return this;
+    }
+
+    public boolean isPostProcessFileBatch() {
+        return postProcessFileBatch;
+    }
+
+    /**
+     * Sets whether to post-process files in batches, while the generation goes on, when the post-processing is
+     * enabled. The post-processing command set with the environment variable must then accept several files.
+     *
+     * @param postProcessFileBatch true to post-process files in batches
+     * @return The fluent instance of {@link CodegenConfigurator}
+     */
+    public CodegenConfigurator setPostProcessFileBatch(boolean postProcessFileBatch) {
+        this.postProcessFileBatch = postProcessFileBatch;
+        return this;
+    }
+
+    @JsonIgnore
+    public SpecCache getSpecCache() {
+        return specCache;
+    }
+
+    /**
+     * Sets the cache of the parsed specs, to parse the input spec once for several generations.
+     *
+     * @param specCache the cache of the parsed specs, or null to parse the input spec on each generation
+     * @return The fluent instance of {@link CodegenConfigurator}
+     */
+    @JsonIgnore
+    public CodegenConfigurator setSpecCache(SpecCache specCache) {
+        this.specCache = specCache;
+        return this;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Sets whether to regenerate incrementally: files whose template data and templates did not change since the
+     * previous generation in the same output directory are neither rendered nor written, and files which are no
+     * longer generated are deleted. Relies on the manifest stored in the {@code .openapi-generator} folder.
+     *
+     * @param incremental true to regenerate incrementally
+     * @return The fluent instance of {@link CodegenConfigurator}
+     */
+    public CodegenConfigurator setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    public boolean isWriteIfChanged() {
+        return writeIfChanged;
+    }
+
+    /**
+     * Sets whether to compare the generated contents with the existing files, and only write the files which
+     * changed, so that their modification time is kept for incremental builds of the generated code.
+     *
+     * @param writeIfChanged true to leave unchanged files untouched
+     * @return The fluent instance of {@link CodegenConfigurator}
+     */
+    public CodegenConfigurator setWriteIfChanged(boolean writeIfChanged) {
+        this.writeIfChanged = writeIfChanged;
+        return this;
+    }
+
     public boolean getLogToStderr() {
         return logToStderr;
     }
@@ -231,11 +363,11 @@ public class CodegenConfigurator implements Serializable {
     }
 
     public boolean isGenerateAliasAsModel() {
-        return ModelUtils.isGenerateAliasAsModel();
+        return generateAliasAsModel != null ? generateAliasAsModel : ModelUtils.isGenerateAliasAsModel();
     }
 
     public CodegenConfigurator setGenerateAliasAsModel(boolean generateAliasAsModel) {
-        ModelUtils.setGenerateAliasAsModel(generateAliasAsModel);
+        this.generateAliasAsModel = generateAliasAsModel;
         return this;
     }
 
@@ -522,9 +654,42 @@ public class CodegenConfigurator implements Serializable {
         Validate.notEmpty(generatorName, "language/generatorName must be specified");
         Validate.notEmpty(inputSpec, "input spec must be specified");
 
-        setVerboseFlags();
-        setSystemProperties();
+        // the settings of this run are kept in their own context rather than in the (thread) global properties;
+        // bind it while the generator is instantiated, since generators may read properties in their constructor
+        GenerationContext context = GenerationContext.fromGlobals();
+        GenerationContext previousContext = context.bind();
+        try {
+            setVerboseFlags();
+            setSystemProperties();
+            if (parallelism > 1) {
+                GeneratorProperties.setProperty(CodegenConstants.PARALLELISM, String.valueOf(parallelism));
+            }
+            if (parallelOperations) {
+                GeneratorProperties.setProperty(CodegenConstants.PARALLEL_OPERATIONS, "true");
+            }
+            if (lowMemory) {
+                GeneratorProperties.setProperty(CodegenConstants.LOW_MEMORY, "true");
+            }
+            if (postProcessFileBatch) {
+                GeneratorProperties.setProperty(CodegenConstants.POST_PROCESS_FILE_BATCH, "true");
+            }
+            if (incremental) {
+                GeneratorProperties.setProperty(CodegenConstants.INCREMENTAL, "true");
+            }
+            if (writeIfChanged) {
+                GeneratorProperties.setProperty(CodegenConstants.WRITE_IF_CHANGED, "true");
+            }
+            if (generateAliasAsModel != null) {
+                ModelUtils.setGenerateAliasAsModel(generateAliasAsModel);
+            }
+
+            return toClientOptInput(context);
+        } finally {
+            GenerationContext.restore(previousContext);
+        }
+    }
 
+    private ClientOptInput toClientOptInput(GenerationContext context) {
         CodegenConfig config = CodegenConfigLoader.forName(generatorName);
 
         config.setInputSpec(inputSpec);
@@ -563,12 +728,15 @@ public class CodegenConfigurator implements Serializable {
         config.additionalProperties().putAll(additionalProperties);
 
         ClientOptInput input = new ClientOptInput()
-                .config(config);
+                .config(config)
+                .generationContext(context);
 
         final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
         ParseOptions options = new ParseOptions();
         options.setResolve(true);
-        SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        SwaggerParseResult result = specCache != null
+                ? specCache.read(inputSpec, authorizationValues, options)
+                : new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
 
         Set<String> validationMessages = new HashSet<>(result.getMessages());
         OpenAPI specification = result.getOpenAPI();
@@ -680,10 +848,37 @@ public class CodegenConfigurator implements Serializable {
     }
 
     public static CodegenConfigurator fromFile(String configFile) {
+        return fromFile(configFile, null);
+    }
+
+    /**
+     * Read a config file, its relative paths (spec, output and template folders, ignore file) being resolved
+     * against the given folder instead of the working directory of the JVM.
+     *
+     * @param configFile    the config file
+     * @param baseDirectory the folder relative paths are resolved against, or null for the working directory
+     * @return the configurator, or null if there is no config file or it cannot be read
+     */
+    public static CodegenConfigurator fromFile(String configFile, File baseDirectory) {
 
         if (isNotEmpty(configFile)) {
             try {
-                return Json.mapper().readValue(new File(configFile), CodegenConfigurator.class);
+                ObjectMapper mapper = configFile.endsWith(".yaml") || configFile.endsWith(".yml") ? Yaml.mapper() : Json.mapper();
+                JsonNode node = mapper.readTree(new File(configFile));
+                if (baseDirectory != null && node instanceof ObjectNode) {
+                    if (!node.has("outputDir")) {
+                        // the default output folder is relative as well
+                        ((ObjectNode) node).put("outputDir", ".");
+                    }
+                    for (String name : PATH_PROPERTIES) {
+                        JsonNode path = node.get(name);
+                        if (path != null && path.isTextual() && !path.asText().matches("^http(s)?://.*")
+                                && !new File(path.asText()).isAbsolute()) {
+                            ((ObjectNode) node).put(name, baseDirectory.toPath().resolve(path.asText()).normalize().toString());
+                        }
+                    }
+                }
+                return mapper.treeToValue(node, CodegenConfigurator.class);
             } catch (IOException e) {
                 LOGGER.error("Unable to deserialize config file: " + configFile, e);
             }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import org.openapitools.codegen.utils.ModelUtils;
+
+import java.util.Properties;
+
+/**
+ * Settings of a single generator run: the generator properties (otherwise read from {@link GeneratorProperties})
+ * and the options which used to be held in static fields, such as {@link ModelUtils#isGenerateAliasAsModel()}.
+ * <p>
+ * {@link org.openapitools.codegen.DefaultGenerator} binds the context of the run to the generating thread (and to
+ * the threads rendering files for it), so that the static accessors of {@link GeneratorProperties} and
+ * {@link ModelUtils} read and write the settings of the current run. Several generations can then run concurrently
+ * in one JVM without sharing their settings.
+ */
+public class GenerationContext {
+
+    private static final ThreadLocal<GenerationContext> CURRENT = new ThreadLocal<>();
+
+    private final Properties properties;
+    private volatile boolean generateAliasAsModel;
+
+    public GenerationContext() {
+        this(new Properties(), false);
+    }
+
+    private GenerationContext(Properties properties, boolean generateAliasAsModel) {
+        this.properties = properties;
+        this.generateAliasAsModel = generateAliasAsModel;
+    }
+
+    /**
+     * Create a context initialized from the global settings: the generator properties of the calling thread
+     * (system properties and values set through {@link GeneratorProperties}) and the static defaults of
+     * {@link ModelUtils}.
+     *
+     * @return a new context
+     */
+    public static GenerationContext fromGlobals() {
+        GenerationContext current = CURRENT.get();
+        if (current != null) {
+            return current.copy();
+        }
+        return new GenerationContext(GeneratorProperties.snapshot(), ModelUtils.isGenerateAliasAsModel());
+    }
+
+    /**
+     * @return the context bound to the calling thread, or null outside of a generation
+     */
+    public static GenerationContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind this context to the calling thread.
+     *
+     * @return the context previously bound to the thread (possibly null), to pass to {@link #restore(GenerationContext)}
+     */
+    public GenerationContext bind() {
+        GenerationContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Restore the context which was bound to the calling thread before {@link #bind()}.
+     *
+     * @param previous the value returned by {@link #bind()}
+     */
+    public static void restore(GenerationContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public GenerationContext copy() {
+        return new GenerationContext((Properties) properties.clone(), generateAliasAsModel);
+    }
+
+    public String getProperty(String key) {
+        return properties.getProperty(key);
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    public GenerationContext setProperty(String key, String value) {
+        properties.setProperty(key, value);
+        return this;
+    }
+
+    public GenerationContext clearProperty(String key) {
+        properties.remove(key);
+        return this;
+    }
+
+    public boolean isGenerateAliasAsModel() {
+        return generateAliasAsModel;
+    }
+
+    public GenerationContext setGenerateAliasAsModel(boolean generateAliasAsModel) {
+        this.generateAliasAsModel = generateAliasAsModel;
+        return this;
+    }
+}
@@ -22,6 +22,8 @@ import java.util.Properties;
  * GeneratorProperties encapsulates SystemProperties, since the codegen mechanism heavily relies on a stable,
  * non-changing System Property Basis. Using plain System.(get|set|clear)Property raises Race-Conditions in combination
  * with Code, that uses System.setProperties (e.g. maven-surefire-plugin).
+ * <p>
+ * During a generation, the properties are read from and written to the {@link GenerationContext} of the run.
  * 
  * @author gndrm
  * @since 2018
@@ -36,22 +38,44 @@ public class GeneratorProperties {
     };
 
     public static String getProperty(String key, String defaultValue) {
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            return context.getProperty(key, defaultValue);
+        }
         return properties.get().getProperty(key, defaultValue);
     }
 
     public static String getProperty(String key) {
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            return context.getProperty(key);
+        }
         return properties.get().getProperty(key);
     }
 
     public static void setProperty(String key, String value) {
-        properties.get().setProperty(key, value);
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            context.setProperty(key, value);
+        } else {
+            properties.get().setProperty(key, value);
+        }
     }
 
     public static void clearProperty(String key) {
-        properties.get().remove(key);
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            context.clearProperty(key);
+        } else {
+            properties.get().remove(key);
+        }
     }
 
     public static void reset() {
         properties.remove();
     }
+
+    static Properties snapshot() {
+        return (Properties) properties.get().clone();
+    }
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.ClasspathHelper;
+import io.swagger.v3.parser.util.DeserializationUtils;
+import io.swagger.v3.parser.util.InlineModelResolver;
+import io.swagger.v3.parser.util.RemoteUrl;
+import io.swagger.v3.parser.util.ResolverFully;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses each spec once for several generations (see {@link CodegenConfigurator#setSpecCache(SpecCache)}), e.g. to
+ * generate several languages from the same spec, or to regenerate in a long running process (daemon, online service).
+ * Specs are identified by a hash of their content and of the content of every external file they reference, so a
+ * changed spec is parsed again.
+ * <p>
+ * The generators modify the spec (inline models are flattened, examples are set on the schemas...), so each
+ * generation gets its own copy of the parsed spec.
+ */
+public class SpecCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecCache.class);
+
+    // a URL scheme, but not a drive letter
+    private static final Pattern SCHEME = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]+:.*");
+    // the location of a $ref in JSON or YAML, without its fragment
+    private static final Pattern REF = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?([^\"'\\s,}#]*)");
+
+    // parsed specs kept by default, a parsed spec taking as much memory as its generation
+    private static final int DEFAULT_MAXIMUM_SIZE = 16;
+
+    private final Map<String, FutureTask<SwaggerParseResult>> results;
+
+    /**
+     * Creates a cache keeping the 16 most recently used specs.
+     */
+    public SpecCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a cache keeping the most recently used specs.
+     *
+     * @param maximumSize maximum number of parsed specs kept
+     */
+    public SpecCache(int maximumSize) {
+        this.results = new LinkedHashMap<String, FutureTask<SwaggerParseResult>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FutureTask<SwaggerParseResult>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Parse a spec, or copy the result of a previous parsing of the same content.
+     *
+     * @param location           location of the spec, as URL or file
+     * @param authorizationValues authorization used to read the spec
+     * @param options            parse options
+     * @return a parse result owned by the caller
+     */
+    public SwaggerParseResult read(String location, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        byte[] content;
+        try {
+            content = read(location, authorizationValues);
+        } catch (Exception e) {
+            // the parser reports the spec which can't be read
+            LOGGER.debug("Not caching {}: {}", location, e.getMessage());
+            return new OpenAPIParser().readLocation(location, authorizationValues, options);
+        }
+        // the spec is parsed from the content read for its key, not read again
+        return read(key(location, content, authorizationValues, options), location,
+                () -> parse(location, new String(content, StandardCharsets.UTF_8), authorizationValues, options));
+    }
+
+    /**
+     * Parse the content of a spec, or copy the result of a previous parsing of the same content.
+     *
+     * @param contents           content of the spec
+     * @param authorizationValues authorization used to read the referenced files
+     * @param options            parse options
+     * @return a parse result owned by the caller
+     */
+    public SwaggerParseResult readContents(String contents, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        return read(key(null, contents.getBytes(StandardCharsets.UTF_8), authorizationValues, options), "the spec",
+                () -> new OpenAPIParser().readContents(contents, authorizationValues, options));
+    }
+
+    private SwaggerParseResult read(String key, String spec, Supplier<SwaggerParseResult> parser) {
+        if (key == null) {
+            // the parser reports the files which can't be read
+            return parser.get();
+        }
+        FutureTask<SwaggerParseResult> task = new FutureTask<>(parser::get);
+        FutureTask<SwaggerParseResult> previous;
+        synchronized (results) {
+            previous = results.get(key);
+            if (previous == null) {
+                results.put(key, task);
+            }
+        }
+        if (previous == null) {
+            // parsed by the first caller, concurrent callers of the same spec wait for it
+            task.run();
+        } else {
+            LOGGER.debug("Reusing the parsed {}", spec);
+            task = previous;
+        }
+        try {
+            return copy(task.get());
+        } catch (ExecutionException e) {
+            synchronized (results) {
+                if (results.get(key) == task) {
+                    results.remove(key);
+                }
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while parsing " + spec, e);
+        }
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    /**
+     * Parse a spec read from a location, as {@link OpenAPIParser#readLocation(String, List, ParseOptions)} does
+     * without reading it again: its relative references are resolved against the location.
+     */
+    private static SwaggerParseResult parse(String location, String content, List<AuthorizationValue> authorizationValues,
+                                            ParseOptions options) {
+        SwaggerParseResult result;
+        try {
+            result = new OpenAPIV3Parser().readWithInfo(location, DeserializationUtils.deserializeIntoTree(content, location));
+        } catch (Exception e) {
+            result = null;
+        }
+        OpenAPI openAPI = result != null ? result.getOpenAPI() : null;
+        if (openAPI == null || openAPI.getOpenapi() == null || !openAPI.getOpenapi().startsWith("3.0")) {
+            // e.g. a Swagger 2 spec, converted by a parser extension which reads the location itself
+            return new OpenAPIParser().readLocation(location, authorizationValues, options);
+        }
+        if (options != null) {
+            try {
+                OpenAPIResolver resolver = new OpenAPIResolver(openAPI,
+                        authorizationValues != null ? authorizationValues : new ArrayList<>(), location);
+                if (options.isResolve()) {
+                    result.setOpenAPI(resolver.resolve());
+                }
+                if (options.isResolveFully()) {
+                    result.setOpenAPI(resolver.resolve());
+                    new ResolverFully(options.isResolveCombinators()).resolveFully(result.getOpenAPI());
+                } else if (options.isFlatten()) {
+                    new InlineModelResolver().flatten(result.getOpenAPI());
+                }
+            } catch (Exception e) {
+                // e.g. a missing referenced file, reported like the parser does
+                LOGGER.warn("Exception while reading:", e);
+                result.setMessages(Collections.singletonList(e.getMessage()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the hash of the parse options, of the spec and of the files it references, or null if a file can't
+     * be read
+     */
+    private static String key(String location, byte[] content, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        if (options != null) {
+            update(digest, options.isResolve() + "," + options.isResolveFully() + "," + options.isFlatten());
+        }
+        try {
+            Set<String> visited = new HashSet<>();
+            if (location != null) {
+                visited.add(location);
+            }
+            hash(digest, location, content, authorizationValues, visited);
+        } catch (Exception e) {
+            LOGGER.debug("Not caching {}: {}", location != null ? location : "the spec", e.getMessage());
+            return null;
+        }
+        return String.format(Locale.ROOT, "%064x", new BigInteger(1, digest.digest()));
+    }
+
+    private static void hash(MessageDigest digest, String location, byte[] content, List<AuthorizationValue> authorizationValues,
+                             Set<String> visited) throws Exception {
+        update(digest, (location != null ? location : "") + "\n" + content.length + "\n");
+        digest.update(content);
+        for (String ref : externalRefs(content)) {
+            String refLocation = resolve(location, ref);
+            if (visited.add(refLocation)) {
+                byte[] refContent;
+                try {
+                    refContent = read(refLocation, authorizationValues);
+                } catch (Exception e) {
+                    // the parser reports the missing file, the spec is parsed again once the file exists
+                    update(digest, refLocation + "\nmissing\n");
+                    continue;
+                }
+                hash(digest, refLocation, refContent, authorizationValues, visited);
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the files referenced by the $ref of a document, without their fragment
+     */
+    private static Set<String> externalRefs(byte[] content) {
+        // a scan of the text is much cheaper than reading the YAML, a false match only being hashed as a missing file
+        Set<String> refs = new LinkedHashSet<>();
+        Matcher matcher = REF.matcher(new String(content, StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            if (!matcher.group(1).isEmpty()) {
+                refs.add(matcher.group(1));
+            }
+        }
+        return refs;
+    }
+
+    private static String resolve(String location, String ref) throws IOException {
+        if (SCHEME.matcher(ref).matches()) {
+            return ref;
+        }
+        if (location != null && SCHEME.matcher(location).matches()) {
+            return new URL(new URL(location), ref).toString();
+        }
+        Path base = location != null ? Paths.get(location).toAbsolutePath().getParent() : Paths.get("").toAbsolutePath();
+        return base.resolve(ref).normalize().toString();
+    }
+
+    private static byte[] read(String location, List<AuthorizationValue> authorizationValues) throws Exception {
+        String lowerCase = location.toLowerCase(Locale.ROOT);
+        if (lowerCase.startsWith("http:") || lowerCase.startsWith("https:")) {
+            return RemoteUrl.urlToString(location, authorizationValues).getBytes(StandardCharsets.UTF_8);
+        }
+        Path path = lowerCase.startsWith("file:") ? Paths.get(URI.create(location)) : Paths.get(location);
+        if (Files.isRegularFile(path)) {
+            return Files.readAllBytes(path);
+        }
+        String content = ClasspathHelper.loadFileFromClasspath(location);
+        if (content == null) {
+            throw new IOException("Cannot read " + location);
+        }
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deep copy a parse result.
+     *
+     * @param result parse result
+     * @return a copy sharing nothing that can be modified with the given result
+     */
+    static SwaggerParseResult copy(SwaggerParseResult result) {
+        SwaggerParseResult copy = new SwaggerParseResult();
+        copy.setMessages(result.getMessages() == null ? null : new ArrayList<>(result.getMessages()));
+        copy.setOpenAPI(SpecCopier.copy(result.getOpenAPI()));
+        return copy;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Deep copies parsed specs through the bean properties of the models. The copy keeps the classes of the models
+ * (e.g. the subclasses of {@link io.swagger.v3.oas.models.media.Schema} created by the parser), the number formats
+ * and the objects shared by several parts of the spec, which a round trip through JSON would not.
+ */
+class SpecCopier {
+    private static final ConcurrentMap<Class<?>, Model> MODELS = new ConcurrentHashMap<>();
+
+    // copies of the objects copied so far, so that shared objects stay shared
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T object) {
+        return (T) new SpecCopier().copyObject(object);
+    }
+
+    private Object copyObject(Object object) {
+        if (object == null || isImmutable(object)) {
+            return object;
+        }
+        Object copy = copies.get(object);
+        if (copy != null) {
+            return copy;
+        }
+        if (object instanceof JsonNode) {
+            copy = ((JsonNode) object).deepCopy();
+            copies.put(object, copy);
+            return copy;
+        }
+        if (object instanceof Date) {
+            copy = ((Date) object).clone();
+            copies.put(object, copy);
+            return copy;
+        }
+        if (object.getClass().isArray()) {
+            return copyArray(object);
+        }
+        if (object instanceof Map) {
+            return copyMap((Map<?, ?>) object);
+        }
+        if (object instanceof Collection) {
+            return copyCollection((Collection<?>) object);
+        }
+        if (isJdkClass(object.getClass())) {
+            throw new IllegalArgumentException("Cannot copy a " + object.getClass().getName());
+        }
+        Model model = model(object.getClass());
+        copy = model.newInstance();
+        copies.put(object, copy);
+        copyProperties(model, object, copy);
+        return copy;
+    }
+
+    private Object copyArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        copies.put(array, copy);
+        for (int i = 0; i < length; i++) {
+            Array.set(copy, i, copyObject(Array.get(array, i)));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyMap(Map<?, ?> map) {
+        Class<?> type = map.getClass();
+        Map<Object, Object> copy;
+        boolean unmodifiable = false;
+        if (!isJdkClass(type)) {
+            // e.g. Paths, ApiResponses, Content, which may also have properties of their own
+            copy = (Map<Object, Object>) model(type).newInstance();
+        } else if (map instanceof SortedMap) {
+            copy = new TreeMap<>(((SortedMap<Object, Object>) map).comparator());
+        } else if (type == HashMap.class) {
+            copy = new HashMap<>();
+        } else if (type == ConcurrentHashMap.class) {
+            copy = new ConcurrentHashMap<>();
+        } else if (map.isEmpty() && type.getName().startsWith("java.util.Collections$")) {
+            return map;
+        } else {
+            copy = new LinkedHashMap<>();
+            unmodifiable = type.getName().startsWith("java.util.Collections$Unmodifiable");
+        }
+        Object result = unmodifiable ? Collections.unmodifiableMap(copy) : copy;
+        copies.put(map, result);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            copy.put(copyObject(entry.getKey()), copyObject(entry.getValue()));
+        }
+        if (!isJdkClass(type)) {
+            copyProperties(model(type), map, copy);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyCollection(Collection<?> collection) {
+        Class<?> type = collection.getClass();
+        Collection<Object> copy;
+        boolean unmodifiable = false;
+        if (!isJdkClass(type)) {
+            copy = (Collection<Object>) model(type).newInstance();
+        } else if (collection instanceof SortedSet) {
+            copy = new TreeSet<>(((SortedSet<Object>) collection).comparator());
+        } else if (type == LinkedList.class) {
+            copy = new LinkedList<>();
+        } else if (type == HashSet.class) {
+            copy = new HashSet<>();
+        } else if (collection instanceof Set) {
+            copy = new LinkedHashSet<>();
+            unmodifiable = type.getName().startsWith("java.util.Collections$Unmodifiable");
+        } else if (collection.isEmpty() && type.getName().startsWith("java.util.Collections$")) {
+            return collection;
+        } else {
+            copy = new ArrayList<>(collection.size());
+            unmodifiable = type.getName().startsWith("java.util.Collections$Unmodifiable");
+        }
+        Object result = copy;
+        if (unmodifiable) {
+            result = copy instanceof Set ? Collections.unmodifiableSet((Set<Object>) copy) : Collections.unmodifiableList((List<Object>) copy);
+        }
+        copies.put(collection, result);
+        for (Object item : collection) {
+            copy.add(copyObject(item));
+        }
+        if (!isJdkClass(type)) {
+            copyProperties(model(type), collection, copy);
+        }
+        return result;
+    }
+
+    private void copyProperties(Model model, Object object, Object copy) {
+        for (Property property : model.properties) {
+            try {
+                Object value = property.read.invoke(object);
+                // null values are only set to replace the default of the new model (e.g. the format of an
+                // IntegerSchema), as some setters have side effects: Schema#setExample(null) marks the example as set
+                if (value != null || property.hasDefault) {
+                    property.write.invoke(copy, copyObject(value));
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot copy the property " + property.name + " of a " + object.getClass().getName(), e);
+            }
+        }
+    }
+
+    private static Model model(Class<?> type) {
+        return MODELS.computeIfAbsent(type, Model::new);
+    }
+
+    private static boolean isJdkClass(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("jdk.");
+    }
+
+    private static boolean isImmutable(Object object) {
+        return object instanceof String || object instanceof Boolean || object instanceof Character
+                || object instanceof Byte || object instanceof Short || object instanceof Integer || object instanceof Long
+                || object instanceof Float || object instanceof Double || object instanceof BigDecimal
+                || object instanceof BigInteger || object instanceof Enum || object instanceof UUID
+                || object instanceof Class || object.getClass().getName().startsWith("java.time.");
+    }
+
+    /**
+     * The constructor and the read/write properties of a model class.
+     */
+    private static final class Model {
+        private final Constructor<?> constructor;
+        private final List<Property> properties = new ArrayList<>();
+
+        Model(Class<?> type) {
+            try {
+                constructor = type.getDeclaredConstructor();
+                Object instance = newInstance();
+                for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                    if (descriptor.getReadMethod() != null && descriptor.getWriteMethod() != null) {
+                        properties.add(new Property(descriptor.getName(), descriptor.getReadMethod(), descriptor.getWriteMethod(),
+                                descriptor.getReadMethod().invoke(instance) != null));
+                    }
+                }
+            } catch (IntrospectionException | ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot copy a " + type.getName(), e);
+            }
+        }
+
+        Object newInstance() {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot copy a " + constructor.getDeclaringClass().getName(), e);
+            }
+        }
+    }
+
+    private static final class Property {
+        private final String name;
+        private final Method read;
+        private final Method write;
+        // whether a new model has a value, to be replaced by null values
+        private final boolean hasDefault;
+
+        Property(String name, Method read, Method write, boolean hasDefault) {
+            this.name = name;
+            this.read = read;
+            this.write = write;
+            this.hasDefault = hasDefault;
+        }
+    }
+}
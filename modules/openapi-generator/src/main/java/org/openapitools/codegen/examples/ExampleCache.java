@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.examples;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON examples of the models of a spec, shared by the {@link ExampleGenerator}s of all the operations of a
+ * generation, as the same models are often used by many operations.
+ * <p>
+ * An example can be reused as is: once a model is resolved to an example, the example is set on its schema and is
+ * returned by any later resolution, so only its serialization is saved here.
+ */
+public class ExampleCache {
+    private final Map<String, Schema> schemas;
+    private final OpenAPI openAPI;
+    private final ConcurrentMap<String, String> jsonExamples = new ConcurrentHashMap<>();
+
+    /**
+     * @param schemas the schemas of the models
+     * @param openAPI the spec
+     */
+    public ExampleCache(Map<String, Schema> schemas, OpenAPI openAPI) {
+        this.schemas = schemas;
+        this.openAPI = openAPI;
+    }
+
+    /**
+     * @param schemas the schemas of the models
+     * @param openAPI the spec
+     * @return true if this cache holds examples of the given schemas and spec
+     */
+    public boolean isCacheOf(Map<String, Schema> schemas, OpenAPI openAPI) {
+        return this.schemas == schemas && this.openAPI == openAPI;
+    }
+
+    /**
+     * @param modelName the name of the model
+     * @return the JSON example of the model, or null if it is not cached
+     */
+    public String getJsonExample(String modelName) {
+        return jsonExamples.get(modelName);
+    }
+
+    /**
+     * Cache the JSON example of a model, unless another thread cached it first.
+     *
+     * @param modelName the name of the model
+     * @param example   the JSON example
+     * @return the cached JSON example
+     */
+    public String putJsonExample(String modelName, String example) {
+        String previous = jsonExamples.putIfAbsent(modelName, example);
+        return previous != null ? previous : example;
+    }
+}
@@ -17,11 +17,11 @@
 
 package org.openapitools.codegen.examples;
 
-import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Schema;
 import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.serializer.SerializerUtils;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,10 +47,21 @@ public class ExampleGenerator {
     protected Map<String, Schema> examples;
     private OpenAPI openAPI;
     private Random random;
+    private ExampleCache exampleCache;
 
     public ExampleGenerator(Map<String, Schema> examples, OpenAPI openAPI) {
+        this(examples, openAPI, new ExampleCache(examples, openAPI));
+    }
+
+    /**
+     * @param examples     the schemas of the models
+     * @param openAPI      the spec
+     * @param exampleCache the JSON examples of the models, shared with the other example generators of the spec
+     */
+    public ExampleGenerator(Map<String, Schema> examples, OpenAPI openAPI, ExampleCache exampleCache) {
         this.examples = examples;
         this.openAPI = openAPI;
+        this.exampleCache = exampleCache;
         // use a fixed seed to make the "random" numbers reproducible.
         this.random = new Random("ExampleGenerator".hashCode());
     }
@@ -112,7 +123,7 @@ public class ExampleGenerator {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
                 if (property != null && (mediaType.startsWith(MIME_TYPE_JSON) || mediaType.contains("*/*"))) {
-                    String example = Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels));
+                    String example = SerializerUtils.toPrettyJsonString(resolvePropertyToExample("", mediaType, property, processedModels));
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -129,7 +140,7 @@ public class ExampleGenerator {
             for (Map.Entry<String, Object> entry : examples.entrySet()) {
                 final Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, entry.getKey());
-                kv.put(EXAMPLE, Json.pretty(entry.getValue()));
+                kv.put(EXAMPLE, SerializerUtils.toPrettyJsonString(entry.getValue()));
                 output.add(kv);
             }
         }
@@ -156,7 +167,13 @@ public class ExampleGenerator {
                 if (modelName != null && (mediaType.startsWith(MIME_TYPE_JSON) || mediaType.contains("*/*"))) {
                     final Schema schema = this.examples.get(modelName);
                     if (schema != null) {
-                        String example = Json.pretty(resolveModelToExample(modelName, mediaType, schema, processedModels));
+                        String example = exampleCache.getJsonExample(modelName);
+                        if (example == null) {
+                            example = SerializerUtils.toPrettyJsonString(resolveModelToExample(modelName, mediaType, schema, processedModels));
+                            if (example != null) {
+                                example = exampleCache.putJsonExample(modelName, example);
+                            }
+                        }
 
                         if (example != null) {
                             kv.put(EXAMPLE, example);
@@ -176,7 +193,7 @@ public class ExampleGenerator {
             for (Map.Entry<String, Object> entry : examples.entrySet()) {
                 final Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, entry.getKey());
-                kv.put(EXAMPLE, Json.pretty(entry.getValue()));
+                kv.put(EXAMPLE, SerializerUtils.toPrettyJsonString(entry.getValue()));
                 output.add(kv);
             }
         }
@@ -200,7 +217,7 @@ public class ExampleGenerator {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
                 if ((mediaType.startsWith(MIME_TYPE_JSON) || mediaType.contains("*/*"))) {
-                    kv.put(EXAMPLE, Json.pretty(example));
+                    kv.put(EXAMPLE, SerializerUtils.toPrettyJsonString(example));
                     output.add(kv);
                 } else if (mediaType.startsWith(MIME_TYPE_XML)) {
                     // TODO
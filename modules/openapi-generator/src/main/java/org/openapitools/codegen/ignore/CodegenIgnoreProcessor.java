@@ -19,12 +19,14 @@ package org.openapitools.codegen.ignore;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
+import org.openapitools.codegen.ignore.rules.CompiledRules;
 import org.openapitools.codegen.ignore.rules.DirectoryRule;
 import org.openapitools.codegen.ignore.rules.Rule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -39,9 +41,11 @@ public class CodegenIgnoreProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(CodegenIgnoreProcessor.class);
 
     private File ignoreFile = null;
+    private URI ignoreDirectory = null;
 
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
+    private CompiledRules compiledRules = null;
 
     /**
      * Loads the default ignore file (.openapi-generator-ignore) from the specified path.
@@ -83,6 +87,7 @@ public class CodegenIgnoreProcessor {
             try {
                 loadCodegenRules(targetIgnoreFile);
                 this.ignoreFile = targetIgnoreFile;
+                this.ignoreDirectory = targetIgnoreFile.getAbsoluteFile().getParentFile().toURI();
             } catch (IOException e) {
                 LOGGER.error(String.format(Locale.ROOT, "Could not process %s.", targetIgnoreFile.getName()), e.getMessage());
             }
@@ -130,6 +135,7 @@ public class CodegenIgnoreProcessor {
                 }
             }
         }
+        compiledRules = CompiledRules.compile(exclusionRules, inclusionRules);
     }
 
     /**
@@ -142,13 +148,17 @@ public class CodegenIgnoreProcessor {
     public boolean allowsFile(final File targetFile) {
         if(this.ignoreFile == null) return true;
 
-        File file = new File(this.ignoreFile.getParentFile().toURI().relativize(targetFile.toURI()).getPath());
+        File file = new File(this.ignoreDirectory.relativize(targetFile.toURI()).getPath());
         Boolean directoryExcluded = false;
         Boolean exclude = false;
         if(exclusionRules.size() == 0 && inclusionRules.size() == 0) {
             return true;
         }
 
+        if (compiledRules != null && compiledRules.supports(file.getPath())) {
+            return compiledRules.allowsFile(file.getPath());
+        }
+
         // NOTE: We *must* process all exclusion rules
         for (int i = 0; i < exclusionRules.size(); i++) {
             Rule current = exclusionRules.get(i);
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.ignore.rules;
+
+import java.nio.file.FileSystems;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The rules of an ignore file compiled to evaluate many paths, with the same results as evaluating the rules one by
+ * one (see {@link org.openapitools.codegen.ignore.CodegenIgnoreProcessor#allowsFile(java.io.File)}).
+ * <p>
+ * Patterns without wildcards are looked up in a set: file patterns by path, and directory patterns by each parent
+ * directory of the path. Other simple glob patterns are combined into a single regular expression, and the few
+ * patterns using other glob features keep their own matcher. Directory rules only depend on the directory of a path,
+ * so their result is cached per directory.
+ */
+public class CompiledRules {
+
+    // the combined expressions reproduce the glob syntax of the default file system on Unix-like systems; Windows
+    // uses other separators and macOS matches canonically equivalent characters, so rules are evaluated one by one there
+    private static final boolean SUPPORTED_FILE_SYSTEM = "/".equals(FileSystems.getDefault().getSeparator())
+            && !System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("mac");
+
+    private final RuleGroup excludedFiles = new RuleGroup(false);
+    private final RuleGroup excludedDirectories = new RuleGroup(true);
+    private final RuleGroup includedFiles = new RuleGroup(false);
+    private final RuleGroup includedDirectories = new RuleGroup(true);
+
+    private final Map<String, DirectoryMatch> directories = new ConcurrentHashMap<>();
+
+    private CompiledRules() {
+    }
+
+    /**
+     * Compile the rules of an ignore file.
+     *
+     * @param exclusionRules rules which exclude files
+     * @param inclusionRules negated rules, which include files excluded by the exclusion rules
+     * @return the compiled rules, or null if the rules must be evaluated one by one on this system
+     */
+    public static CompiledRules compile(List<Rule> exclusionRules, List<Rule> inclusionRules) {
+        if (!SUPPORTED_FILE_SYSTEM) {
+            return null;
+        }
+        CompiledRules compiled = new CompiledRules();
+        if (!compiled.add(exclusionRules, compiled.excludedFiles, compiled.excludedDirectories)
+                || !compiled.add(inclusionRules, compiled.includedFiles, compiled.includedDirectories)) {
+            return null;
+        }
+        compiled.excludedFiles.compile();
+        compiled.excludedDirectories.compile();
+        compiled.includedFiles.compile();
+        compiled.includedDirectories.compile();
+        return compiled;
+    }
+
+    private boolean add(List<Rule> rules, RuleGroup files, RuleGroup directories) {
+        for (Rule rule : rules) {
+            Class<?> type = rule.getClass();
+            if (type == DirectoryRule.class) {
+                directories.add(rule);
+            } else if (type == FileRule.class || type == RootedFileRule.class) {
+                files.add(rule);
+            } else if (type != InvalidRule.class) {
+                // e.g. rules which terminate the evaluation
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param relativePath path relative to the ignore file, as evaluated by the rules
+     * @return true if {@link #allowsFile(String)} can evaluate the path, otherwise the rules must be evaluated one by one
+     */
+    public boolean supports(String relativePath) {
+        if (relativePath.endsWith("/")) {
+            return false;
+        }
+        for (int i = 0; i < relativePath.length(); i++) {
+            switch (relativePath.charAt(i)) {
+                // invalid in paths, or not matched by '.' in the expressions of the directory rules
+                case '\0':
+                case '\n':
+                case '\r':
+                case '\u0085':
+                case '\u2028':
+                case '\u2029':
+                    return false;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param relativePath path relative to the ignore file, see {@link #supports(String)}
+     * @return {@code false} if the path is excluded by the rules, otherwise {@code true}
+     */
+    public boolean allowsFile(String relativePath) {
+        // the directory rules match the parent directories of the path, so the first path evaluated in a directory
+        // gives the result for all the paths of the directory
+        String directory = relativePath.substring(0, relativePath.lastIndexOf('/') + 1);
+        DirectoryMatch directoryMatch = directories.computeIfAbsent(directory, d -> new DirectoryMatch(
+                excludedDirectories.matches(relativePath), includedDirectories.matches(relativePath)));
+
+        if (!directoryMatch.excluded && !excludedFiles.matches(relativePath)) {
+            return true;
+        }
+        // a file excluded by a parent directory can only be included again by a directory rule
+        if (directoryMatch.excluded) {
+            return directoryMatch.included;
+        }
+        return directoryMatch.included || includedFiles.matches(relativePath);
+    }
+
+    /**
+     * Translate a glob to a regular expression matching the same paths as the glob path matcher of the default
+     * file system (Unix).
+     *
+     * @return the regular expression, or null if the glob uses character classes, groups or escapes
+     */
+    static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '\\':
+                case '[':
+                case '{':
+                    return null;
+                case '*':
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        // crosses directory boundaries
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                default:
+                    if (c < 0x80 && !Character.isLetterOrDigit(c)) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+            }
+        }
+        return regex.toString();
+    }
+
+    private static boolean isLiteral(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            switch (glob.charAt(i)) {
+                case '\\':
+                case '[':
+                case '{':
+                case '*':
+                case '?':
+                    return false;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rules of one kind (file or directory rules), compiled to a set of literal patterns, a combined regular
+     * expression and the remaining rules.
+     */
+    private static class RuleGroup {
+        private final boolean directories;
+        private final Set<String> literals = new HashSet<>();
+        private final List<String> expressions = new ArrayList<>();
+        private final List<Rule> others = new ArrayList<>();
+        private Pattern pattern;
+
+        RuleGroup(boolean directories) {
+            this.directories = directories;
+        }
+
+        void add(Rule rule) {
+            if (rule instanceof RootedFileRule) {
+                others.add(rule);
+                return;
+            }
+            String glob = rule.getPattern();
+            if (directories) {
+                // same globs as DirectoryRule: the directory itself, and its contents
+                String directory = glob.endsWith("/") ? glob : glob + "/";
+                String directoryRegex = toRegex(directory);
+                if (directoryRegex == null) {
+                    others.add(rule);
+                } else if (isLiteral(directory)) {
+                    literals.add(directory);
+                } else {
+                    expressions.add(directoryRegex);
+                    expressions.add(toRegex(directory + "**"));
+                }
+            } else {
+                String regex = toRegex(glob);
+                if (regex == null) {
+                    others.add(rule);
+                } else if (isLiteral(glob)) {
+                    literals.add(glob);
+                } else {
+                    expressions.add(regex);
+                }
+            }
+        }
+
+        void compile() {
+            if (!expressions.isEmpty()) {
+                pattern = Pattern.compile("(?:" + String.join(")|(?:", expressions) + ")");
+            }
+        }
+
+        boolean matches(String relativePath) {
+            if (!literals.isEmpty()) {
+                if (directories) {
+                    // the path is below a directory, as paths never end with a separator
+                    for (int i = relativePath.indexOf('/'); i >= 0; i = relativePath.indexOf('/', i + 1)) {
+                        if (literals.contains(relativePath.substring(0, i + 1))) {
+                            return true;
+                        }
+                    }
+                } else if (literals.contains(relativePath)) {
+                    return true;
+                }
+            }
+            if (pattern != null && pattern.matcher(relativePath).matches()) {
+                return true;
+            }
+            for (Rule rule : others) {
+                if (Boolean.TRUE.equals(rule.matches(relativePath))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class DirectoryMatch {
+        private final boolean excluded;
+        private final boolean included;
+
+        DirectoryMatch(boolean excluded, boolean included) {
+            this.excluded = excluded;
+            this.included = included;
+        }
+    }
+}
@@ -679,4 +679,10 @@ public abstract class AbstractApexCodegen extends DefaultCodegen implements Code
         return toModelName(name) + "Test";
     }
 
+    @Override
+    public boolean isParallelOperationConversionSupported() {
+        // the examples of the operations are read while converting them, and are only generated afterwards when
+        // operations are converted concurrently
+        return false;
+    }
 }
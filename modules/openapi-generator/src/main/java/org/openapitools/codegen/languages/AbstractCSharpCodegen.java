@@ -592,15 +592,9 @@ public abstract class AbstractCSharpCodegen extends DefaultCodegen implements Co
                     }
 
                     if (!isSupportNullable()) {
+                        ModelIndex modelIndex = getModelIndex(allModels);
                         for (CodegenParameter parameter : operation.allParams) {
-                            CodegenModel model = null;
-                            for (Object modelHashMap : allModels) {
-                                CodegenModel codegenModel = ((HashMap<String, CodegenModel>) modelHashMap).get("model");
-                                if (codegenModel.getClassname().equals(parameter.dataType)) {
-                                    model = codegenModel;
-                                    break;
-                                }
-                            }
+                            CodegenModel model = modelIndex.getByClassname(parameter.dataType);
 
                             if (model == null) {
                                 // Primitive data types all come already marked
@@ -1091,30 +1085,20 @@ public abstract class AbstractCSharpCodegen extends DefaultCodegen implements Co
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String csharpPostProcessFile = System.getenv("CSHARP_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(csharpPostProcessFile)) {
-            return; // skip if CSHARP_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if CSHARP_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with .cs extension
         if ("cs".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = csharpPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit code: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return csharpPostProcessFile;
         }
+        return null;
     }
 }
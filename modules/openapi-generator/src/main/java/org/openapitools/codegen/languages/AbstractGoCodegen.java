@@ -621,14 +621,14 @@ public abstract class AbstractGoCodegen extends DefaultCodegen implements Codege
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String goPostProcessFile = System.getenv("GO_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(goPostProcessFile)) {
-            return; // skip if GO_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if GO_POST_PROCESS_FILE env variable is not defined
         }
 
         // only procees the following type (or we can simply rely on the file extension to check if it's a Go file)
@@ -640,25 +640,15 @@ public abstract class AbstractGoCodegen extends DefaultCodegen implements Codege
                         "api-test",
                         "api"));
         if (!supportedFileType.contains(fileType)) {
-            return;
+            return null;
         }
 
         // only process files with go extension
         if ("go".equals(FilenameUtils.getExtension(file.toString()))) {
             // e.g. "gofmt -w yourcode.go"
             // e.g. "go fmt path/to/your/package"
-            String command = goPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit code: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return goPostProcessFile;
         }
+        return null;
     }
 }
@@ -1395,32 +1395,21 @@ public abstract class AbstractJavaCodegen extends DefaultCodegen implements Code
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String javaPostProcessFile = System.getenv("JAVA_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(javaPostProcessFile)) {
-            return; // skip if JAVA_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if JAVA_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with java extension
         if ("java".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = javaPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                p.waitFor();
-                int exitValue = p.exitValue();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return javaPostProcessFile;
         }
+        return null;
     }
 
     public void setParentGroupId(final String parentGroupId) {
@@ -719,31 +719,20 @@ public abstract class AbstractKotlinCodegen extends DefaultCodegen implements Co
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String kotlinPostProcessFile = System.getenv("KOTLIN_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(kotlinPostProcessFile)) {
-            return; // skip if KOTLIN_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if KOTLIN_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with kt extension
         if ("kt".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = kotlinPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                p.waitFor();
-                int exitValue = p.exitValue();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return kotlinPostProcessFile;
         }
+        return null;
     }
 }
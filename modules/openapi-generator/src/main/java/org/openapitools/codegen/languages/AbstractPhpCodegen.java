@@ -791,29 +791,18 @@ public abstract class AbstractPhpCodegen extends DefaultCodegen implements Codeg
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
         String phpPostProcessFile = System.getenv("PHP_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(phpPostProcessFile)) {
-            return; // skip if PHP_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if PHP_POST_PROCESS_FILE env variable is not defined
         }
         // only process files with php extension
         if ("php".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = phpPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                p.waitFor();
-                int exitValue = p.exitValue();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return phpPostProcessFile;
         }
+        return null;
     }
 }
@@ -181,28 +181,18 @@ abstract class AbstractRubyCodegen extends DefaultCodegen implements CodegenConf
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
         String rubyPostProcessFile = System.getenv("RUBY_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(rubyPostProcessFile)) {
-            return; // skip if RUBY_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if RUBY_POST_PROCESS_FILE env variable is not defined
         }
         // only process files with rb extension
         if ("rb".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = rubyPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return rubyPostProcessFile;
         }
+        return null;
     }
 }
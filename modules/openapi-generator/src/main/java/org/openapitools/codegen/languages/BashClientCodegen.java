@@ -760,5 +760,10 @@ public class BashClientCodegen extends DefaultCodegen implements CodegenConfig {
         return initialCaps(name);
     }
 
-
+    @Override
+    public boolean isParallelOperationConversionSupported() {
+        // the body examples are read from the model schemas while converting the operations, which are only
+        // completed with the examples of the operations afterwards when operations are converted concurrently
+        return false;
+    }
 }
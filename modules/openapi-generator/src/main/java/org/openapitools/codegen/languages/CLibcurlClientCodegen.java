@@ -603,14 +603,14 @@ public class CLibcurlClientCodegen extends DefaultCodegen implements CodegenConf
 
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String cPostProcessFile = System.getenv("C_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(cPostProcessFile)) {
-            return; // skip if C_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if C_POST_PROCESS_FILE env variable is not defined
         }
 
         // only procees the following type (or we can simply rely on the file extension to check if it's a .c or .h file)
@@ -622,24 +622,20 @@ public class CLibcurlClientCodegen extends DefaultCodegen implements CodegenConf
                         "api-test",
                         "api"));
         if (!supportedFileType.contains(fileType)) {
-            return;
+            return null;
         }
 
         // only process files with .c or .h extension
         if ("c".equals(FilenameUtils.getExtension(file.toString())) ||
                 "h".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = cPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit code: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return cPostProcessFile;
         }
+        return null;
+    }
+
+    @Override
+    public boolean isParallelOperationConversionSupported() {
+        // operations without an operationId are numbered in the order they are converted
+        return false;
     }
 }
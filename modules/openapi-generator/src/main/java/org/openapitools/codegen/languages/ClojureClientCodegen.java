@@ -364,4 +364,10 @@ public class ClojureClientCodegen extends DefaultCodegen implements CodegenConfi
         // ref: https://clojurebridge.github.io/community-docs/docs/clojure/comment/
         return input.replace("(comment", "(_comment");
     }
+
+    @Override
+    public boolean isParallelOperationConversionSupported() {
+        // models are collected while converting them, also for the responses of operations
+        return false;
+    }
 }
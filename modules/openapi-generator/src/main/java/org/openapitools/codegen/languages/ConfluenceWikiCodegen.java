@@ -126,4 +126,10 @@ public class ConfluenceWikiCodegen extends DefaultCodegen implements CodegenConf
         // just return the original string
         return input;
     }
+
+    @Override
+    public boolean isModelSummarySupported() {
+        // the index lists the properties of the models
+        return false;
+    }
 }
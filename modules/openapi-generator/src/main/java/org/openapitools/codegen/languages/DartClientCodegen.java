@@ -514,14 +514,14 @@ public class DartClientCodegen extends DefaultCodegen implements CodegenConfig {
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String dartPostProcessFile = System.getenv("DART_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(dartPostProcessFile)) {
-            return; // skip if DART_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if DART_POST_PROCESS_FILE env variable is not defined
         }
 
         // only procees the following type (or we can simply rely on the file extension to check if it's a Dart file)
@@ -533,24 +533,14 @@ public class DartClientCodegen extends DefaultCodegen implements CodegenConfig {
                         "api-test",
                         "api"));
         if (!supportedFileType.contains(fileType)) {
-            return;
+            return null;
         }
 
         // only process files with dart extension
         if ("dart".equals(FilenameUtils.getExtension(file.toString()))) {
             // currently only support "dartfmt -w yourcode.dart"
-            String command = dartPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit code: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return dartPostProcessFile;
         }
+        return null;
     }
 }
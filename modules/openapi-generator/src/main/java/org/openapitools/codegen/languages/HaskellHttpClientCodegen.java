@@ -27,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.openapitools.codegen.*;
+import org.openapitools.codegen.utils.ModelIndex;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -732,11 +733,11 @@ public class HaskellHttpClientCodegen extends DefaultCodegen implements CodegenC
 
         updateGlobalAdditionalProps();
 
-        for (Object o : allModels) {
-            HashMap<String, Object> h = (HashMap<String, Object>) o;
-            CodegenModel m = (CodegenModel) h.get("model");
-            if (modelMimeTypes.containsKey(m.classname)) {
-                Set<String> mimeTypes = modelMimeTypes.get(m.classname);
+        ModelIndex modelIndex = getModelIndex(allModels);
+        for (Map.Entry<String, Set<String>> modelMimeType : modelMimeTypes.entrySet()) {
+            CodegenModel m = modelIndex.getByClassname(modelMimeType.getKey());
+            if (m != null) {
+                Set<String> mimeTypes = modelMimeType.getValue();
                 m.vendorExtensions.put(X_MIME_TYPES, mimeTypes);
                 if ((boolean) additionalProperties.get(PROP_GENERATE_FORM_URLENCODED_INSTANCES) && mimeTypes.contains("MimeFormUrlEncoded")) {
                     Boolean hasMimeFormUrlEncoded = true;
@@ -1354,29 +1355,31 @@ public class HaskellHttpClientCodegen extends DefaultCodegen implements CodegenC
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
         String haskellPostProcessFile = System.getenv("HASKELL_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(haskellPostProcessFile)) {
-            return; // skip if HASKELL_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if HASKELL_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with hs extension
         if ("hs".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = haskellPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return haskellPostProcessFile;
         }
+        return null;
+    }
+
+    @Override
+    public boolean isParallelOperationConversionSupported() {
+        // generated type names are deduplicated in the order they are converted
+        return false;
+    }
+
+    @Override
+    public boolean isModelSummarySupported() {
+        // Model.hs, ModelLens.hs and the test instances are generated from the properties of all models
+        return false;
     }
 }
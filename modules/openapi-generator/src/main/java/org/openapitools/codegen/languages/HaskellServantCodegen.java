@@ -642,29 +642,25 @@ public class HaskellServantCodegen extends DefaultCodegen implements CodegenConf
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
         String haskellPostProcessFile = System.getenv("HASKELL_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(haskellPostProcessFile)) {
-            return; // skip if HASKELL_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if HASKELL_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with hs extension
         if ("hs".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = haskellPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return haskellPostProcessFile;
         }
+        return null;
+    }
+
+    @Override
+    public boolean isModelSummarySupported() {
+        // Types.hs is generated from the properties of all models
+        return false;
     }
 }
@@ -1068,4 +1068,9 @@ public class MysqlSchemaCodegen extends DefaultCodegen implements CodegenConfig
         return this.jsonDataTypeEnabled;
     }
 
+    @Override
+    public boolean isModelSummarySupported() {
+        // the schema file is generated from the properties of all models
+        return false;
+    }
 }
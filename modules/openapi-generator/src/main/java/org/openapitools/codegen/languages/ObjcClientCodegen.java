@@ -780,4 +780,9 @@ public class ObjcClientCodegen extends DefaultCodegen implements CodegenConfig {
         return input.replace("*/", "*_/").replace("/*", "/_*");
     }
 
+    @Override
+    public boolean isModelSummarySupported() {
+        // the Core Data model is generated from the properties of all models
+        return false;
+    }
 }
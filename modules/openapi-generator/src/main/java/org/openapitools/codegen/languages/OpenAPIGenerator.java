@@ -24,8 +24,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.openapitools.codegen.*;
+import org.openapitools.codegen.serializer.SerializerUtils;
 import io.swagger.v3.oas.models.*;
-import io.swagger.v3.core.util.Json;
 
 public class OpenAPIGenerator extends DefaultCodegen implements CodegenConfig {
 
@@ -56,7 +56,7 @@ public class OpenAPIGenerator extends DefaultCodegen implements CodegenConfig {
 
     @Override
     public void processOpenAPI(OpenAPI openAPI) {
-        String swaggerString = Json.pretty(openAPI);
+        String swaggerString = SerializerUtils.toPrettyJsonString(openAPI);
 
         try {
             String outputFile = outputFolder + File.separator + "openapi.json";
@@ -573,32 +573,28 @@ public class PerlClientCodegen extends DefaultCodegen implements CodegenConfig {
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String perlTidyPath = System.getenv("PERL_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(perlTidyPath)) {
-            return; // skip if PERL_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if PERL_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with .t, .pm extension
         if ("t".equals(FilenameUtils.getExtension(file.toString())) ||
                 "pm".equals(FilenameUtils.getExtension(file.toString())) ||
                 "pl".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = perlTidyPath + " -b -bext='/' " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit code: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return perlTidyPath + " -b -bext='/'";
         }
+        return null;
+    }
+
+    @Override
+    public boolean isParallelOperationConversionSupported() {
+        // operations without an operationId are numbered in the order they are converted
+        return false;
     }
 }
@@ -776,29 +776,19 @@ public class PythonClientCodegen extends DefaultCodegen implements CodegenConfig
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
         String pythonPostProcessFile = System.getenv("PYTHON_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(pythonPostProcessFile)) {
-            return; // skip if PYTHON_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if PYTHON_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with py extension
         if ("py".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = pythonPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return pythonPostProcessFile;
         }
+        return null;
     }
 }
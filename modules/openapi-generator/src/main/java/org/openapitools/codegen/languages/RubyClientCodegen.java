@@ -620,4 +620,10 @@ public class RubyClientCodegen extends AbstractRubyCodegen {
             codegenModel.additionalPropertiesType = getSchemaType(additionalProperties);
         }
     }
+
+    @Override
+    public boolean isParallelOperationConversionSupported() {
+        // operations without an operationId are numbered in the order they are converted
+        return false;
+    }
 }
@@ -283,4 +283,10 @@ public class RubyOnRailsServerCodegen extends AbstractRubyCodegen {
     public void setDatabaseAdapter(String databaseAdapter) {
         this.databaseAdapter = databaseAdapter;
     }
+
+    @Override
+    public boolean isModelSummarySupported() {
+        // the migrations are generated from the properties of all models
+        return false;
+    }
 }
@@ -1129,4 +1129,16 @@ public class RustServerCodegen extends DefaultCodegen implements CodegenConfig {
             param.vendorExtensions.put("example", (example != null) ? "Some(" + example + ")" : "None");
         }
     }
+
+    @Override
+    public boolean isParallelOperationConversionSupported() {
+        // operations are numbered in pathSetMap in the order they are converted
+        return false;
+    }
+
+    @Override
+    public boolean isModelSummarySupported() {
+        // models.rs is generated from the properties of all models
+        return false;
+    }
 }
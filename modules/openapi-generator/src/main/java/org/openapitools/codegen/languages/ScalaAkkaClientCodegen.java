@@ -357,4 +357,10 @@ public class ScalaAkkaClientCodegen extends AbstractScalaCodegen implements Code
     public void setMainPackage(String mainPackage) {
         this.mainPackage = mainPackage;
     }
+
+    @Override
+    public boolean isModelSummarySupported() {
+        // the enum serializers are generated from the properties of all models
+        return false;
+    }
 }
@@ -282,4 +282,10 @@ public class StaticHtml2Generator extends DefaultCodegen implements CodegenConfi
         // just return the original string
         return input;
     }
+
+    @Override
+    public boolean isModelSummarySupported() {
+        // the index lists the properties and schemas of the models
+        return false;
+    }
 }
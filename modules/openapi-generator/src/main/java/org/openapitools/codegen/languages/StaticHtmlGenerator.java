@@ -216,4 +216,9 @@ public class StaticHtmlGenerator extends DefaultCodegen implements CodegenConfig
                 property.unescapedDescription);
     }
 
+    @Override
+    public boolean isModelSummarySupported() {
+        // the index lists the properties of the models
+        return false;
+    }
 }
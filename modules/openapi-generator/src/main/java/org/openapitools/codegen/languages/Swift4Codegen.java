@@ -846,28 +846,18 @@ public class Swift4Codegen extends DefaultCodegen implements CodegenConfig {
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
         String swiftPostProcessFile = System.getenv("SWIFT_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(swiftPostProcessFile)) {
-            return; // skip if SWIFT_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if SWIFT_POST_PROCESS_FILE env variable is not defined
         }
         // only process files with swift extension
         if ("swift".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = swiftPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return swiftPostProcessFile;
         }
+        return null;
     }
 }
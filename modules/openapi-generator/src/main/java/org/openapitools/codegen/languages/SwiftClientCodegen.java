@@ -626,4 +626,9 @@ public class SwiftClientCodegen extends DefaultCodegen implements CodegenConfig
         return input.replace("*/", "*_/").replace("/*", "/_*");
     }
 
+    @Override
+    public boolean isModelSummarySupported() {
+        // Models.swift is generated from the properties of all models
+        return false;
+    }
 }
@@ -151,4 +151,9 @@ public class TypeScriptAureliaClientCodegen extends AbstractTypeScriptClientCode
         return objs;
     }
 
+    @Override
+    public boolean isModelSummarySupported() {
+        // models.ts is generated from the properties of all models
+        return false;
+    }
 }
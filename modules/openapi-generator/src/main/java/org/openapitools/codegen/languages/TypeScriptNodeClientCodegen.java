@@ -299,4 +299,10 @@ public class TypeScriptNodeClientCodegen extends AbstractTypeScriptClientCodegen
         String name = filename.substring((modelPackage() + File.separator).length());
         return camelize(name);
     }
+
+    @Override
+    public boolean isModelSummarySupported() {
+        // models.ts is generated from the properties of all models
+        return false;
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.metrics;
+
+import java.io.File;
+
+/**
+ * Receives the progress of a generation from {@link org.openapitools.codegen.DefaultGenerator}, e.g. to measure
+ * where the time goes (see {@link GenerationMetrics}).
+ * <p>
+ * Phases are reported by the generating thread. Nested phases are named after their parent, e.g.
+ * {@code models/postProcessAllModels} within {@code models}. Files may be reported by other threads when files are
+ * rendered in parallel, so implementations must be thread-safe.
+ */
+public interface GenerationListener {
+
+    /**
+     * @param phase name of the phase which starts
+     */
+    default void phaseStarted(String phase) {
+    }
+
+    /**
+     * @param phase name of the phase which ends
+     */
+    default void phaseFinished(String phase) {
+    }
+
+    /**
+     * A file was written from a template, or copied for supporting files which are not templates.
+     *
+     * @param templateFile template or source file
+     * @param file         output file
+     * @param nanos        time spent rendering and writing the file
+     * @param bytes        size of the file
+     */
+    default void fileGenerated(String templateFile, File file, long nanos, long bytes) {
+    }
+
+    /**
+     * A file was not rendered since it did not change since the previous (incremental) generation.
+     *
+     * @param file output file
+     */
+    default void fileUnchanged(File file) {
+    }
+
+    /**
+     * A file was post-processed, see {@link org.openapitools.codegen.CodegenConfig#postProcessFile(File, String)}.
+     *
+     * @param file     output file
+     * @param fileType type of the file
+     * @param nanos    time spent post-processing the file
+     */
+    default void filePostProcessed(File file, String fileType, long nanos) {
+    }
+}
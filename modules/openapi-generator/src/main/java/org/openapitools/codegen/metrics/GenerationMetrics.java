@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.metrics;
+
+import io.swagger.v3.core.util.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link GenerationListener} recording the wall time of each phase, the render time and output size per template,
+ * the number of generated files and the time spent post-processing files. Optionally records the bytes allocated
+ * by the generating thread during each phase (files rendered in parallel are allocated by other threads).
+ * <p>
+ * The metrics can be printed with {@link #toTable()} or saved as JSON with {@link #writeJson(File)}. Phases may be
+ * recorded by hand with {@link #phaseStarted(String)} and {@link #phaseFinished(String)}, e.g. to include the
+ * parsing of the spec, which happens before the generation.
+ */
+public class GenerationMetrics implements GenerationListener {
+
+    // com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long), looked up at runtime as it is not available on
+    // all JVMs
+    private static final Method ALLOCATED_BYTES = allocatedBytesMethod();
+
+    private final boolean trackAllocations;
+    private final Map<String, Long> phaseStarts = new ConcurrentHashMap<>();
+    private final Map<String, Long> allocationStarts = new ConcurrentHashMap<>();
+    private final Map<String, Phase> phases = new ConcurrentHashMap<>();
+    private final AtomicInteger phaseCount = new AtomicInteger();
+    private final Map<String, TemplateMetrics> templates = new ConcurrentHashMap<>();
+    private final LongAdder unchangedFiles = new LongAdder();
+    private final LongAdder postProcessedFiles = new LongAdder();
+    private final LongAdder postProcessNanos = new LongAdder();
+
+    public GenerationMetrics() {
+        this(false);
+    }
+
+    /**
+     * @param trackAllocations true to record the bytes allocated during each phase, if supported by the JVM
+     */
+    public GenerationMetrics(boolean trackAllocations) {
+        this.trackAllocations = trackAllocations && allocationTrackingSupported();
+    }
+
+    @Override
+    public void phaseStarted(String phase) {
+        // phases are listed in the order they start, so that nested phases follow their parent
+        phases.computeIfAbsent(phase, name -> new Phase(name, phaseCount.getAndIncrement()));
+        if (trackAllocations) {
+            allocationStarts.put(phase, allocatedBytes());
+        }
+        phaseStarts.put(phase, System.nanoTime());
+    }
+
+    @Override
+    public void phaseFinished(String phase) {
+        long end = System.nanoTime();
+        Long start = phaseStarts.remove(phase);
+        if (start == null) {
+            return;
+        }
+        long allocated = -1;
+        Long allocationStart = allocationStarts.remove(phase);
+        if (allocationStart != null) {
+            allocated = allocatedBytes() - allocationStart;
+        }
+        // a phase may run several times, e.g. once per generator run
+        phases.get(phase).add(end - start, allocated);
+    }
+
+    @Override
+    public void fileGenerated(String templateFile, File file, long nanos, long bytes) {
+        TemplateMetrics metrics = templates.computeIfAbsent(templateFile, name -> new TemplateMetrics());
+        metrics.files.increment();
+        metrics.nanos.add(nanos);
+        metrics.bytes.add(Math.max(0, bytes));
+    }
+
+    @Override
+    public void fileUnchanged(File file) {
+        unchangedFiles.increment();
+    }
+
+    @Override
+    public void filePostProcessed(File file, String fileType, long nanos) {
+        postProcessedFiles.increment();
+        postProcessNanos.add(nanos);
+    }
+
+    public long getGeneratedFiles() {
+        return templates.values().stream().mapToLong(t -> t.files.sum()).sum();
+    }
+
+    public long getGeneratedBytes() {
+        return templates.values().stream().mapToLong(t -> t.bytes.sum()).sum();
+    }
+
+    public long getUnchangedFiles() {
+        return unchangedFiles.sum();
+    }
+
+    /**
+     * @param phase phase name
+     * @return the total wall time of the phase in nanoseconds, or -1 if the phase was not recorded
+     */
+    public long getPhaseNanos(String phase) {
+        Phase p = phases.get(phase);
+        return p == null ? -1 : p.nanos.sum();
+    }
+
+    /**
+     * @return the metrics, as a tree of maps and lists suitable for serialization
+     */
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        List<Map<String, Object>> phaseReport = new ArrayList<>();
+        for (Phase phase : sortedPhases()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", phase.name);
+            entry.put("millis", millis(phase.nanos.sum()));
+            if (trackAllocations) {
+                entry.put("allocatedBytes", phase.allocatedBytes.sum());
+            }
+            phaseReport.add(entry);
+        }
+        report.put("phases", phaseReport);
+
+        List<Map<String, Object>> templateReport = new ArrayList<>();
+        for (Map.Entry<String, TemplateMetrics> template : new TreeMap<>(templates).entrySet()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("template", template.getKey());
+            entry.put("files", template.getValue().files.sum());
+            entry.put("millis", millis(template.getValue().nanos.sum()));
+            entry.put("bytes", template.getValue().bytes.sum());
+            templateReport.add(entry);
+        }
+        report.put("templates", templateReport);
+
+        Map<String, Object> files = new LinkedHashMap<>();
+        files.put("generated", getGeneratedFiles());
+        files.put("unchanged", getUnchangedFiles());
+        files.put("bytes", getGeneratedBytes());
+        files.put("postProcessed", postProcessedFiles.sum());
+        files.put("postProcessMillis", millis(postProcessNanos.sum()));
+        report.put("files", files);
+        return report;
+    }
+
+    /**
+     * Write the metrics as JSON, e.g. for tracking trends on CI.
+     *
+     * @param file output file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        Json.mapper().writerWithDefaultPrettyPrinter().writeValue(file, toReport());
+    }
+
+    /**
+     * @return a human readable summary of the metrics
+     */
+    public String toTable() {
+        StringBuilder sb = new StringBuilder();
+        String phaseFormat = trackAllocations ? "%-40s %12s %14s%n" : "%-40s %12s%n";
+        sb.append(String.format(Locale.ROOT, phaseFormat, "Phase", "Time (ms)", "Allocated (MB)"));
+        for (Phase phase : sortedPhases()) {
+            String name = indent(phase.name);
+            String time = String.format(Locale.ROOT, "%.1f", millis(phase.nanos.sum()));
+            String allocated = String.format(Locale.ROOT, "%.1f", phase.allocatedBytes.sum() / (1024.0 * 1024.0));
+            sb.append(String.format(Locale.ROOT, phaseFormat, name, time, allocated));
+        }
+
+        sb.append(String.format(Locale.ROOT, "%n%-60s %8s %12s %12s%n", "Template", "Files", "Time (ms)", "Bytes"));
+        for (Map.Entry<String, TemplateMetrics> template : new TreeMap<>(templates).entrySet()) {
+            TemplateMetrics metrics = template.getValue();
+            sb.append(String.format(Locale.ROOT, "%-60s %8d %12.1f %12d%n", template.getKey(),
+                    metrics.files.sum(), millis(metrics.nanos.sum()), metrics.bytes.sum()));
+        }
+
+        sb.append(String.format(Locale.ROOT, "%n%d files generated (%d bytes), %d unchanged, %d post-processed in %.1f ms%n",
+                getGeneratedFiles(), getGeneratedBytes(), getUnchangedFiles(),
+                postProcessedFiles.sum(), millis(postProcessNanos.sum())));
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toTable();
+    }
+
+    private List<Phase> sortedPhases() {
+        List<Phase> sorted = new ArrayList<>(phases.values());
+        sorted.sort((a, b) -> Integer.compare(a.order, b.order));
+        return sorted;
+    }
+
+    private static String indent(String phase) {
+        int depth = phase.length() - phase.replace("/", "").length();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            sb.append("  ");
+        }
+        return sb.append(phase.substring(phase.lastIndexOf('/') + 1)).toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static boolean allocationTrackingSupported() {
+        return ALLOCATED_BYTES != null && allocatedBytes() >= 0;
+    }
+
+    private static Method allocatedBytesMethod() {
+        try {
+            return Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long allocatedBytes() {
+        try {
+            return (Long) ALLOCATED_BYTES.invoke(ManagementFactory.getThreadMXBean(), Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static class Phase {
+        private final String name;
+        private final int order;
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private Phase(String name, int order) {
+            this.name = name;
+            this.order = order;
+        }
+
+        private void add(long phaseNanos, long phaseAllocatedBytes) {
+            nanos.add(phaseNanos);
+            if (phaseAllocatedBytes > 0) {
+                allocatedBytes.add(phaseAllocatedBytes);
+            }
+        }
+    }
+
+    private static class TemplateMetrics {
+        private final LongAdder files = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+    }
+}
@@ -2,8 +2,10 @@ package org.openapitools.codegen.serializer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
 
@@ -13,6 +15,36 @@ import org.slf4j.LoggerFactory;
 public class SerializerUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(SerializerUtils.class);
 
+    // a copy of the mapper of swagger, so that the order of the properties only changes in the generated files
+    private static final ObjectMapper JSON_MAPPER = Json.mapper().copy()
+            .registerModule(new SimpleModule("StablePropertyOrder").setSerializerModifier(new StablePropertyOrder()));
+
+    /**
+     * Get the mapper writing the JSON documents of the generated files (e.g. the modelJson of the models, the
+     * examples), which writes the properties in the same order in every JVM, see {@link StablePropertyOrder}.
+     *
+     * @return the JSON mapper
+     */
+    public static ObjectMapper jsonMapper() {
+        return JSON_MAPPER;
+    }
+
+    /**
+     * Write an object as an indented JSON document, like {@link Json#pretty(Object)}.
+     *
+     * @param o the object
+     * @return the JSON document, or null if the object cannot be serialized
+     */
+    public static String toPrettyJsonString(Object o) {
+        try {
+            return JSON_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(o);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Json.pretty returns null as well
+            LOGGER.debug("Can not create json content", e);
+        }
+        return null;
+    }
+
     public static String toYamlString(OpenAPI openAPI) {
         if(openAPI == null) {
             return null;
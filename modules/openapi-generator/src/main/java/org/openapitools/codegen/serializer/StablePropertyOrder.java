@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.serializer;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the bean properties without a field of their own in the order of their names.
+ * <p>
+ * Jackson writes the properties backed by a field in the order of the fields, and the others in the order the JVM
+ * lists the getters, which depends on the classes loaded before (e.g. {@code default} and {@code enum} of
+ * {@link io.swagger.v3.oas.models.media.Schema}, whose fields are {@code _default} and {@code _enum}, are not written
+ * in the same order by the generate and batch commands). The other properties keep their place.
+ * <p>
+ * Only the mappers of {@link SerializerUtils} use this order, the mappers of swagger are left as they are.
+ */
+class StablePropertyOrder extends BeanSerializerModifier {
+
+    @Override
+    public List<BeanPropertyWriter> orderProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+        if (config.isEnabled(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                || config.getAnnotationIntrospector().findSerializationPropertyOrder(beanDesc.getClassInfo()) != null) {
+            return beanProperties;
+        }
+        Set<String> placed = new HashSet<>();
+        for (BeanPropertyDefinition property : beanDesc.findProperties()) {
+            if (property.hasField() || property.hasConstructorParameter()) {
+                placed.add(property.getName());
+            }
+        }
+        List<BeanPropertyWriter> unplaced = new ArrayList<>();
+        for (BeanPropertyWriter property : beanProperties) {
+            if (!placed.contains(property.getName())) {
+                unplaced.add(property);
+            }
+        }
+        if (unplaced.size() < 2) {
+            return beanProperties;
+        }
+        unplaced.sort(Comparator.comparing(BeanPropertyWriter::getName));
+        List<BeanPropertyWriter> ordered = new ArrayList<>(beanProperties.size());
+        int next = 0;
+        for (BeanPropertyWriter property : beanProperties) {
+            ordered.add(placed.contains(property.getName()) ? property : unplaced.get(next++));
+        }
+        return ordered;
+    }
+}
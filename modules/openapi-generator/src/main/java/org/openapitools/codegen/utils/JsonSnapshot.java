@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.openapitools.codegen.serializer.SerializerUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Snapshot of the JSON document of an object (e.g. a schema), as written by
+ * {@link SerializerUtils#toPrettyJsonString(Object)}, which is only formatted when it is first needed.
+ * <p>
+ * The object is serialized to a buffer of JSON tokens when the snapshot is taken, as schemas are changed after they
+ * are converted (e.g. their properties are unaliased, examples are generated), and formatting the tokens gives the
+ * document of the object as it was then. The snapshot is thus not lazy, only its formatting is: snapshots are only
+ * taken when a template reads the documents, see {@link org.openapitools.codegen.CodegenConfig#isSchemaJsonEnabled()}.
+ */
+public final class JsonSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonSnapshot.class);
+
+    private final TokenBuffer tokens;
+
+    /**
+     * @param source the object to serialize
+     */
+    public JsonSnapshot(Object source) {
+        TokenBuffer buffer = new TokenBuffer(SerializerUtils.jsonMapper(), false);
+        try {
+            SerializerUtils.jsonMapper().writeValue(buffer, source);
+        } catch (IOException | RuntimeException e) {
+            // Json.pretty returns null as well
+            LOGGER.debug("Could not serialize {}", source.getClass().getName(), e);
+            buffer = null;
+        }
+        this.tokens = buffer;
+    }
+
+    /**
+     * @return the JSON document of the object, or null if it could not be serialized
+     */
+    public String toJson() {
+        return tokens == null ? null : SerializerUtils.toPrettyJsonString(tokens);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map of its own entries layered over the entries of a shared parent map, e.g. the data of a template over the
+ * additional properties shared by all templates, without copying the parent entries.
+ * <p>
+ * Entries are read from the map first, then from the parent. Changes only apply to the map: putting an entry hides
+ * the entry of the parent with the same key, and removing an entry of the parent hides it. The parent must not change
+ * while the map is used.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LayeredMap<K, V> extends AbstractMap<K, V> {
+    private final Map<K, V> local;
+    private final Map<K, V> parent;
+    // keys of the parent which were removed from this map (and are not in the local map)
+    private final Set<Object> removed;
+
+    /**
+     * Create an empty map over a parent map.
+     *
+     * @param parent the parent map
+     */
+    public LayeredMap(Map<K, V> parent) {
+        this(new HashMap<>(), parent);
+    }
+
+    /**
+     * Create a map of the given entries over a parent map. The given map is used (not copied) as the local layer.
+     *
+     * @param local  the entries of the map
+     * @param parent the parent map
+     */
+    public LayeredMap(Map<K, V> local, Map<K, V> parent) {
+        this.local = local;
+        this.parent = parent;
+        this.removed = new HashSet<>();
+    }
+
+    /**
+     * Copy a map: the copy has its own entries and shares the parent map.
+     *
+     * @param other the map to copy
+     */
+    public LayeredMap(LayeredMap<K, V> other) {
+        this.local = new HashMap<>(other.local);
+        this.parent = other.parent;
+        this.removed = new HashSet<>(other.removed);
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = local.get(key);
+        if (value != null || local.containsKey(key) || removed.contains(key)) {
+            return value;
+        }
+        return parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return local.containsKey(key) || (parent.containsKey(key) && !removed.contains(key));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (local.containsKey(key)) {
+            return local.put(key, value);
+        }
+        V previous = removed.remove(key) ? null : parent.get(key);
+        local.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        V previous = get(key);
+        local.remove(key);
+        if (parent.containsKey(key)) {
+            removed.add(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        removed.addAll(parent.keySet());
+    }
+
+    @Override
+    public int size() {
+        int size = local.size() + parent.size() - removed.size();
+        for (K key : local.keySet()) {
+            if (parent.containsKey(key)) {
+                size--;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return LayeredMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates over the local entries, then over the entries of the parent which are not hidden.
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        private final Iterator<Entry<K, V>> localIterator = local.entrySet().iterator();
+        private final Iterator<Entry<K, V>> parentIterator = parent.entrySet().iterator();
+        private Entry<K, V> next;
+        private K lastKey;
+        private boolean lastIsLocal;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null || localIterator.hasNext()) {
+                return true;
+            }
+            while (parentIterator.hasNext()) {
+                Entry<K, V> entry = parentIterator.next();
+                K key = entry.getKey();
+                if (!local.containsKey(key) && !removed.contains(key)) {
+                    next = new ParentEntry(entry);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null && localIterator.hasNext()) {
+                Entry<K, V> entry = localIterator.next();
+                lastKey = entry.getKey();
+                lastIsLocal = true;
+                canRemove = true;
+                return entry;
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = next;
+            next = null;
+            lastKey = entry.getKey();
+            lastIsLocal = false;
+            canRemove = true;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            canRemove = false;
+            if (lastIsLocal) {
+                localIterator.remove();
+            }
+            if (parent.containsKey(lastKey)) {
+                removed.add(lastKey);
+            }
+        }
+    }
+
+    /**
+     * Entry of the parent, whose value is set in the local map.
+     */
+    private class ParentEntry extends SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        ParentEntry(Entry<K, V> entry) {
+            super(entry);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
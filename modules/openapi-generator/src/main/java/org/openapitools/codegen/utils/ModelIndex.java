@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.openapitools.codegen.CodegenModel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only index of the models passed to
+ * {@link org.openapitools.codegen.CodegenConfig#postProcessOperationsWithModels(Map, List)}, to look models up by
+ * schema name, class name or import rather than scanning the list for each operation or parameter.
+ * <p>
+ * When several models have the same key, the first one in the list is returned, as when scanning the list.
+ */
+public class ModelIndex {
+    private final List<Object> models;
+    private final int size;
+    private final Map<String, CodegenModel> bySchemaName = new HashMap<>();
+    private final Map<String, CodegenModel> byClassname = new HashMap<>();
+    private final Map<String, CodegenModel> byImport = new HashMap<>();
+
+    /**
+     * Index models.
+     *
+     * @param models the models, each a map with the model ("model") and its import ("importPath")
+     */
+    public ModelIndex(List<Object> models) {
+        this.models = models;
+        this.size = models.size();
+        for (Object entry : models) {
+            if (!(entry instanceof Map)) {
+                continue;
+            }
+            Map<?, ?> entryMap = (Map<?, ?>) entry;
+            Object model = entryMap.get("model");
+            if (!(model instanceof CodegenModel)) {
+                continue;
+            }
+            CodegenModel codegenModel = (CodegenModel) model;
+            if (codegenModel.name != null) {
+                bySchemaName.putIfAbsent(codegenModel.name, codegenModel);
+            }
+            if (codegenModel.classname != null) {
+                byClassname.putIfAbsent(codegenModel.classname, codegenModel);
+            }
+            Object importPath = entryMap.get("importPath");
+            if (importPath instanceof String) {
+                byImport.putIfAbsent((String) importPath, codegenModel);
+            }
+        }
+    }
+
+    /**
+     * @param models a list of models
+     * @return true if this index was built from the given list, which did not change since
+     */
+    public boolean isIndexOf(List<Object> models) {
+        return this.models == models && size == models.size();
+    }
+
+    /**
+     * @param name the name of the schema
+     * @return the model of the schema, or null
+     */
+    public CodegenModel getBySchemaName(String name) {
+        return bySchemaName.get(name);
+    }
+
+    /**
+     * @param classname the class name of the model
+     * @return the model, or null
+     */
+    public CodegenModel getByClassname(String classname) {
+        return byClassname.get(classname);
+    }
+
+    /**
+     * @param importPath the import of the model
+     * @return the model, or null
+     */
+    public CodegenModel getByImport(String importPath) {
+        return byImport.get(importPath);
+    }
+}
@@ -18,8 +18,6 @@
 package org.openapitools.codegen.utils;
 
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.callbacks.Callback;
 import io.swagger.v3.oas.models.headers.Header;
 import io.swagger.v3.oas.models.media.ArraySchema;
@@ -48,6 +46,7 @@ import io.swagger.v3.parser.util.SchemaTypeUtil;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.config.GenerationContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,19 +54,27 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
 
 
 public class ModelUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(ModelUtils.class);
+    // default value, used outside of a generation context
     private static boolean generateAliasAsModel = false;
 
     public static void setGenerateAliasAsModel(boolean value) {
-        generateAliasAsModel = value;
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            context.setGenerateAliasAsModel(value);
+        } else {
+            generateAliasAsModel = value;
+        }
     }
 
     public static boolean isGenerateAliasAsModel() {
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            return context.isGenerateAliasAsModel();
+        }
         return generateAliasAsModel;
     }
 
@@ -107,16 +114,7 @@ public class ModelUtils {
      * @return schemas a list of used schemas
      */
     public static List<String> getAllUsedSchemas(OpenAPI openAPI) {
-        List<String> allUsedSchemas = new ArrayList<String>();
-        visitOpenAPI(openAPI, (s, t) -> {
-            if (s.get$ref() != null) {
-                String ref = getSimpleRef(s.get$ref());
-                if (!allUsedSchemas.contains(ref)) {
-                    allUsedSchemas.add(ref);
-                }
-            }
-        });
-        return allUsedSchemas;
+        return new SchemaReferenceGraph(openAPI).getUsedSchemas();
     }
 
     /**
@@ -126,17 +124,7 @@ public class ModelUtils {
      * @return schemas a list of unused schemas
      */
     public static List<String> getUnusedSchemas(OpenAPI openAPI) {
-        List<String> unusedSchemas = new ArrayList<String>();
-
-        Map<String, Schema> schemas = getSchemas(openAPI);
-        unusedSchemas.addAll(schemas.keySet());
-
-        visitOpenAPI(openAPI, (s, t) -> {
-            if (s.get$ref() != null) {
-                unusedSchemas.remove(getSimpleRef(s.get$ref()));
-            }
-        });
-        return unusedSchemas;
+        return new SchemaReferenceGraph(openAPI).getUnusedSchemas();
     }
 
     /**
@@ -146,153 +134,7 @@ public class ModelUtils {
      * @return schemas a list of schemas
      */
     public static List<String> getSchemasUsedOnlyInFormParam(OpenAPI openAPI) {
-        List<String> schemasUsedInFormParam = new ArrayList<String>();
-        List<String> schemasUsedInOtherCases = new ArrayList<String>();
-
-        visitOpenAPI(openAPI, (s, t) -> {
-            if (s.get$ref() != null) {
-                String ref = getSimpleRef(s.get$ref());
-                if ("application/x-www-form-urlencoded".equalsIgnoreCase(t) ||
-                        "multipart/form-data".equalsIgnoreCase(t)) {
-                    schemasUsedInFormParam.add(ref);
-                } else {
-                    schemasUsedInOtherCases.add(ref);
-                }
-            }
-        });
-        return schemasUsedInFormParam.stream().filter(n -> !schemasUsedInOtherCases.contains(n)).collect(Collectors.toList());
-    }
-
-    /**
-     * Private method used by several methods ({@link #getAllUsedSchemas(OpenAPI)},
-     * {@link #getUnusedSchemas(OpenAPI)},
-     * {@link #getSchemasUsedOnlyInFormParam(OpenAPI)}, ...) to traverse all paths of an
-     * OpenAPI instance and call the visitor functional interface when a schema is found.
-     *
-     * @param openAPI specification
-     * @param visitor functional interface (can be defined as a lambda) called each time a schema is found.
-     */
-    private static void visitOpenAPI(OpenAPI openAPI, OpenAPISchemaVisitor visitor) {
-        Map<String, PathItem> paths = openAPI.getPaths();
-        List<String> visitedSchemas = new ArrayList<>();
-
-        if (paths != null) {
-            for (PathItem path : paths.values()) {
-                visitPathItem(path, openAPI, visitor, visitedSchemas);
-            }
-        }
-    }
-
-    private static void visitPathItem(PathItem pathItem, OpenAPI openAPI, OpenAPISchemaVisitor visitor, List<String> visitedSchemas) {
-        List<Operation> allOperations = pathItem.readOperations();
-        if (allOperations != null) {
-            for (Operation operation : allOperations) {
-                //Params:
-                if (operation.getParameters() != null) {
-                    for (Parameter p : operation.getParameters()) {
-                        Parameter parameter = getReferencedParameter(openAPI, p);
-                        if (parameter.getSchema() != null) {
-                            visitSchema(openAPI, parameter.getSchema(), null, visitedSchemas, visitor);
-                        }
-                    }
-                }
-
-                //RequestBody:
-                RequestBody requestBody = getReferencedRequestBody(openAPI, operation.getRequestBody());
-                if (requestBody != null && requestBody.getContent() != null) {
-                    for (Entry<String, MediaType> e : requestBody.getContent().entrySet()) {
-                        if (e.getValue().getSchema() != null) {
-                            visitSchema(openAPI, e.getValue().getSchema(), e.getKey(), visitedSchemas, visitor);
-                        }
-                    }
-                }
-
-                //Responses:
-                if (operation.getResponses() != null) {
-                    for (ApiResponse r : operation.getResponses().values()) {
-                        ApiResponse apiResponse = getReferencedApiResponse(openAPI, r);
-                        if (apiResponse != null && apiResponse.getContent() != null) {
-                            for (Entry<String, MediaType> e : apiResponse.getContent().entrySet()) {
-                                if (e.getValue().getSchema() != null) {
-                                    visitSchema(openAPI, e.getValue().getSchema(), e.getKey(), visitedSchemas, visitor);
-                                }
-                            }
-                        }
-                    }
-                }
-
-                //Callbacks:
-                if (operation.getCallbacks() != null) {
-                    for (Callback c : operation.getCallbacks().values()) {
-                        Callback callback = getReferencedCallback(openAPI, c);
-                        if (callback != null) {
-                            for (PathItem p : callback.values()) {
-                                visitPathItem(p, openAPI, visitor, visitedSchemas);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    private static void visitSchema(OpenAPI openAPI, Schema schema, String mimeType, List<String> visitedSchemas, OpenAPISchemaVisitor visitor) {
-        visitor.visit(schema, mimeType);
-        if (schema.get$ref() != null) {
-            String ref = getSimpleRef(schema.get$ref());
-            if (!visitedSchemas.contains(ref)) {
-                visitedSchemas.add(ref);
-                Schema referencedSchema = getSchemas(openAPI).get(ref);
-                if (referencedSchema != null) {
-                    visitSchema(openAPI, referencedSchema, mimeType, visitedSchemas, visitor);
-                }
-            }
-        }
-        if (schema instanceof ComposedSchema) {
-            List<Schema> oneOf = ((ComposedSchema) schema).getOneOf();
-            if (oneOf != null) {
-                for (Schema s : oneOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
-                }
-            }
-            List<Schema> allOf = ((ComposedSchema) schema).getAllOf();
-            if (allOf != null) {
-                for (Schema s : allOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
-                }
-            }
-            List<Schema> anyOf = ((ComposedSchema) schema).getAnyOf();
-            if (anyOf != null) {
-                for (Schema s : anyOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
-                }
-            }
-        } else if (schema instanceof ArraySchema) {
-            Schema itemsSchema = ((ArraySchema) schema).getItems();
-            if (itemsSchema != null) {
-                visitSchema(openAPI, itemsSchema, mimeType, visitedSchemas, visitor);
-            }
-        } else if (isMapSchema(schema)) {
-            Object additionalProperties = schema.getAdditionalProperties();
-            if (additionalProperties instanceof Schema) {
-                visitSchema(openAPI, (Schema) additionalProperties, mimeType, visitedSchemas, visitor);
-            }
-        }
-        if (schema.getNot() != null) {
-            visitSchema(openAPI, schema.getNot(), mimeType, visitedSchemas, visitor);
-        }
-        Map<String, Schema> properties = schema.getProperties();
-        if (properties != null) {
-            for (Schema property : properties.values()) {
-                visitSchema(openAPI, property, mimeType, visitedSchemas, visitor);
-            }
-        }
-    }
-
-    @FunctionalInterface
-    private static interface OpenAPISchemaVisitor {
-
-        public void visit(Schema schema, String mimeType);
+        return new SchemaReferenceGraph(openAPI).getSchemasUsedOnlyInFormParam();
     }
 
     public static String getSimpleRef(String ref) {
@@ -779,7 +621,7 @@ public class ModelUtils {
                 // top-level enum class
                 return schema;
             } else if (isArraySchema(ref)) {
-                if (generateAliasAsModel) {
+                if (isGenerateAliasAsModel()) {
                     return schema; // generate a model extending array
                 } else {
                     return unaliasSchema(allSchemas, allSchemas.get(ModelUtils.getSimpleRef(schema.get$ref())));
@@ -790,7 +632,7 @@ public class ModelUtils {
                 if (ref.getProperties() != null && !ref.getProperties().isEmpty()) // has at least one property
                     return schema; // treat it as model
                 else {
-                    if (generateAliasAsModel) {
+                    if (isGenerateAliasAsModel()) {
                         return schema; // generate a model extending map
                     } else {
                         // treat it as a typical map
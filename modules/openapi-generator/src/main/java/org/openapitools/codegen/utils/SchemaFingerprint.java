@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Structural fingerprint of a schema, to find schemas which are serialized to the same JSON document (as by
+ * {@link Json#pretty(Object)}) without building the document.
+ * <p>
+ * The schema is serialized to a buffer of JSON tokens, which shares the names and values of the schema rather than
+ * writing them as text. Fingerprints are equal if the tokens are equal, and are a snapshot: changing the schema later
+ * does not change the fingerprint. Schemas which cannot be serialized (e.g. with reference cycles) all have the same
+ * fingerprint, as {@link Json#pretty(Object)} returns null for all of them.
+ */
+public class SchemaFingerprint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaFingerprint.class);
+
+    private final TokenBuffer tokens;
+    private final int hash;
+
+    private SchemaFingerprint(TokenBuffer tokens) {
+        this.tokens = tokens;
+        this.hash = tokens == null ? 0 : hash(tokens);
+    }
+
+    /**
+     * Compute the fingerprint of a schema.
+     *
+     * @param schema the schema
+     * @return the fingerprint
+     */
+    public static SchemaFingerprint of(Schema schema) {
+        TokenBuffer tokens = new TokenBuffer(Json.mapper(), false);
+        try {
+            Json.mapper().writeValue(tokens, schema);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Could not serialize schema", e);
+            return new SchemaFingerprint(null);
+        }
+        return new SchemaFingerprint(tokens);
+    }
+
+    private static int hash(TokenBuffer tokens) {
+        int hash = 1;
+        try (JsonParser parser = tokens.asParser()) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                hash = 31 * hash + token.ordinal();
+                if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                    hash = 31 * hash + Arrays.deepHashCode(new Object[]{parser.getEmbeddedObject()});
+                } else if (token.isScalarValue() || token == JsonToken.FIELD_NAME) {
+                    hash = 31 * hash + Objects.hashCode(parser.getText());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SchemaFingerprint that = (SchemaFingerprint) o;
+        if (hash != that.hash) {
+            return false;
+        }
+        if (tokens == null || that.tokens == null) {
+            return tokens == that.tokens;
+        }
+        try (JsonParser parser = tokens.asParser(); JsonParser other = that.tokens.asParser()) {
+            JsonToken token;
+            do {
+                token = parser.nextToken();
+                if (token != other.nextToken()) {
+                    return false;
+                }
+                if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                    if (!Objects.deepEquals(parser.getEmbeddedObject(), other.getEmbeddedObject())) {
+                        return false;
+                    }
+                } else if (token != null && (token.isScalarValue() || token == JsonToken.FIELD_NAME)
+                        && !Objects.equals(parser.getText(), other.getText())) {
+                    // numbers are compared as written, e.g. 1 and 1L are equal
+                    return false;
+                }
+            } while (token != null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Graph of the references between the schemas of the 'components/schemas' section of an OpenAPI specification, and
+ * of their usage by the paths of the specification.
+ * <p>
+ * The graph is built in a single pass over the specification, after which the usage queries of {@link ModelUtils}
+ * ({@link ModelUtils#getAllUsedSchemas(OpenAPI)}, {@link ModelUtils#getUnusedSchemas(OpenAPI)},
+ * {@link ModelUtils#getSchemasUsedOnlyInFormParam(OpenAPI)}) are answered without traversing it again. The graph is a
+ * snapshot: it must be built again if the specification changes.
+ * <p>
+ * A schema referenced from a path is used with the mime type of the request body or response referencing it, and so
+ * are the schemas it references, unless they were already used from another path.
+ */
+public class SchemaReferenceGraph {
+    private static final int FORM_PARAM = 1;
+    private static final int OTHER = 2;
+
+    private final OpenAPI openAPI;
+    private final Map<String, Schema> schemas;
+    // schemas referenced by each schema of the 'components/schemas' section, in the order they are found
+    private final Map<String, List<String>> references = new HashMap<>();
+    // usage (FORM_PARAM and/or OTHER) of the used schemas, in the order they are first used
+    private final Map<String, Integer> usages = new LinkedHashMap<>();
+    // schemas whose references were followed
+    private final Set<String> visitedSchemas = new HashSet<>();
+
+    /**
+     * Build the graph of a specification.
+     *
+     * @param openAPI specification
+     */
+    public SchemaReferenceGraph(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+        this.schemas = ModelUtils.getSchemas(openAPI);
+        for (Entry<String, Schema> entry : schemas.entrySet()) {
+            List<String> refs = new ArrayList<>();
+            if (entry.getValue() != null) {
+                collectReferences(entry.getValue(), refs, Collections.newSetFromMap(new IdentityHashMap<>()));
+            }
+            references.put(entry.getKey(), refs);
+        }
+        Map<String, PathItem> paths = openAPI.getPaths();
+        if (paths != null) {
+            for (PathItem path : paths.values()) {
+                visitPathItem(path);
+            }
+        }
+    }
+
+    /**
+     * @param name the name of a schema of the 'components/schemas' section
+     * @return the names of the schemas it references directly, in the order they are found, or an empty list
+     */
+    public List<String> getReferences(String name) {
+        List<String> refs = references.get(name);
+        return refs == null ? Collections.emptyList() : Collections.unmodifiableList(refs);
+    }
+
+    /**
+     * @param name the name of a schema
+     * @return true if the schema is used by a path, directly or through other schemas
+     */
+    public boolean isUsed(String name) {
+        return usages.containsKey(name);
+    }
+
+    /**
+     * @return the schemas used by the paths, in the order they are first used
+     * @see ModelUtils#getAllUsedSchemas(OpenAPI)
+     */
+    public List<String> getUsedSchemas() {
+        return new ArrayList<>(usages.keySet());
+    }
+
+    /**
+     * @return the schemas of the 'components/schemas' section which are not used by the paths
+     * @see ModelUtils#getUnusedSchemas(OpenAPI)
+     */
+    public List<String> getUnusedSchemas() {
+        List<String> unusedSchemas = new ArrayList<>();
+        for (String name : schemas.keySet()) {
+            if (!usages.containsKey(name)) {
+                unusedSchemas.add(name);
+            }
+        }
+        return unusedSchemas;
+    }
+
+    /**
+     * @return the schemas used only with the 'application/x-www-form-urlencoded' or 'multipart/form-data' mime types
+     * @see ModelUtils#getSchemasUsedOnlyInFormParam(OpenAPI)
+     */
+    public List<String> getSchemasUsedOnlyInFormParam() {
+        List<String> formParamSchemas = new ArrayList<>();
+        for (Entry<String, Integer> entry : usages.entrySet()) {
+            if (entry.getValue() == FORM_PARAM) {
+                formParamSchemas.add(entry.getKey());
+            }
+        }
+        return formParamSchemas;
+    }
+
+    private void visitPathItem(PathItem pathItem) {
+        List<Operation> allOperations = pathItem.readOperations();
+        if (allOperations != null) {
+            for (Operation operation : allOperations) {
+                //Params:
+                if (operation.getParameters() != null) {
+                    for (Parameter p : operation.getParameters()) {
+                        Parameter parameter = ModelUtils.getReferencedParameter(openAPI, p);
+                        if (parameter.getSchema() != null) {
+                            visitSchema(parameter.getSchema(), null);
+                        }
+                    }
+                }
+
+                //RequestBody:
+                RequestBody requestBody = ModelUtils.getReferencedRequestBody(openAPI, operation.getRequestBody());
+                if (requestBody != null && requestBody.getContent() != null) {
+                    for (Entry<String, MediaType> e : requestBody.getContent().entrySet()) {
+                        if (e.getValue().getSchema() != null) {
+                            visitSchema(e.getValue().getSchema(), e.getKey());
+                        }
+                    }
+                }
+
+                //Responses:
+                if (operation.getResponses() != null) {
+                    for (ApiResponse r : operation.getResponses().values()) {
+                        ApiResponse apiResponse = ModelUtils.getReferencedApiResponse(openAPI, r);
+                        if (apiResponse != null && apiResponse.getContent() != null) {
+                            for (Entry<String, MediaType> e : apiResponse.getContent().entrySet()) {
+                                if (e.getValue().getSchema() != null) {
+                                    visitSchema(e.getValue().getSchema(), e.getKey());
+                                }
+                            }
+                        }
+                    }
+                }
+
+                //Callbacks:
+                if (operation.getCallbacks() != null) {
+                    for (Callback c : operation.getCallbacks().values()) {
+                        Callback callback = ModelUtils.getReferencedCallback(openAPI, c);
+                        if (callback != null) {
+                            for (PathItem p : callback.values()) {
+                                visitPathItem(p);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void visitSchema(Schema schema, String mimeType) {
+        int usage = "application/x-www-form-urlencoded".equalsIgnoreCase(mimeType) ||
+                "multipart/form-data".equalsIgnoreCase(mimeType) ? FORM_PARAM : OTHER;
+        List<String> refs = new ArrayList<>();
+        collectReferences(schema, refs, Collections.newSetFromMap(new IdentityHashMap<>()));
+        for (String ref : refs) {
+            use(ref, usage);
+        }
+    }
+
+    private void use(String ref, int usage) {
+        usages.merge(ref, usage, (a, b) -> a | b);
+        if (ref != null && visitedSchemas.add(ref)) {
+            List<String> refs = references.get(ref);
+            if (refs != null) {
+                for (String r : refs) {
+                    use(r, usage);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect the references of a schema and of its inline schemas, without following the references.
+     */
+    private static void collectReferences(Schema schema, List<String> refs, Set<Schema> visited) {
+        if (!visited.add(schema)) {
+            return;
+        }
+        if (schema.get$ref() != null) {
+            refs.add(ModelUtils.getSimpleRef(schema.get$ref()));
+        }
+        if (schema instanceof ComposedSchema) {
+            ComposedSchema composedSchema = (ComposedSchema) schema;
+            for (List<Schema> components : Arrays.asList(composedSchema.getOneOf(), composedSchema.getAllOf(),
+                    composedSchema.getAnyOf())) {
+                if (components != null) {
+                    for (Schema s : components) {
+                        collectReferences(s, refs, visited);
+                    }
+                }
+            }
+        } else if (schema instanceof ArraySchema) {
+            Schema itemsSchema = ((ArraySchema) schema).getItems();
+            if (itemsSchema != null) {
+                collectReferences(itemsSchema, refs, visited);
+            }
+        } else if (ModelUtils.isMapSchema(schema)) {
+            Object additionalProperties = schema.getAdditionalProperties();
+            if (additionalProperties instanceof Schema) {
+                collectReferences((Schema) additionalProperties, refs, visited);
+            }
+        }
+        if (schema.getNot() != null) {
+            collectReferences(schema.getNot(), refs, visited);
+        }
+        Map<String, Schema> properties = schema.getProperties();
+        if (properties != null) {
+            for (Schema property : properties.values()) {
+                collectReferences(property, refs, visited);
+            }
+        }
+    }
+}
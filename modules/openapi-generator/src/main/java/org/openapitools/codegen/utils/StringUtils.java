@@ -1,5 +1,9 @@
 package org.openapitools.codegen.utils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.tuple.Pair;
+
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -7,6 +11,24 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class StringUtils {
+
+    // names are converted many times during a generation (e.g. in toVarName, toModelName, toApiName), so the results
+    // are memoized; the caches are bounded as the same JVM may run many generations
+    private static final int CACHE_SIZE = 100_000;
+
+    private static final Cache<Pair<String, Boolean>, String> camelizedWords = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build();
+
+    private static final Cache<String, String> underscoredWords = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build();
+
+    private static final Pattern CAMELIZE_SLASH_PATTERN = Pattern.compile("\\/(.?)");
+    private static final Pattern CAMELIZE_UPPERCASE_PATTERN = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+    private static final Pattern CAMELIZE_UNDERSCORE_PATTERN = Pattern.compile("(_)(.)");
+    private static final Pattern CAMELIZE_HYPHEN_PATTERN = Pattern.compile("(-)(.)");
+
     /**
      * Underscore the given word.
      * Copied from Twitter elephant bird
@@ -16,21 +38,51 @@ public class StringUtils {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z])";
-        String secondPattern = "([a-z\\d])([A-Z])";
-        String replacementPattern = "$1_$2";
-        // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-        // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
-        // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
-        word = word.replace('-', '_');
-        // replace space with underscore
-        word = word.replace(' ', '_');
-        word = word.toLowerCase(Locale.ROOT);
-        return word;
+        String result = underscoredWords.getIfPresent(word);
+        if (result == null) {
+            result = doUnderscore(word);
+            underscoredWords.put(word, result);
+        }
+        return result;
+    }
+
+    /**
+     * Single pass equivalent of the original regular expressions:
+     * <ul>
+     * <li>replace package separator with slash: {@code replaceAll("\\.", "/")}</li>
+     * <li>replace $ with two underscores for inner classes: {@code replaceAll("\\$", "__")}</li>
+     * <li>replace capital letter with _ plus lowercase letter: {@code replaceAll("([A-Z]+)([A-Z][a-z])", "$1_$2")}
+     * then {@code replaceAll("([a-z\\d])([A-Z])", "$1_$2")}</li>
+     * <li>replace hyphens and spaces with underscores, then lower case the word</li>
+     * </ul>
+     */
+    private static String doUnderscore(String word) {
+        StringBuilder separated = new StringBuilder(word.length() + 4);
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c == '.') {
+                separated.append('/');
+            } else if (c == '$') {
+                separated.append("__");
+            } else {
+                separated.append(c);
+            }
+        }
+
+        int length = separated.length();
+        StringBuilder result = new StringBuilder(length + 8);
+        for (int i = 0; i < length; i++) {
+            char c = separated.charAt(i);
+            result.append(c == '-' || c == ' ' ? '_' : c);
+            if (i + 1 < length && isAsciiUpperCase(separated.charAt(i + 1))) {
+                // "ABc" => "A_Bc", "aB" => "a_B", "1B" => "1_B"
+                if ((isAsciiUpperCase(c) && i + 2 < length && isAsciiLowerCase(separated.charAt(i + 2)))
+                        || isAsciiLowerCase(c) || (c >= '0' && c <= '9')) {
+                    result.append('_');
+                }
+            }
+        }
+        return result.toString().toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -40,7 +92,7 @@ public class StringUtils {
      * @return The dashized version of the word, e.g. "my-name"
      */
     public static String dashize(String word) {
-        return underscore(word).replaceAll("[_ ]", "-");
+        return underscore(word).replace('_', '-').replace(' ', '-');
     }
 
     /**
@@ -63,12 +115,111 @@ public class StringUtils {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
+        Pair<String, Boolean> key = Pair.of(word, lowercaseFirstLetter);
+        String result = camelizedWords.getIfPresent(key);
+        if (result == null) {
+            result = isSimpleWord(word) ? doCamelize(word, lowercaseFirstLetter) : camelizeWithPatterns(word, lowercaseFirstLetter);
+            camelizedWords.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the word is made of printable ASCII characters whose camelization does not depend on how
+     * {@link Matcher#replaceFirst(String)} interprets them (backslashes, and dollars after a separator)
+     */
+    private static boolean isSimpleWord(String word) {
+        boolean dollar = false;
+        boolean separator = false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < ' ' || c > '~' || c == '\\') {
+                return false;
+            }
+            dollar |= c == '$';
+            separator |= c == '/' || c == '-';
+        }
+        return !(dollar && separator);
+    }
+
+    /**
+     * Linear equivalent of {@link #camelizeWithPatterns(String, boolean)} for simple words, see
+     * {@link #isSimpleWord(String)}.
+     */
+    private static String doCamelize(String word, boolean lowercaseFirstLetter) {
+        int length = word.length();
+
+        // slashes and dots separate parts (e.g. package names), which are upper cased and joined
+        StringBuilder joined = new StringBuilder(length);
+        boolean partStart = true;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '/' || c == '.') {
+                partStart = true;
+            } else {
+                joined.append(partStart ? toAsciiUpperCase(c) : c);
+                partStart = false;
+            }
+        }
+
+        // upper case the first word character
+        for (int i = 0; i < joined.length(); i++) {
+            char c = joined.charAt(i);
+            if (isAsciiLowerCase(c) || isAsciiUpperCase(c) || (c >= '0' && c <= '9') || c == '_') {
+                joined.setCharAt(i, toAsciiUpperCase(c));
+                break;
+            }
+        }
+
+        // remove underscores followed by a character, upper casing lower case letters (underscore_case to camelCase)
+        StringBuilder underscored = new StringBuilder(joined.length());
+        for (int i = 0; i < joined.length(); i++) {
+            char c = joined.charAt(i);
+            if (c == '_' && i + 1 < joined.length()) {
+                char next = joined.charAt(i + 1);
+                if (isAsciiLowerCase(next)) {
+                    underscored.append(toAsciiUpperCase(next));
+                    i++;
+                }
+            } else {
+                underscored.append(c);
+            }
+        }
+
+        // replace hyphens followed by a character with the upper cased character (hyphen-case to camelCase)
+        StringBuilder hyphenated = new StringBuilder(underscored.length());
+        for (int i = 0; i < underscored.length(); i++) {
+            char c = underscored.charAt(i);
+            if (c == '-' && i + 1 < underscored.length()) {
+                char next = underscored.charAt(i + 1);
+                if (next != '-') {
+                    hyphenated.append(toAsciiUpperCase(next));
+                    i++;
+                }
+            } else {
+                hyphenated.append(c);
+            }
+        }
+
+        String result = hyphenated.toString();
+        if (lowercaseFirstLetter && result.length() > 0) {
+            result = lowercaseFirstLetter(result);
+        }
+
+        // remove all underscore
+        return result.replace("_", "");
+    }
+
+    /**
+     * Camelize with the original regular expressions, for words which are not handled by
+     * {@link #doCamelize(String, boolean)}.
+     */
+    private static String camelizeWithPatterns(String word, boolean lowercaseFirstLetter) {
         // Replace all slashes with dots (package separator)
-        Pattern p = Pattern.compile("\\/(.?)");
-        Matcher m = p.matcher(word);
+        Matcher m = CAMELIZE_SLASH_PATTERN.matcher(word);
         while (m.find()) {
             word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-            m = p.matcher(word);
+            m = CAMELIZE_SLASH_PATTERN.matcher(word);
         }
 
         // case out dots
@@ -81,15 +232,14 @@ public class StringUtils {
         }
         word = f.toString();
 
-        m = p.matcher(word);
+        m = CAMELIZE_SLASH_PATTERN.matcher(word);
         while (m.find()) {
             word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1)/*.toUpperCase()*/);
-            m = p.matcher(word);
+            m = CAMELIZE_SLASH_PATTERN.matcher(word);
         }
 
         // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
-        m = p.matcher(word);
+        m = CAMELIZE_UPPERCASE_PATTERN.matcher(word);
         if (m.find()) {
             String rep = m.group(1) + m.group(2).toUpperCase(Locale.ROOT) + m.group(3);
             rep = rep.replaceAll("\\$", "\\\\\\$");
@@ -97,8 +247,7 @@ public class StringUtils {
         }
 
         // Remove all underscores (underscore_case to camelCase)
-        p = Pattern.compile("(_)(.)");
-        m = p.matcher(word);
+        m = CAMELIZE_UNDERSCORE_PATTERN.matcher(word);
         while (m.find()) {
             String original = m.group(2);
             String upperCase = original.toUpperCase(Locale.ROOT);
@@ -107,26 +256,18 @@ public class StringUtils {
             } else {
                 word = m.replaceFirst(upperCase);
             }
-            m = p.matcher(word);
+            m = CAMELIZE_UNDERSCORE_PATTERN.matcher(word);
         }
 
         // Remove all hyphens (hyphen-case to camelCase)
-        p = Pattern.compile("(-)(.)");
-        m = p.matcher(word);
+        m = CAMELIZE_HYPHEN_PATTERN.matcher(word);
         while (m.find()) {
             word = m.replaceFirst(m.group(2).toUpperCase(Locale.ROOT));
-            m = p.matcher(word);
+            m = CAMELIZE_HYPHEN_PATTERN.matcher(word);
         }
 
         if (lowercaseFirstLetter && word.length() > 0) {
-            int i = 0;
-            char charAt = word.charAt(i);
-            while (i + 1 < word.length() && !((charAt >= 'a' && charAt <= 'z') || (charAt >= 'A' && charAt <= 'Z'))) {
-                i = i + 1;
-                charAt = word.charAt(i);
-            }
-            i = i + 1;
-            word = word.substring(0, i).toLowerCase(Locale.ROOT) + word.substring(i);
+            word = lowercaseFirstLetter(word);
         }
 
         // remove all underscore
@@ -135,6 +276,32 @@ public class StringUtils {
         return word;
     }
 
+    /**
+     * Lower case the word up to its first ASCII letter (included).
+     */
+    private static String lowercaseFirstLetter(String word) {
+        int i = 0;
+        char charAt = word.charAt(i);
+        while (i + 1 < word.length() && !((charAt >= 'a' && charAt <= 'z') || (charAt >= 'A' && charAt <= 'Z'))) {
+            i = i + 1;
+            charAt = word.charAt(i);
+        }
+        i = i + 1;
+        return word.substring(0, i).toLowerCase(Locale.ROOT) + word.substring(i);
+    }
+
+    private static boolean isAsciiUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLowerCase(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static char toAsciiUpperCase(char c) {
+        return isAsciiLowerCase(c) ? (char) (c - ('a' - 'A')) : c;
+    }
+
     /**
      * Return the name with escaped characters.
      *
@@ -0,0 +1,54 @@
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.openapitools.codegen.languages.SpringCodegen;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+public class CodegenConfigLoaderTest {
+
+    @Test
+    public void testIndexIsWrittenByTheBuild() throws Exception {
+        Path index = Files.createTempFile("codegen-configs", "");
+        try {
+            CodegenConfigLoader.writeIndex(index, CodegenConfigLoaderTest.class.getClassLoader());
+            Assert.assertEquals(new String(Files.readAllBytes(Paths.get("target/classes", CodegenConfigLoader.INDEX)), StandardCharsets.UTF_8),
+                    new String(Files.readAllBytes(index), StandardCharsets.UTF_8));
+        } finally {
+            Files.delete(index);
+        }
+    }
+
+    @Test
+    public void testNames() {
+        List<String> names = new ArrayList<>();
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            names.add(config.getName());
+        }
+        Assert.assertEquals(CodegenConfigLoader.getNames(), names);
+        Assert.assertTrue(CodegenConfigLoader.getNames(CodegenType.CLIENT).contains("java"));
+        Assert.assertFalse(CodegenConfigLoader.getNames(CodegenType.CLIENT).contains("spring"));
+        Assert.assertTrue(CodegenConfigLoader.getNames(CodegenType.SERVER).contains("spring"));
+        Assert.assertEquals(CodegenConfigLoader.getAll().size(), names.size());
+    }
+
+    @Test
+    public void testForName() {
+        Assert.assertEquals(CodegenConfigLoader.forName("java").getClass(), JavaClientCodegen.class);
+        Assert.assertEquals(CodegenConfigLoader.forName("spring").getClass(), SpringCodegen.class);
+        Assert.assertEquals(CodegenConfigLoader.forName(SpringCodegen.class.getName()).getClass(), SpringCodegen.class);
+    }
+
+    @Test(expectedExceptions = GeneratorNotFoundException.class)
+    public void testForUnknownName() {
+        CodegenConfigLoader.forName("unknown");
+    }
+}
@@ -18,6 +18,7 @@
 package org.openapitools.codegen;
 
 import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
@@ -35,6 +36,7 @@ import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.parser.core.models.ParseOptions;
 
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.StringUtilsTest;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -46,11 +48,94 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 
 public class DefaultCodegenTest {
 
+    @Test(description = "sanitizeName gives the same results as the original replaceAll implementation")
+    public void testSanitizeNameSameResultsAsRegexImplementation() throws Exception {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        for (boolean allowUnicodeIdentifiers : new boolean[]{false, true}) {
+            codegen.setAllowUnicodeIdentifiers(allowUnicodeIdentifiers);
+            for (String regex : new String[]{"\\W", "[^\\w$]", "\\W-[\\$]"}) {
+                for (String name : StringUtilsTest.words()) {
+                    String expected = legacySanitizeName(name, regex, allowUnicodeIdentifiers);
+                    Assert.assertEquals(codegen.sanitizeName(name, regex), expected, name);
+                    // memoized
+                    Assert.assertEquals(codegen.sanitizeName(name, regex), expected, name);
+                }
+            }
+        }
+        Assert.assertEquals(codegen.sanitizeName(null), "ERROR_UNKNOWN");
+        Assert.assertEquals(codegen.sanitizeName("$"), "value");
+    }
+
+    private static String legacySanitizeName(String name, String removeCharRegEx, boolean allowUnicodeIdentifiers) {
+        if ("$".equals(name)) {
+            return "value";
+        }
+        name = name.replaceAll("\\[\\]", "");
+        name = name.replaceAll("\\[", "_");
+        name = name.replaceAll("\\]", "");
+        name = name.replaceAll("\\(", "_");
+        name = name.replaceAll("\\)", "");
+        name = name.replaceAll("\\.", "_");
+        name = name.replaceAll("-", "_");
+        name = name.replace("|", "_");
+        name = name.replaceAll(" ", "_");
+        if (allowUnicodeIdentifiers) {
+            return Pattern.compile(removeCharRegEx, Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+        }
+        return name.replaceAll(removeCharRegEx, "");
+    }
+
+    @Test
+    public void testJsonSchemaIsSerializedOnAccess() {
+        final Schema schema = new ObjectSchema()
+                .description("a pet")
+                .addProperties("name", new StringSchema());
+        final DefaultCodegen codegen = new DefaultCodegen();
+
+        CodegenModel model = codegen.fromModel("Pet", schema, Collections.singletonMap("Pet", schema));
+        Assert.assertNull(model.modelJson);
+        Assert.assertEquals(model.getModelJson(), Json.pretty(schema));
+        Assert.assertEquals(model.modelJson, Json.pretty(schema));
+
+        CodegenProperty property = codegen.fromProperty("name", schema);
+        Assert.assertNull(property.jsonSchema);
+        Assert.assertEquals(property.getJsonSchema(), Json.pretty(schema));
+
+        // copies are serialized on their own
+        CodegenProperty copy = codegen.fromProperty("name", schema).clone();
+        Assert.assertEquals(copy.getJsonSchema(), Json.pretty(schema));
+
+        property.setJsonSchema("{}");
+        Assert.assertEquals(property.getJsonSchema(), "{}");
+    }
+
+    @Test(description = "examples generated after the conversion are not serialized")
+    public void testJsonSchemaWithGeneratedExample() {
+        final Schema schema = new ObjectSchema()
+                .description("a pet")
+                .addProperties("name", new StringSchema().example("doggie"));
+        final String json = Json.pretty(schema);
+        final DefaultCodegen codegen = new DefaultCodegen();
+
+        CodegenModel model = codegen.fromModel("Pet", schema, Collections.singletonMap("Pet", schema));
+        CodegenProperty property = codegen.fromProperty("name", schema);
+        // as ExampleGenerator does
+        schema.setExample(Collections.singletonMap("name", "doggie"));
+        Assert.assertEquals(model.getModelJson(), json);
+        Assert.assertEquals(property.getJsonSchema(), json);
+
+        // examples from the spec are
+        CodegenProperty withExample = codegen.fromProperty("name", schema);
+        Assert.assertEquals(withExample.getJsonSchema(), Json.pretty(schema));
+        Assert.assertNotEquals(withExample.getJsonSchema(), json);
+    }
+
     @Test
     public void testHasBodyParameter() throws Exception {
         final Schema refSchema = new Schema<>().$ref("#/components/schemas/Pet");
@@ -1,20 +1,43 @@
 package org.openapitools.codegen;
 
+import com.samskivert.mustache.Mustache;
+import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.StringSchema;
 import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.parser.core.models.ParseOptions;
 
+import org.apache.commons.lang3.SystemUtils;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.openapitools.codegen.metrics.GenerationListener;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DefaultGeneratorTest {
 
@@ -47,4 +70,559 @@ public class DefaultGeneratorTest {
         Assert.assertEquals(defaultList.get(3).path, "/path4");
         Assert.assertEquals(defaultList.get(3).allParams.size(), 1);
     }
+
+    @Test
+    public void testProcessPathsWithSeveralTags() throws Exception {
+        OpenAPI openAPI = new OpenAPIParser()
+                .readLocation("src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml", null, new ParseOptions())
+                .getOpenAPI();
+        int operationCount = 0;
+        for (PathItem path : openAPI.getPaths().values()) {
+            for (Operation operation : path.readOperations()) {
+                operation.addTagsItem("docs");
+                operation.addTagsItem("all");
+                operationCount++;
+            }
+        }
+
+        AtomicInteger conversions = new AtomicInteger();
+        DefaultCodegen config = new DefaultCodegen() {
+            @Override
+            public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, Map<String, Schema> schemas, OpenAPI openAPI) {
+                conversions.incrementAndGet();
+                return super.fromOperation(path, httpMethod, operation, schemas, openAPI);
+            }
+        };
+        ClientOptInput opts = new ClientOptInput();
+        opts.setOpenAPI(openAPI);
+        opts.setConfig(config);
+        opts.setOpts(new ClientOpts());
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(opts);
+        Map<String, List<CodegenOperation>> result = generator.processPaths(openAPI.getPaths());
+        Assert.assertEquals(conversions.get(), operationCount);
+
+        List<CodegenOperation> docs = result.get("Docs");
+        List<CodegenOperation> all = result.get("All");
+        Assert.assertEquals(docs.size(), operationCount);
+        Assert.assertEquals(all.size(), operationCount);
+        int withAuthMethods = 0;
+        for (int i = 0; i < operationCount; i++) {
+            CodegenOperation op = all.get(i);
+            Assert.assertEquals(op.baseName, "All");
+            Assert.assertEquals(op.copy(), op);
+
+            // same as converting the operation for each tag, without sharing anything which can be changed
+            CodegenOperation other = docs.get(i).copy();
+            other.baseName = op.baseName;
+            Assert.assertEquals(other, op);
+            Assert.assertNotSame(docs.get(i).allParams, op.allParams);
+            for (int j = 0; j < op.allParams.size(); j++) {
+                Assert.assertNotSame(docs.get(i).allParams.get(j), op.allParams.get(j));
+            }
+            if (op.authMethods != null) {
+                withAuthMethods++;
+                Assert.assertNotSame(docs.get(i).authMethods.get(0), op.authMethods.get(0));
+            }
+
+            Operation operation = openAPI.getPaths().get(op.path).readOperationsMap().get(PathItem.HttpMethod.valueOf(op.httpMethod));
+            CodegenOperation expected = config.fromOperation(op.path, op.httpMethod.toLowerCase(Locale.ROOT), operation,
+                    openAPI.getComponents().getSchemas(), openAPI);
+            config.addOperationToGroup(config.sanitizeTag("all"), op.path, operation, expected, new HashMap<>());
+            expected.tags = op.tags;
+            expected.authMethods = op.authMethods;
+            expected.hasAuthMethods = op.hasAuthMethods;
+            Assert.assertEquals(op, expected);
+        }
+        Assert.assertTrue(withAuthMethods > 0);
+    }
+
+    @Test
+    public void testTemplateCacheSharedAcrossRuns() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        TemplateCache templateCache = new TemplateCache();
+        MockDefaultGenerator first = new MockDefaultGenerator();
+        first.setTemplateCache(templateCache);
+        first.opts(configurator.toClientOptInput()).generate();
+
+        // every model and api file after the first one is rendered from the cache
+        long misses = templateCache.getMissCount();
+        Assert.assertTrue(templateCache.getHitCount() > 0);
+        Assert.assertEquals(templateCache.size(), misses);
+
+        MockDefaultGenerator second = new MockDefaultGenerator();
+        second.setTemplateCache(templateCache);
+        second.opts(configurator.toClientOptInput()).generate();
+
+        Assert.assertEquals(templateCache.getMissCount(), misses);
+        Assert.assertEquals(second.getFiles(), first.getFiles());
+    }
+
+    @Test
+    public void testSharedTemplateCacheDoesNotKeepGenerators() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        TemplateCache templateCache = new TemplateCache();
+        WeakReference<DefaultGenerator> generator = generate(configurator, templateCache);
+        Assert.assertTrue(templateCache.size() > 0);
+        // the partials of the cached templates are loaded without the generator which compiled them
+        for (int i = 0; i < 20 && generator.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Assert.assertNull(generator.get());
+    }
+
+    private static WeakReference<DefaultGenerator> generate(CodegenConfigurator configurator, TemplateCache templateCache) {
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.setTemplateCache(templateCache);
+        generator.opts(configurator.toClientOptInput()).generate();
+        return new WeakReference<>(generator);
+    }
+
+    @Test
+    public void testSharedTemplateCacheWithCustomTemplates() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        File templates = Files.createTempDirectory("templates").toFile();
+        File licenseInfo = new File(templates, "licenseInfo.mustache");
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setTemplateDir(templates.getAbsolutePath())
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+        String pet = output.getAbsolutePath().replace("\\", "/") + "/src/main/java/org/openapitools/client/model/Pet.java";
+
+        TemplateCache templateCache = new TemplateCache();
+        Files.write(licenseInfo.toPath(), "// first license".getBytes(StandardCharsets.UTF_8));
+        MockDefaultGenerator first = new MockDefaultGenerator();
+        first.setTemplateCache(templateCache);
+        first.opts(configurator.toClientOptInput()).generate();
+        Assert.assertTrue(first.getFiles().get(pet).startsWith("// first license"));
+
+        // the templates of a custom folder may change between runs, they are not shared
+        Files.write(licenseInfo.toPath(), "// second license".getBytes(StandardCharsets.UTF_8));
+        MockDefaultGenerator second = new MockDefaultGenerator();
+        second.setTemplateCache(templateCache);
+        second.opts(configurator.toClientOptInput()).generate();
+        Assert.assertTrue(second.getFiles().get(pet).startsWith("// second license"));
+        Assert.assertEquals(templateCache.size(), 0);
+    }
+
+    @Test
+    public void testSharedTemplateCacheWithCustomizedCompiler() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("html")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        // the compiler of the generator has another escaper, its templates are not shared
+        TemplateCache templateCache = new TemplateCache();
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.setTemplateCache(templateCache);
+        generator.opts(configurator.toClientOptInput()).generate();
+        Assert.assertFalse(generator.getFiles().isEmpty());
+        Assert.assertEquals(templateCache.size(), 0);
+    }
+
+    @Test
+    public void testParallelRenderingIsDeterministic() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        MockDefaultGenerator serial = new MockDefaultGenerator();
+        List<File> serialFiles = serial.opts(configurator.toClientOptInput()).generate();
+
+        MockDefaultGenerator parallel = new MockDefaultGenerator();
+        parallel.setGeneratorPropertyDefault(CodegenConstants.PARALLELISM, "4");
+        List<File> parallelFiles = parallel.opts(configurator.toClientOptInput()).generate();
+
+        Assert.assertEquals(parallelFiles, serialFiles);
+        Assert.assertEquals(parallel.getFiles(), serial.getFiles());
+    }
+
+    @Test
+    public void testParallelOperationsAreDeterministic() throws Exception {
+        for (String generatorName : new String[]{"java", "python", "go", "typescript-angular", "html2", "ruby"}) {
+            File output = Files.createTempDirectory("test").toFile();
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName(generatorName)
+                    .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                    .setInputSpec("src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml")
+                    .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+            MockDefaultGenerator serial = new MockDefaultGenerator();
+            List<File> serialFiles = serial.opts(configurator.toClientOptInput()).generate();
+
+            MockDefaultGenerator parallel = new MockDefaultGenerator();
+            parallel.setGeneratorPropertyDefault(CodegenConstants.PARALLEL_OPERATIONS, "true");
+            parallel.setGeneratorPropertyDefault(CodegenConstants.PARALLELISM, "4");
+            List<File> parallelFiles = parallel.opts(configurator.toClientOptInput()).generate();
+
+            Assert.assertEquals(parallelFiles, serialFiles, generatorName);
+            Assert.assertEquals(parallel.getFiles(), serial.getFiles(), generatorName);
+        }
+    }
+
+    @Test
+    public void testParallelOperationsWithGeneratedExamples() throws Exception {
+        // the examples of the models are generated, and completed in the order of the operations
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("spring")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setInputSpec("src/test/resources/3_0/nested-examples.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        MockDefaultGenerator serial = new MockDefaultGenerator();
+        serial.opts(configurator.toClientOptInput()).generate();
+
+        for (int i = 0; i < 5; i++) {
+            MockDefaultGenerator parallel = new MockDefaultGenerator();
+            parallel.setGeneratorPropertyDefault(CodegenConstants.PARALLEL_OPERATIONS, "true");
+            parallel.setGeneratorPropertyDefault(CodegenConstants.PARALLELISM, "4");
+            parallel.opts(configurator.toClientOptInput()).generate();
+            Assert.assertEquals(parallel.getFiles(), serial.getFiles());
+        }
+
+        // the operations are converted concurrently, and the examples complete the schemas as in serial conversion
+        OpenAPI serialSpec = parseNestedExamples();
+        OpenAPI parallelSpec = parseNestedExamples();
+        Assert.assertEquals(conversionThreads(serialSpec, false), Collections.singleton(Thread.currentThread().getName()));
+        Set<String> threads = conversionThreads(parallelSpec, true);
+        Assert.assertFalse(threads.isEmpty());
+        Assert.assertFalse(threads.contains(Thread.currentThread().getName()));
+        for (Map.Entry<String, Schema> entry : serialSpec.getComponents().getSchemas().entrySet()) {
+            Assert.assertEquals(parallelSpec.getComponents().getSchemas().get(entry.getKey()).getExample(),
+                    entry.getValue().getExample(), entry.getKey());
+        }
+    }
+
+    private static OpenAPI parseNestedExamples() {
+        OpenAPI openAPI = new OpenAPIParser()
+                .readLocation("src/test/resources/3_0/nested-examples.yaml", null, new ParseOptions())
+                .getOpenAPI();
+        for (Schema schema : openAPI.getComponents().getSchemas().values()) {
+            Assert.assertNull(schema.getExample());
+        }
+        return openAPI;
+    }
+
+    private static Set<String> conversionThreads(OpenAPI openAPI, boolean parallel) {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        DefaultCodegen config = new DefaultCodegen() {
+            @Override
+            public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, Map<String, Schema> schemas, OpenAPI openAPI) {
+                threads.add(Thread.currentThread().getName());
+                return super.fromOperation(path, httpMethod, operation, schemas, openAPI);
+            }
+        };
+        ClientOptInput opts = new ClientOptInput();
+        opts.setOpenAPI(openAPI);
+        opts.setConfig(config);
+        opts.setOpts(new ClientOpts());
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setGeneratorPropertyDefault(CodegenConstants.PARALLEL_OPERATIONS, Boolean.toString(parallel));
+        generator.setGeneratorPropertyDefault(CodegenConstants.PARALLELISM, "4");
+        generator.opts(opts);
+        generator.processPaths(openAPI.getPaths());
+        return threads;
+    }
+
+    @Test
+    public void testLowMemoryGenerationGivesSameFiles() throws Exception {
+        // html2 and typescript-node do not support summarizing models and keep them
+        for (String generatorName : new String[]{"java", "python", "go", "typescript-angular", "ruby", "csharp", "php", "spring", "kotlin", "html2", "typescript-node"}) {
+            File output = Files.createTempDirectory("test").toFile();
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName(generatorName)
+                    .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                    .addAdditionalProperty(CodegenConstants.OPTIONAL_PROJECT_GUID, "{3AB1F259-1769-484B-9411-84FAD5C4EB6C}")
+                    .setInputSpec("src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml")
+                    .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+            MockDefaultGenerator generator = new MockDefaultGenerator();
+            List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+
+            MockDefaultGenerator lowMemory = new MockDefaultGenerator();
+            lowMemory.setGeneratorPropertyDefault(CodegenConstants.LOW_MEMORY, "true");
+            List<File> lowMemoryFiles = lowMemory.opts(configurator.toClientOptInput()).generate();
+
+            Assert.assertEquals(lowMemoryFiles, files, generatorName);
+            Assert.assertEquals(lowMemory.getFiles(), generator.getFiles(), generatorName);
+        }
+    }
+
+    @Test
+    public void testIncrementalGeneration() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setIncremental(true)
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        Assert.assertTrue(new File(output, GenerationManifest.MANIFEST_FILE).isFile());
+
+        File petModel = new File(output, "src/main/java/org/openapitools/client/model/Pet.java");
+        File petApiTest = new File(output, "src/test/java/org/openapitools/client/api/PetApiTest.java");
+        Assert.assertTrue(petModel.isFile());
+        Assert.assertTrue(petApiTest.isFile());
+        Files.write(petModel.toPath(), "unchanged".getBytes(StandardCharsets.UTF_8));
+
+        // same inputs: the model is neither rendered nor written again, although the generation date changed
+        List<File> files = new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        Assert.assertTrue(files.contains(petModel));
+        Assert.assertEquals(new String(Files.readAllBytes(petModel.toPath()), StandardCharsets.UTF_8), "unchanged");
+
+        // the files of the petstore are no longer generated and get deleted, except user maintained tests
+        configurator.setInputSpec("src/test/resources/3_0/ping.yaml");
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        Assert.assertFalse(petModel.exists());
+        Assert.assertTrue(petApiTest.exists());
+        Assert.assertTrue(new File(output, "src/main/java/org/openapitools/client/api/DefaultApi.java").isFile());
+    }
+
+    @Test
+    public void testIncrementalGenerationOfChildModels() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        File spec = new File(output, "spec.yaml");
+        String parent = "    Parent:\n"
+                + "      type: object\n"
+                + "      required: [name]\n"
+                + "      properties:\n"
+                + "        name:\n"
+                + "          type: string\n";
+        String others = "    Child:\n"
+                + "      allOf:\n"
+                + "        - $ref: '#/components/schemas/Parent'\n"
+                + "        - type: object\n"
+                + "          properties:\n"
+                + "            toy:\n"
+                + "              type: string\n"
+                + "    Other:\n"
+                + "      type: object\n"
+                + "      properties:\n"
+                + "        id:\n"
+                + "          type: integer\n";
+        String document = "openapi: 3.0.1\n"
+                + "info:\n"
+                + "  title: children\n"
+                + "  version: 1.0.0\n"
+                + "paths: {}\n"
+                + "components:\n"
+                + "  schemas:\n";
+        Files.write(spec.toPath(), (document + parent + others).getBytes(StandardCharsets.UTF_8));
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("javascript")
+                .setIncremental(true)
+                .setInputSpec(spec.getAbsolutePath())
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        File child = new File(output, "src/model/Child.js");
+        File other = new File(output, "src/model/Other.js");
+        Files.write(child.toPath(), "unchanged".getBytes(StandardCharsets.UTF_8));
+        Files.write(other.toPath(), "unchanged".getBytes(StandardCharsets.UTF_8));
+
+        // the child model is rendered with its parent model, which gets a required property
+        parent = parent.replace("required: [name]", "required: [name, age]") + "        age:\n          type: integer\n";
+        Files.write(spec.toPath(), (document + parent + others).getBytes(StandardCharsets.UTF_8));
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        String childContent = new String(Files.readAllBytes(child.toPath()), StandardCharsets.UTF_8);
+        Assert.assertTrue(childContent.contains("Parent.call(_this, name, age)"), childContent);
+        Assert.assertEquals(new String(Files.readAllBytes(other.toPath()), StandardCharsets.UTF_8), "unchanged");
+    }
+
+    @Test
+    public void testWriteTemplateToFile() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        File file = new File(output, "hello.txt");
+        Files.write(file.toPath(), "previous".getBytes(StandardCharsets.UTF_8));
+        DefaultGenerator generator = new DefaultGenerator();
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("name", "world");
+        generator.writeTemplateToFile(file.getPath(), Mustache.compiler().compile("Hello {{name}}"), context);
+        Assert.assertEquals(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), "Hello world");
+        Assert.assertEquals(output.list(), new String[]{"hello.txt"});
+
+        // a failed rendering leaves the file untouched
+        context.put("fail", (Mustache.Lambda) (fragment, out) -> {
+            throw new IOException("failed");
+        });
+        try {
+            generator.writeTemplateToFile(file.getPath(), Mustache.compiler().compile("Bye {{#fail}}{{name}}{{/fail}}"), context);
+            Assert.fail("the rendering should fail");
+        } catch (IOException | RuntimeException e) {
+            // expected
+        }
+        Assert.assertEquals(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), "Hello world");
+        Assert.assertEquals(output.list(), new String[]{"hello.txt"});
+    }
+
+    @Test
+    public void testSchemaJsonOnlyKeptForTemplatesReadingIt() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+        ClientOptInput input = configurator.toClientOptInput();
+        new MockDefaultGenerator().opts(input).generate();
+        Assert.assertFalse(input.getConfig().isSchemaJsonEnabled());
+
+        configurator.setGeneratorName("html2");
+        input = configurator.toClientOptInput();
+        new MockDefaultGenerator().opts(input).generate();
+        Assert.assertTrue(input.getConfig().isSchemaJsonEnabled());
+
+        // read by a partial, after a change of delimiters
+        File templates = Files.createTempDirectory("templates").toFile();
+        Files.write(new File(templates, "licenseInfo.mustache").toPath(),
+                "{{=<% %>=}}<%>schema%>".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(templates, "schema.mustache").toPath(),
+                "/* {{#models}}{{#model}}{{{modelJson}}}{{/model}}{{/models}} */".getBytes(StandardCharsets.UTF_8));
+        configurator.setGeneratorName("java").setTemplateDir(templates.getAbsolutePath());
+        input = configurator.toClientOptInput();
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.opts(input).generate();
+        Assert.assertTrue(input.getConfig().isSchemaJsonEnabled());
+        String pet = generator.getFiles().get(output.getAbsolutePath().replace("\\", "/") + "/src/main/java/org/openapitools/client/model/Pet.java");
+        Assert.assertTrue(pet.startsWith("/* {\n  \"title\" : \"a Pet\","), pet);
+    }
+
+    @Test
+    public void testWriteIfChanged() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setWriteIfChanged(true)
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        DefaultGenerator first = new DefaultGenerator();
+        first.opts(configurator.toClientOptInput()).generate();
+        Assert.assertTrue(first.getUnchangedFiles().isEmpty());
+
+        File petModel = new File(output, "src/main/java/org/openapitools/client/model/Pet.java");
+        File tagModel = new File(output, "src/main/java/org/openapitools/client/model/Tag.java");
+        Assert.assertTrue(petModel.setLastModified(0));
+        String tagContents = new String(Files.readAllBytes(tagModel.toPath()), StandardCharsets.UTF_8);
+        Files.write(tagModel.toPath(), "modified".getBytes(StandardCharsets.UTF_8));
+
+        DefaultGenerator second = new DefaultGenerator();
+        List<File> files = second.opts(configurator.toClientOptInput()).generate();
+        Assert.assertTrue(files.contains(petModel));
+        Assert.assertTrue(second.getUnchangedFiles().contains(petModel));
+        Assert.assertEquals(petModel.lastModified(), 0);
+        Assert.assertFalse(second.getUnchangedFiles().contains(tagModel));
+        Assert.assertEquals(new String(Files.readAllBytes(tagModel.toPath()), StandardCharsets.UTF_8), tagContents);
+    }
+
+    @Test
+    public void testPostProcessFileBatches() throws Exception {
+        if (SystemUtils.IS_OS_WINDOWS) {
+            throw new SkipException("the post-processing commands are Unix commands");
+        }
+        File output = Files.createTempDirectory("test").toFile();
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            files.add(new File(output, "file" + i + ".txt"));
+        }
+        AtomicInteger postProcessed = new AtomicInteger();
+        GenerationListener listener = new GenerationListener() {
+            @Override
+            public void filePostProcessed(File file, String fileType, long nanos) {
+                postProcessed.incrementAndGet();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // each batch holds at most 4 files
+            int maxCommandLength = "touch".length() + 4 * (files.get(0).getPath().length() + 1);
+            PostProcessQueue queue = new PostProcessQueue(executor, Collections.singletonList(listener), maxCommandLength);
+            for (File file : files) {
+                queue.submit("touch", file, "model");
+            }
+            queue.submit("false", new File(output, "failed.txt"), "api");
+
+            List<PostProcessQueue.Batch> batches = queue.drain();
+            Assert.assertEquals(batches.size(), 4);
+            int touched = 0;
+            for (PostProcessQueue.Batch batch : batches) {
+                if ("touch".equals(batch.getCommand())) {
+                    Assert.assertFalse(batch.isFailed());
+                    Assert.assertTrue(batch.getFiles().size() <= 4);
+                    touched += batch.getFiles().size();
+                } else {
+                    Assert.assertTrue(batch.isFailed());
+                }
+            }
+            Assert.assertEquals(touched, files.size());
+            Assert.assertEquals(postProcessed.get(), files.size() + 1);
+            for (File file : files) {
+                Assert.assertTrue(file.isFile());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTemplateIndex() throws Exception {
+        File templateDir = Files.createTempDirectory("templates").toFile();
+        File libraryDir = new File(templateDir, "libraries/okhttp-gson");
+        Assert.assertTrue(libraryDir.mkdirs());
+        Files.write(new File(libraryDir, "api.mustache").toPath(), "api".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(templateDir, "model.mustache").toPath(), "model".getBytes(StandardCharsets.UTF_8));
+
+        JavaClientCodegen config = new JavaClientCodegen();
+        config.setLibrary("okhttp-gson");
+        config.setTemplateDir(templateDir.getAbsolutePath());
+        DefaultGenerator generator = new DefaultGenerator();
+
+        String separator = File.separator;
+        Assert.assertEquals(generator.getFullTemplateFile(config, "api.mustache"),
+                templateDir.getAbsolutePath() + separator + "libraries" + separator + "okhttp-gson" + separator + "api.mustache");
+        Assert.assertEquals(generator.getFullTemplateFile(config, "model.mustache"),
+                templateDir.getAbsolutePath() + separator + "model.mustache");
+        Assert.assertEquals(generator.getFullTemplateFile(config, "ApiClient.mustache"),
+                "Java" + separator + "libraries" + separator + "okhttp-gson" + separator + "ApiClient.mustache");
+        Assert.assertEquals(generator.getFullTemplateFile(config, "pojo.mustache"), "Java" + separator + "pojo.mustache");
+        Assert.assertEquals(generator.getFullTemplateFile(config, "./model.mustache"),
+                templateDir.getAbsolutePath() + separator + "./model.mustache");
+
+        Map<String, TemplateIndex.Layer> resolutions = generator.getTemplateIndex(config).getResolutions();
+        Assert.assertEquals(resolutions.get("api.mustache"), TemplateIndex.Layer.TEMPLATE_DIR_LIBRARY);
+        Assert.assertEquals(resolutions.get("model.mustache"), TemplateIndex.Layer.TEMPLATE_DIR);
+        Assert.assertEquals(resolutions.get("ApiClient.mustache"), TemplateIndex.Layer.EMBEDDED_LIBRARY);
+        Assert.assertEquals(resolutions.get("pojo.mustache"), TemplateIndex.Layer.EMBEDDED);
+
+        // the folders are listed again when the settings change
+        config.setLibrary("jersey2");
+        Assert.assertEquals(generator.getFullTemplateFile(config, "api.mustache"),
+                "Java" + separator + "libraries" + separator + "jersey2" + separator + "api.mustache");
+    }
 }
@@ -3,6 +3,7 @@ package org.openapitools.codegen;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.ParseOptions;
+import org.openapitools.codegen.examples.ExampleCache;
 import org.openapitools.codegen.examples.ExampleGenerator;
 import org.testng.annotations.Test;
 
@@ -157,4 +158,44 @@ public class ExampleGeneratorTest {
         assertEquals(String.format(Locale.ROOT, "{%n  \"example_schema_property\" : \"example schema property value\"%n}"), examples.get(0).get("example"));
         assertEquals("200", examples.get(0).get("statusCode"));
     }
+
+    @Test
+    public void generateFromResponseSchemaWithSharedCache() {
+        OpenAPI openAPI = new OpenAPIParser().readLocation("src/test/resources/3_0/example_generator_test.yaml", null, new
+                ParseOptions()).getOpenAPI();
+
+        new InlineModelResolver().flatten(openAPI);
+
+        ExampleCache exampleCache = new ExampleCache(openAPI.getComponents().getSchemas(), openAPI);
+        Set<String> mediaTypeKeys = new TreeSet<>();
+        mediaTypeKeys.add("application/json");
+        mediaTypeKeys.add("application/xml");
+        List<List<Map<String, String>>> allExamples = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ExampleGenerator exampleGenerator = new ExampleGenerator(openAPI.getComponents().getSchemas(), openAPI, exampleCache);
+            allExamples.add(exampleGenerator.generateFromResponseSchema(
+                    "200",
+                    openAPI
+                            .getPaths()
+                            .get("/generate_from_response_schema_with_model")
+                            .getGet()
+                            .getResponses()
+                            .get("200")
+                            .getContent()
+                            .get("application/json")
+                            .getSchema(),
+                    mediaTypeKeys
+            ));
+        }
+
+        assertEquals(allExamples.get(0), allExamples.get(1));
+        List<Map<String, String>> examples = allExamples.get(1);
+        assertEquals(2, examples.size());
+        assertEquals("application/json", examples.get(0).get("contentType"));
+        assertEquals(String.format(Locale.ROOT, "{%n  \"example_schema_property\" : \"example schema property value\"%n}"), examples.get(0).get("example"));
+        // the JSON example is serialized once
+        assertSame(allExamples.get(0).get(0).get("example"), examples.get(0).get("example"));
+        assertEquals("application/xml", examples.get(1).get("contentType"));
+        assertEquals(exampleCache.getJsonExample("ExampleSchema"), examples.get(0).get("example"));
+    }
 }
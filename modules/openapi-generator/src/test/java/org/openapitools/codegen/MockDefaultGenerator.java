@@ -16,19 +16,22 @@
 
 package org.openapitools.codegen;
 
+import com.samskivert.mustache.Template;
+
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class MockDefaultGenerator extends DefaultGenerator {
     public static final String INPUT_STREAM_CONTENT = "INPUT STREAM CONTENT";
-    private List<WrittenTemplateBasedFile> templateBasedFiles = new ArrayList<>();
-    private Map<String, String> files = new HashMap<>();
+    private List<WrittenTemplateBasedFile> templateBasedFiles = Collections.synchronizedList(new ArrayList<>());
+    private Map<String, String> files = Collections.synchronizedMap(new HashMap<>());
 
     @Override
     protected File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) throws IOException {
@@ -48,6 +51,11 @@ public class MockDefaultGenerator extends DefaultGenerator {
         return new File(filename);
     }
 
+    @Override
+    protected File writeTemplateToFile(String filename, Template template, Object context) throws IOException {
+        return writeToFile(filename, template.execute(context));
+    }
+
     private String normalizePath(String filename) {
         return filename.replace("\\", "/").replace("//", "/");
     }
@@ -0,0 +1,151 @@
+package org.openapitools.codegen.config;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.InlineModelResolver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SpecCacheTest {
+
+    @Test
+    public void testReadReturnsIndependentCopies() throws Exception {
+        SpecCache cache = new SpecCache();
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        String location = "src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml";
+
+        SwaggerParseResult first = cache.read(location, null, options);
+        SwaggerParseResult second = cache.read(location, null, options);
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertNotSame(first.getOpenAPI(), second.getOpenAPI());
+        Assert.assertEquals(Json.pretty(first.getOpenAPI()), Json.pretty(second.getOpenAPI()));
+
+        // the models keep their classes
+        Map<String, Schema> firstSchemas = first.getOpenAPI().getComponents().getSchemas();
+        Map<String, Schema> secondSchemas = second.getOpenAPI().getComponents().getSchemas();
+        for (Map.Entry<String, Schema> entry : firstSchemas.entrySet()) {
+            Assert.assertEquals(secondSchemas.get(entry.getKey()).getClass(), entry.getValue().getClass(), entry.getKey());
+            Assert.assertNotSame(secondSchemas.get(entry.getKey()), entry.getValue());
+        }
+
+        // flattening a copy does not change the others
+        String before = Json.pretty(second.getOpenAPI());
+        new InlineModelResolver().flatten(first.getOpenAPI());
+        Assert.assertNotEquals(Json.pretty(first.getOpenAPI()), before);
+        Assert.assertEquals(Json.pretty(second.getOpenAPI()), before);
+        OpenAPI third = cache.read(location, null, options).getOpenAPI();
+        Assert.assertEquals(Json.pretty(third), before);
+    }
+
+    @Test
+    public void testReadIsKeyedByContent() throws Exception {
+        Path directory = Files.createTempDirectory("spec-cache");
+        Path spec = directory.resolve("spec.yaml");
+        Path pet = directory.resolve("pet.yaml");
+        Files.write(spec, ("openapi: 3.0.0\n"
+                + "info:\n  title: test\n  version: 1.0.0\n"
+                + "paths:\n  /pet:\n    get:\n      responses:\n        '200':\n          description: a pet\n"
+                + "          content:\n            application/json:\n              schema:\n"
+                + "                $ref: 'pet.yaml#/Pet'\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(pet, "Pet:\n  type: object\n  properties:\n    name:\n      type: string\n".getBytes(StandardCharsets.UTF_8));
+        SpecCache cache = new SpecCache(2);
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+
+        OpenAPI first = cache.read(spec.toString(), null, options).getOpenAPI();
+        Assert.assertEquals(first.getComponents().getSchemas().get("Pet").getProperties().keySet().toString(), "[name]");
+        cache.read(spec.toString(), null, options);
+        Assert.assertEquals(cache.size(), 1);
+
+        // a change of a referenced file is a new spec
+        Files.write(pet, "Pet:\n  type: object\n  properties:\n    id:\n      type: integer\n".getBytes(StandardCharsets.UTF_8));
+        OpenAPI second = cache.read(spec.toString(), null, options).getOpenAPI();
+        Assert.assertEquals(second.getComponents().getSchemas().get("Pet").getProperties().keySet().toString(), "[id]");
+        Assert.assertEquals(cache.size(), 2);
+
+        // the least recently used spec is dropped
+        String contents = new String(Files.readAllBytes(spec), StandardCharsets.UTF_8)
+                .replace("$ref: 'pet.yaml#/Pet'", "type: string");
+        cache.readContents(contents, null, options);
+        cache.readContents(contents, null, options);
+        Assert.assertEquals(cache.size(), 2);
+        Files.write(pet, "Pet:\n  type: object\n  properties:\n    name:\n      type: string\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(Json.pretty(cache.read(spec.toString(), null, options).getOpenAPI()), Json.pretty(first));
+        Assert.assertEquals(cache.size(), 2);
+
+        // missing files are left to the parser
+        Assert.assertNull(cache.read(directory.resolve("missing.yaml").toString(), null, options).getOpenAPI());
+        Assert.assertEquals(cache.size(), 2);
+        Files.delete(pet);
+        Assert.assertNull(cache.read(spec.toString(), null, options).getOpenAPI().getComponents());
+        Files.write(pet, "Pet:\n  type: object\n  properties:\n    name:\n      type: string\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(Json.pretty(cache.read(spec.toString(), null, options).getOpenAPI()), Json.pretty(first));
+    }
+
+    @Test
+    public void testRemoteSpecIsDownloadedOnce() throws Exception {
+        Map<String, String> files = new HashMap<>();
+        files.put("/specs/spec.yaml", "openapi: 3.0.0\n"
+                + "info:\n  title: test\n  version: 1.0.0\n"
+                + "paths:\n  /pet:\n    get:\n      responses:\n        '200':\n          description: a pet\n"
+                + "          content:\n            application/json:\n              schema:\n"
+                + "                $ref: 'pet.yaml#/Pet'\n");
+        files.put("/specs/pet.yaml", "Pet:\n  type: object\n  properties:\n    name:\n      type: string\n");
+        Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread thread = new Thread(() -> serve(server, files, requests));
+            thread.setDaemon(true);
+            thread.start();
+            String location = "http://localhost:" + server.getLocalPort() + "/specs/spec.yaml";
+            ParseOptions options = new ParseOptions();
+            options.setResolve(true);
+
+            // the spec is parsed from the content read for its key, its references being resolved against its URL
+            OpenAPI openAPI = new SpecCache().read(location, null, options).getOpenAPI();
+            Assert.assertEquals(openAPI.getComponents().getSchemas().get("Pet").getProperties().keySet().toString(), "[name]");
+            Assert.assertEquals(requests.get("/specs/spec.yaml").get(), 1);
+        }
+    }
+
+    private static void serve(ServerSocket server, Map<String, String> files, Map<String, AtomicInteger> requests) {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                String path = in.readLine().split(" ")[1];
+                requests.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+                String line;
+                while ((line = in.readLine()) != null && !line.isEmpty()) {
+                    // headers
+                }
+                String body = files.get(path);
+                String response = body != null
+                        ? "HTTP/1.0 200 OK\r\nContent-Type: text/plain\r\n\r\n" + body
+                        : "HTTP/1.0 404 Not Found\r\n\r\n";
+                OutputStream out = socket.getOutputStream();
+                out.write(response.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+}
@@ -21,7 +21,17 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
 import org.openapitools.codegen.languages.CSharpClientCodegen;
+import org.openapitools.codegen.utils.ModelIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class CSharpClientCodegenTest {
 
@@ -54,4 +64,40 @@ public class CSharpClientCodegenTest {
         Assert.assertEquals(codegen.isHideGenerationTimestamp(), false);
     }
 
+    @Test
+    public void testEnumModelParameters() {
+        CodegenModel status = new CodegenModel();
+        status.name = "Status";
+        status.classname = "Status";
+        status.isEnum = true;
+        status.allowableValues = new HashMap<>();
+        List<Object> models = new ArrayList<>();
+        CodegenModel pet = new CodegenModel();
+        pet.name = "Pet";
+        pet.classname = "Pet";
+        models.add(Collections.singletonMap("model", pet));
+        models.add(Collections.singletonMap("model", status));
+
+        CodegenParameter enumParameter = new CodegenParameter();
+        enumParameter.dataType = "Status";
+        CodegenParameter modelParameter = new CodegenParameter();
+        modelParameter.dataType = "Pet";
+        CodegenOperation operation = new CodegenOperation();
+        operation.allParams.add(enumParameter);
+        operation.allParams.add(modelParameter);
+        Map<String, Object> operations = new HashMap<>();
+        operations.put("operation", Collections.singletonList(operation));
+        Map<String, Object> objs = new HashMap<>();
+        objs.put("operations", operations);
+
+        CSharpClientCodegen codegen = new CSharpClientCodegen();
+        codegen.setModelIndex(new ModelIndex(models));
+        codegen.postProcessOperationsWithModels(objs, models);
+
+        Assert.assertTrue(enumParameter.isEnum);
+        Assert.assertFalse(enumParameter.isNullable);
+        Assert.assertSame(enumParameter.allowableValues, status.allowableValues);
+        Assert.assertFalse(modelParameter.isEnum);
+        Assert.assertTrue(modelParameter.isNullable);
+    }
 }
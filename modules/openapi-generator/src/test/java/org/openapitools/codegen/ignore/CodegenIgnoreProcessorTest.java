@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.ignore;
+
+import org.openapitools.codegen.ignore.rules.DirectoryRule;
+import org.openapitools.codegen.ignore.rules.Rule;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class CodegenIgnoreProcessorTest {
+
+    private static final List<String> RULES = Arrays.asList(
+            "*.md", "README.md", "/README.md", "docs/", "docs/*.md", "docs/**", "/docs/", "**/docs/", "**/*.java",
+            "src/main/", "src/main/java/", "src/**/model/", "src/main/java/org/api/PetApi.java", "**/model/Pet*.java",
+            "*", "**", "/*.txt", "/build.*", "/*", "test/", "**/test/**", "a/**/b", "a?c", "*.{java,md}", "[ab]*.txt",
+            "pom.xml", "/pom.xml", "/.gitignore", ".travis.yml", "git_push.sh", "api/", "api/openapi.yaml", "\\#file",
+            "file\\ name", "!*.md", "!README.md", "!/README.md", "!docs/", "!docs/keep.md", "!src/main/java/",
+            "!**/model/Pet.java", "!pom.xml", "!/*.txt", "!test/", "!a/**/b", "!**/docs/", "!*.{java,md}", "# comment",
+            ".", "!.", "../outside", "!", "foo/**/*", "*/", "**/", "dir.with.dots/", "$special(chars)+.txt", "a+b/");
+
+    private static final List<String> PATHS = Arrays.asList(
+            "README.md", "pom.xml", "build.gradle", ".gitignore", ".travis.yml", "git_push.sh", "a.txt", "b.txt",
+            "abc", "a/b", "a/x/b", "a/x/y/b", "a/b/c", "docs/Pet.md", "docs/keep.md", "docs/sub/Pet.md", "docs",
+            "api/openapi.yaml", "api/other.yaml", "src/main/java/org/api/PetApi.java",
+            "src/main/java/org/model/Pet.java", "src/main/java/org/model/PetTag.java",
+            "src/test/java/org/api/PetApiTest.java", "src/test/java/org/model/PetTest.java", "test/Foo.java",
+            "other/test/Foo.java", "other/docs/Readme.md", "#file", "file name", "dir.with.dots/file", "dirxwith/file",
+            "$special(chars)+.txt", "a+b/c", "ab/c", "foo/bar/baz.txt", "foo/bar", "deep/a/b/c/d/e/f.java");
+
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("codegen-ignore").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testDirectoryExclusion() throws IOException {
+        CodegenIgnoreProcessor processor = processor("docs/", "*.md", "!README.md", "!docs/keep.md");
+
+        Assert.assertTrue(processor.allowsFile(new File(directory, "README.md")));
+        Assert.assertFalse(processor.allowsFile(new File(directory, "Other.md")));
+        Assert.assertFalse(processor.allowsFile(new File(directory, "docs/Pet.md")));
+        // cannot re-include a file if its directory is excluded
+        Assert.assertFalse(processor.allowsFile(new File(directory, "docs/keep.md")));
+        Assert.assertTrue(processor.allowsFile(new File(directory, "src/Pet.java")));
+    }
+
+    @Test(description = "compiled rules give the same results as evaluating the rules one by one")
+    public void testSameResultsAsRuleEvaluation() throws IOException {
+        // each rule alone, then random rule sets
+        for (String rule : RULES) {
+            assertSameResults(rule);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            List<String> rules = new ArrayList<>();
+            int count = 1 + random.nextInt(8);
+            for (int j = 0; j < count; j++) {
+                rules.add(RULES.get(random.nextInt(RULES.size())));
+            }
+            assertSameResults(rules.toArray(new String[0]));
+        }
+    }
+
+    private void assertSameResults(String... rules) throws IOException {
+        CodegenIgnoreProcessor processor = processor(rules);
+        // twice, to evaluate paths with cached directory results
+        for (int i = 0; i < 2; i++) {
+            for (String path : PATHS) {
+                Assert.assertEquals(processor.allowsFile(new File(directory, path)), allowsFile(processor, path),
+                        path + " with rules " + Arrays.toString(rules));
+            }
+        }
+    }
+
+    private CodegenIgnoreProcessor processor(String... rules) throws IOException {
+        File ignoreFile = new File(directory, ".openapi-generator-ignore");
+        Files.write(ignoreFile.toPath(), String.join("\n", rules).getBytes(StandardCharsets.UTF_8));
+        return new CodegenIgnoreProcessor(ignoreFile);
+    }
+
+    /**
+     * Evaluate the rules one by one.
+     */
+    private static boolean allowsFile(CodegenIgnoreProcessor processor, String path) {
+        boolean directoryExcluded = false;
+        boolean exclude = false;
+        for (Rule rule : processor.getExclusionRules()) {
+            Rule.Operation op = rule.evaluate(path);
+            if (op == Rule.Operation.EXCLUDE_AND_TERMINATE) {
+                break;
+            }
+            if (op == Rule.Operation.EXCLUDE) {
+                exclude = true;
+                if (rule instanceof DirectoryRule) {
+                    directoryExcluded = true;
+                }
+            }
+        }
+        if (exclude) {
+            for (Rule rule : processor.getInclusionRules()) {
+                if (rule.evaluate(path) == Rule.Operation.INCLUDE
+                        && (!directoryExcluded || rule instanceof DirectoryRule)) {
+                    return true;
+                }
+            }
+        }
+        return !exclude;
+    }
+}
@@ -0,0 +1,49 @@
+package org.openapitools.codegen.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import org.openapitools.codegen.MockDefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+public class GenerationMetricsTest {
+
+    @Test
+    public void testGenerationMetrics() throws Exception {
+        File output = Files.createTempDirectory("test").toFile();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        GenerationMetrics metrics = new GenerationMetrics(true);
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.addGenerationListener(metrics);
+        List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+
+        Assert.assertTrue(metrics.getPhaseNanos("apis") > 0);
+        Assert.assertTrue(metrics.getPhaseNanos("models/render") > 0);
+        Assert.assertTrue(metrics.getPhaseNanos("models") >= metrics.getPhaseNanos("models/render"));
+        Assert.assertEquals(metrics.getPhaseNanos("unknown"), -1);
+        // every file but the ignore file and the VERSION file is generated from a template
+        Assert.assertEquals(metrics.getGeneratedFiles(), files.size() - 2);
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> phases = (List<Map<String, Object>>) metrics.toReport().get("phases");
+        Assert.assertEquals(phases.get(0).get("name"), "flatten");
+        Assert.assertEquals(phases.get(1).get("name"), "configure");
+
+        File report = new File(output, "timings.json");
+        metrics.writeJson(report);
+        JsonNode json = Json.mapper().readTree(report);
+        Assert.assertTrue(json.get("templates").size() > 0);
+        Assert.assertEquals(json.get("files").get("generated").asLong(), metrics.getGeneratedFiles());
+        Assert.assertTrue(metrics.toTable().contains("postProcessAllModels"));
+    }
+}
@@ -0,0 +1,69 @@
+package org.openapitools.codegen.serializer;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+
+import io.swagger.v3.oas.models.media.StringSchema;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class StablePropertyOrderTest {
+
+    @Test
+    public void testPropertiesWithoutFieldAreOrderedByName() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        SerializationConfig config = mapper.getSerializationConfig();
+        BeanDescription description = config.introspect(mapper.constructType(StringSchema.class));
+        List<BeanPropertyWriter> properties = new ArrayList<>();
+        for (Iterator<PropertyWriter> it = ((BeanSerializer) mapper.getSerializerProviderInstance()
+                .findValueSerializer(StringSchema.class)).properties(); it.hasNext(); ) {
+            properties.add((BeanPropertyWriter) it.next());
+        }
+        // e.g. the order of the getters of another JVM
+        BeanPropertyWriter defaultProperty = remove(properties, "default");
+        BeanPropertyWriter enumProperty = remove(properties, "enum");
+        List<String> expected = names(properties);
+        expected.addAll(Arrays.asList("default", "enum"));
+        properties.add(enumProperty);
+        properties.add(defaultProperty);
+
+        Assert.assertEquals(names(new StablePropertyOrder().orderProperties(config, description, properties)), expected);
+    }
+
+    @Test
+    public void testSchemaDefaultBeforeEnum() throws Exception {
+        StringSchema schema = new StringSchema();
+        schema.setEnum(Arrays.asList("a", "b"));
+        schema.setDefault("b");
+        Assert.assertEquals(SerializerUtils.jsonMapper().writeValueAsString(schema), "{\"type\":\"string\",\"default\":\"b\",\"enum\":[\"a\",\"b\"]}");
+    }
+
+    private static BeanPropertyWriter remove(List<BeanPropertyWriter> properties, String name) {
+        for (Iterator<BeanPropertyWriter> it = properties.iterator(); it.hasNext(); ) {
+            BeanPropertyWriter property = it.next();
+            if (property.getName().equals(name)) {
+                it.remove();
+                return property;
+            }
+        }
+        throw new AssertionError(name);
+    }
+
+    private static List<String> names(List<BeanPropertyWriter> properties) {
+        List<String> names = new ArrayList<>();
+        for (BeanPropertyWriter property : properties) {
+            names.add(property.getName());
+        }
+        return names;
+    }
+}
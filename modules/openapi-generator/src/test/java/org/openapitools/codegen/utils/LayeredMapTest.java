@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.samskivert.mustache.Mustache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class LayeredMapTest {
+
+    @Test
+    public void testReadThrough() {
+        Map<String, Object> parent = parent();
+        Map<String, Object> local = new HashMap<>();
+        local.put("classname", "Pet");
+        LayeredMap<String, Object> map = new LayeredMap<>(local, parent);
+
+        Assert.assertEquals(map.get("classname"), "Pet");
+        Assert.assertEquals(map.get("appName"), "petstore");
+        Assert.assertTrue(map.containsKey("nullValue"));
+        Assert.assertNull(map.get("nullValue"));
+        Assert.assertFalse(map.containsKey("unknown"));
+        Assert.assertEquals(map.size(), 4);
+        Map<String, Object> expected = new HashMap<>(parent);
+        expected.put("classname", "Pet");
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(new HashMap<>(map), expected);
+    }
+
+    @Test
+    public void testChanges() {
+        Map<String, Object> parent = parent();
+        LayeredMap<String, Object> map = new LayeredMap<>(parent);
+
+        Assert.assertEquals(map.put("appName", "other"), "petstore");
+        Assert.assertEquals(map.get("appName"), "other");
+        Assert.assertEquals(map.remove("version"), "1.0.0");
+        Assert.assertFalse(map.containsKey("version"));
+        Assert.assertNull(map.get("version"));
+        Assert.assertNull(map.put("version", "2.0.0"));
+        Assert.assertEquals(map.remove("appName"), "other");
+        Assert.assertFalse(map.containsKey("appName"));
+        Assert.assertEquals(map.size(), 2);
+
+        LayeredMap<String, Object> copy = new LayeredMap<>(map);
+        copy.put("hasMore", true);
+        copy.put("appName", "copy");
+        Assert.assertFalse(map.containsKey("hasMore"));
+        Assert.assertFalse(map.containsKey("appName"));
+        Assert.assertEquals(copy.get("version"), "2.0.0");
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(copy.size(), 4);
+        // the parent is unchanged
+        Assert.assertEquals(parent, parent());
+    }
+
+    @Test
+    public void testIterator() {
+        Map<String, Object> parent = parent();
+        LayeredMap<String, Object> map = new LayeredMap<>(parent);
+        map.put("classname", "Pet");
+        map.put("version", "2.0.0");
+
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (entry.getKey().equals("appName")) {
+                entry.setValue("other");
+            }
+        }
+        Assert.assertEquals(map.get("appName"), "other");
+
+        Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            String key = iterator.next().getKey();
+            if (!key.equals("classname")) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(map, Collections.singletonMap("classname", "Pet"));
+        Assert.assertEquals(parent, parent());
+    }
+
+    @Test
+    public void testTemplate() {
+        LayeredMap<String, Object> map = new LayeredMap<>(parent());
+        map.put("classname", "Pet");
+        map.put("version", "2.0.0");
+
+        String output = Mustache.compiler().compile("{{classname}} of {{appName}} {{version}}").execute(map);
+        Assert.assertEquals(output, "Pet of petstore 2.0.0");
+    }
+
+    private static Map<String, Object> parent() {
+        Map<String, Object> parent = new HashMap<>();
+        parent.put("appName", "petstore");
+        parent.put("version", "1.0.0");
+        parent.put("nullValue", null);
+        return Collections.unmodifiableMap(parent);
+    }
+}
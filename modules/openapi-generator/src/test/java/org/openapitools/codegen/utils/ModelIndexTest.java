@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.openapitools.codegen.CodegenModel;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ModelIndexTest {
+
+    @Test
+    public void testLookups() {
+        CodegenModel pet = model("Pet", "PetModel");
+        CodegenModel other = model("OtherPet", "PetModel");
+        List<Object> models = new ArrayList<>();
+        models.add(entry(pet, "models.PetModel"));
+        models.add(entry(other, "models.PetModel"));
+        models.add(Collections.singletonMap("model", model("Tag", "TagModel")));
+        ModelIndex index = new ModelIndex(models);
+
+        Assert.assertSame(index.getBySchemaName("Pet"), pet);
+        Assert.assertSame(index.getBySchemaName("OtherPet"), other);
+        // the first model wins, as when scanning the list
+        Assert.assertSame(index.getByClassname("PetModel"), pet);
+        Assert.assertSame(index.getByImport("models.PetModel"), pet);
+        Assert.assertEquals(index.getByClassname("TagModel").name, "Tag");
+        Assert.assertNull(index.getByClassname("Pet"));
+        Assert.assertNull(index.getByClassname(null));
+
+        Assert.assertTrue(index.isIndexOf(models));
+        Assert.assertFalse(index.isIndexOf(new ArrayList<>(models)));
+        models.add(entry(model("Order", "Order"), "models.Order"));
+        Assert.assertFalse(index.isIndexOf(models));
+    }
+
+    private static CodegenModel model(String name, String classname) {
+        CodegenModel model = new CodegenModel();
+        model.name = name;
+        model.classname = classname;
+        return model;
+    }
+
+    private static Map<String, Object> entry(CodegenModel model, String importPath) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("model", model);
+        entry.put("importPath", importPath);
+        return entry;
+    }
+}
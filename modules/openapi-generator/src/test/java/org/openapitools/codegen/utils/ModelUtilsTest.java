@@ -30,6 +30,8 @@ import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.parser.core.models.ParseOptions;
 
 import org.openapitools.codegen.TestUtils;
+import org.openapitools.codegen.config.GenerationContext;
+import org.openapitools.codegen.config.GeneratorProperties;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -229,4 +231,24 @@ public class ModelUtilsTest {
         // Test a null schema
         Assert.assertFalse(ModelUtils.isFreeFormObject(null));
     }
+
+    @Test
+    public void testGenerationContextIsolatesSettings() {
+        GenerationContext context = new GenerationContext();
+        GenerationContext previous = context.bind();
+        try {
+            ModelUtils.setGenerateAliasAsModel(true);
+            GeneratorProperties.setProperty("models", "Pet");
+            Assert.assertTrue(ModelUtils.isGenerateAliasAsModel());
+            Assert.assertEquals(GeneratorProperties.getProperty("models"), "Pet");
+        } finally {
+            GenerationContext.restore(previous);
+        }
+
+        // settings of the run are not visible outside of its context
+        Assert.assertFalse(ModelUtils.isGenerateAliasAsModel());
+        Assert.assertNull(GeneratorProperties.getProperty("models"));
+        Assert.assertTrue(context.isGenerateAliasAsModel());
+        Assert.assertEquals(context.getProperty("models"), "Pet");
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SchemaFingerprintTest {
+
+    @Test
+    public void testEqualSchemas() {
+        Assert.assertEquals(SchemaFingerprint.of(pet()), SchemaFingerprint.of(pet()));
+        Assert.assertEquals(SchemaFingerprint.of(pet()).hashCode(), SchemaFingerprint.of(pet()).hashCode());
+
+        Schema other = pet();
+        other.getProperties().put("name", new StringSchema().maxLength(10));
+        Assert.assertNotEquals(SchemaFingerprint.of(other), SchemaFingerprint.of(pet()));
+
+        // numbers are compared as serialized
+        Assert.assertEquals(SchemaFingerprint.of(new Schema().type("integer").example(1)),
+                SchemaFingerprint.of(new Schema().type("integer").example(1L)));
+    }
+
+    @Test
+    public void testFingerprintIsSnapshot() {
+        Schema schema = pet();
+        SchemaFingerprint fingerprint = SchemaFingerprint.of(schema);
+        schema.setDescription("changed");
+
+        Assert.assertEquals(fingerprint, SchemaFingerprint.of(pet()));
+        Assert.assertNotEquals(fingerprint, SchemaFingerprint.of(schema));
+    }
+
+    @Test
+    public void testReferenceCycles() {
+        Schema first = new ObjectSchema();
+        first.addProperties("self", first);
+        Schema second = new ObjectSchema();
+        second.addProperties("other", new ArraySchema().items(second));
+
+        // none can be serialized
+        Assert.assertEquals(SchemaFingerprint.of(first), SchemaFingerprint.of(second));
+        Assert.assertNotEquals(SchemaFingerprint.of(first), SchemaFingerprint.of(pet()));
+    }
+
+    @Test(description = "schemas have the same fingerprint if and only if they have the same JSON representation")
+    public void testSameAsJson() {
+        List<Schema> schemas = new ArrayList<>();
+        Set<Schema> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String dir : new String[]{"src/test/resources/3_0", "src/test/resources/2_0"}) {
+            File[] files = new File(dir).listFiles((d, name) -> name.endsWith(".yaml") || name.endsWith(".json"));
+            Assert.assertNotNull(files);
+            for (File file : files) {
+                OpenAPI openAPI = new OpenAPIParser().readLocation(file.getPath(), null, new ParseOptions()).getOpenAPI();
+                if (openAPI != null) {
+                    collectSchemas(openAPI, schemas, visited);
+                }
+            }
+        }
+        Assert.assertTrue(schemas.size() > 1000, "found " + schemas.size() + " schemas");
+
+        // index of the first schema with the same JSON representation (resp. fingerprint)
+        Map<String, Integer> byJson = new HashMap<>();
+        Map<SchemaFingerprint, Integer> byFingerprint = new HashMap<>();
+        int duplicates = 0;
+        for (int i = 0; i < schemas.size(); i++) {
+            Integer sameJson = byJson.putIfAbsent(Json.pretty(schemas.get(i)), i);
+            Integer sameFingerprint = byFingerprint.putIfAbsent(SchemaFingerprint.of(schemas.get(i)), i);
+            Assert.assertEquals(sameFingerprint, sameJson, Json.pretty(schemas.get(i)));
+            if (sameJson != null) {
+                duplicates++;
+            }
+        }
+        Assert.assertTrue(duplicates > 0);
+    }
+
+    private static void collectSchemas(OpenAPI openAPI, List<Schema> schemas, Set<Schema> visited) {
+        if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
+            for (Schema schema : openAPI.getComponents().getSchemas().values()) {
+                collectSchemas(schema, schemas, visited);
+            }
+        }
+        if (openAPI.getPaths() != null) {
+            for (PathItem path : openAPI.getPaths().values()) {
+                for (Operation operation : path.readOperations()) {
+                    if (operation.getParameters() != null) {
+                        for (Parameter parameter : operation.getParameters()) {
+                            collectSchemas(parameter.getSchema(), schemas, visited);
+                        }
+                    }
+                    if (operation.getRequestBody() != null && operation.getRequestBody().getContent() != null) {
+                        for (MediaType mediaType : operation.getRequestBody().getContent().values()) {
+                            collectSchemas(mediaType.getSchema(), schemas, visited);
+                        }
+                    }
+                    if (operation.getResponses() != null) {
+                        for (ApiResponse response : operation.getResponses().values()) {
+                            if (response.getContent() != null) {
+                                for (MediaType mediaType : response.getContent().values()) {
+                                    collectSchemas(mediaType.getSchema(), schemas, visited);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void collectSchemas(Schema schema, List<Schema> schemas, Set<Schema> visited) {
+        if (schema == null || !visited.add(schema)) {
+            return;
+        }
+        schemas.add(schema);
+        if (schema.getProperties() != null) {
+            for (Object property : schema.getProperties().values()) {
+                collectSchemas((Schema) property, schemas, visited);
+            }
+        }
+        if (schema instanceof ArraySchema) {
+            collectSchemas(((ArraySchema) schema).getItems(), schemas, visited);
+        }
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            collectSchemas((Schema) schema.getAdditionalProperties(), schemas, visited);
+        }
+        if (schema instanceof ComposedSchema) {
+            ComposedSchema composed = (ComposedSchema) schema;
+            for (List<Schema> components : new List[]{composed.getAllOf(), composed.getAnyOf(), composed.getOneOf()}) {
+                if (components != null) {
+                    for (Schema component : components) {
+                        collectSchemas(component, schemas, visited);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Schema pet() {
+        return new ObjectSchema()
+                .description("a pet")
+                .addProperties("id", new IntegerSchema().format("int64"))
+                .addProperties("name", new StringSchema())
+                .addProperties("tags", new ArraySchema().items(new StringSchema()))
+                .addRequiredItem("name");
+    }
+}
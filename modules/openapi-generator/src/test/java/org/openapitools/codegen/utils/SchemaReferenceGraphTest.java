@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class SchemaReferenceGraphTest {
+
+    @Test
+    public void testReferences() {
+        final OpenAPI openAPI = new OpenAPIParser().readLocation("src/test/resources/3_0/unusedSchemas.yaml", null, new ParseOptions()).getOpenAPI();
+        SchemaReferenceGraph graph = new SchemaReferenceGraph(openAPI);
+
+        Assert.assertEquals(graph.getReferences("SomeObj14"), Collections.singletonList("PropertyObj14"));
+        Assert.assertEquals(graph.getReferences("SomeObj18"), Collections.singletonList("Common18"));
+        Assert.assertEquals(graph.getReferences("PropertyObj14"), Collections.emptyList());
+        Assert.assertEquals(graph.getReferences("Unknown"), Collections.emptyList());
+
+        Assert.assertTrue(graph.isUsed("PropertyObj14"));
+        Assert.assertFalse(graph.isUsed("UnusedObj1"));
+        Assert.assertEquals(graph.getUsedSchemas(), ModelUtils.getAllUsedSchemas(openAPI));
+        Assert.assertEquals(graph.getUnusedSchemas(), ModelUtils.getUnusedSchemas(openAPI));
+        Assert.assertEquals(graph.getSchemasUsedOnlyInFormParam(), ModelUtils.getSchemasUsedOnlyInFormParam(openAPI));
+    }
+
+    @Test
+    public void testReferenceCycles() {
+        OpenAPI openAPI = new OpenAPI()
+                .components(new Components()
+                        .addSchemas("Node", new ObjectSchema()
+                                .addProperties("children", new ArraySchema().items(new Schema().$ref("#/components/schemas/Node")))
+                                .addProperties("value", new Schema().$ref("#/components/schemas/Value")))
+                        .addSchemas("Value", new ObjectSchema()
+                                .addProperties("owner", new Schema().$ref("#/components/schemas/Node")))
+                        .addSchemas("Form", new ObjectSchema()
+                                .addProperties("value", new Schema().$ref("#/components/schemas/Value"))))
+                .paths(new Paths()
+                        .addPathItem("/form", new PathItem().post(operation("multipart/form-data", "Form")))
+                        .addPathItem("/node", new PathItem().post(operation("application/json", "Node"))));
+        SchemaReferenceGraph graph = new SchemaReferenceGraph(openAPI);
+
+        Assert.assertEquals(graph.getReferences("Node"), Arrays.asList("Node", "Value"));
+        Assert.assertEquals(graph.getUsedSchemas(), Arrays.asList("Form", "Value", "Node"));
+        Assert.assertEquals(graph.getUnusedSchemas(), Collections.emptyList());
+        // the schemas referenced by Form were first used from the form
+        Assert.assertEquals(graph.getSchemasUsedOnlyInFormParam(), Arrays.asList("Form", "Value"));
+    }
+
+    private static Operation operation(String mimeType, String schemaName) {
+        return new Operation().requestBody(new RequestBody().content(new Content()
+                .addMediaType(mimeType, new MediaType().schema(new Schema().$ref("#/components/schemas/" + schemaName)))));
+    }
+}
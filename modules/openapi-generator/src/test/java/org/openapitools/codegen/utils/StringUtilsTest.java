@@ -3,6 +3,23 @@ package org.openapitools.codegen.utils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.openapitools.codegen.utils.StringUtils.*;
 
 public class StringUtilsTest {
@@ -31,4 +48,156 @@ public class StringUtilsTest {
         Assert.assertEquals(dashize("some-value"), "some-value");
         Assert.assertEquals(dashize("some_value"), "some-value");
     }
+
+    @Test(description = "camelize, underscore and dashize give the same results as the original regex implementations")
+    public void testSameResultsAsRegexImplementation() throws Exception {
+        for (String word : words()) {
+            for (boolean lowercaseFirstLetter : new boolean[]{false, true}) {
+                String expected;
+                try {
+                    expected = legacyCamelize(word, lowercaseFirstLetter);
+                } catch (RuntimeException e) {
+                    try {
+                        camelize(word, lowercaseFirstLetter);
+                        Assert.fail("camelize(\"" + word + "\", " + lowercaseFirstLetter + ") should throw " + e);
+                    } catch (RuntimeException actual) {
+                        Assert.assertEquals(actual.getClass(), e.getClass(), word);
+                    }
+                    continue;
+                }
+                Assert.assertEquals(camelize(word, lowercaseFirstLetter), expected, word);
+                // memoized
+                Assert.assertEquals(camelize(word, lowercaseFirstLetter), expected, word);
+            }
+            Assert.assertEquals(underscore(word), legacyUnderscore(word), word);
+            Assert.assertEquals(dashize(word), legacyUnderscore(word).replaceAll("[_ ]", "-"), word);
+        }
+    }
+
+    /**
+     * Words exercising the name conversions: edge cases, tokens of the test specs, and random strings.
+     *
+     * @return the words
+     * @throws IOException if the test specs cannot be read
+     */
+    public static List<String> words() throws IOException {
+        Set<String> words = new LinkedHashSet<>(Arrays.asList(
+                "", "_", "__", "-", "--", "/", ".", "$", "$$", "\\", "a", "A", "1", "_a", "a_", "-a", "a-", "/a", "a/",
+                "a.b.c", "a/b/c", "a//b", "a..b", "a-b-c", "a--b", "a__b", "_-_a", "-_a", "a_-b", "a-_b", "A_B", "a_1",
+                "some_value", "some-value", "SomeValue", "someValue", "$type", "$ref", "@type", "#hash", "a$b", "$/a",
+                "a/$", "-$", "a-$b", "a\\b", "a\\$b", "ABCd", "ABCdEFg", "aBC", "a1B", "HTTPServer", "getHTTPResponseCode",
+                "XMLHttpRequest", "IPv6Address", "petId", "pet_id", "PET_ID", "pet-id", "pet id", "pet.id", "Pet/Id",
+                "org.openapitools.Model$Inner", "path/to/Resource", "[]", "a[b]", "a(b)", "a|b", "a b c", " a ", "é",
+                "éa_b", "a_é", "ä-ö", "naïve", "Straße", "İstanbul", "ı", "ǅ", "ß_ß", "a\tb", "a\nb", "\u2028"));
+
+        for (String dir : new String[]{"2_0", "3_0", "1_2"}) {
+            Path root = Paths.get("src/test/resources", dir);
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                    for (String token : content.split("[\\s\"',:{}]+")) {
+                        if (token.length() <= 64) {
+                            words.add(token);
+                        }
+                    }
+                }
+            }
+        }
+
+        Random random = new Random(42);
+        String alphabet = "aZ09_-./$ \\[](){}|:#@é";
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            words.add(word.toString());
+        }
+        return new ArrayList<>(words);
+    }
+
+    private static String legacyUnderscore(String word) {
+        String firstPattern = "([A-Z]+)([A-Z][a-z])";
+        String secondPattern = "([a-z\\d])([A-Z])";
+        String replacementPattern = "$1_$2";
+        word = word.replaceAll("\\.", "/");
+        word = word.replaceAll("\\$", "__");
+        word = word.replaceAll(firstPattern, replacementPattern);
+        word = word.replaceAll(secondPattern, replacementPattern);
+        word = word.replace('-', '_');
+        word = word.replace(' ', '_');
+        word = word.toLowerCase(Locale.ROOT);
+        return word;
+    }
+
+    private static String legacyCamelize(String word, boolean lowercaseFirstLetter) {
+        Pattern p = Pattern.compile("\\/(.?)");
+        Matcher m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("." + m.group(1));
+            m = p.matcher(word);
+        }
+
+        String[] parts = word.split("\\.");
+        StringBuilder f = new StringBuilder();
+        for (String z : parts) {
+            if (z.length() > 0) {
+                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+            }
+        }
+        word = f.toString();
+
+        m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1));
+            m = p.matcher(word);
+        }
+
+        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+        m = p.matcher(word);
+        if (m.find()) {
+            String rep = m.group(1) + m.group(2).toUpperCase(Locale.ROOT) + m.group(3);
+            rep = rep.replaceAll("\\$", "\\\\\\$");
+            word = m.replaceAll(rep);
+        }
+
+        p = Pattern.compile("(_)(.)");
+        m = p.matcher(word);
+        while (m.find()) {
+            String original = m.group(2);
+            String upperCase = original.toUpperCase(Locale.ROOT);
+            if (original.equals(upperCase)) {
+                word = word.replaceFirst("_", "");
+            } else {
+                word = m.replaceFirst(upperCase);
+            }
+            m = p.matcher(word);
+        }
+
+        p = Pattern.compile("(-)(.)");
+        m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst(m.group(2).toUpperCase(Locale.ROOT));
+            m = p.matcher(word);
+        }
+
+        if (lowercaseFirstLetter && word.length() > 0) {
+            int i = 0;
+            char charAt = word.charAt(i);
+            while (i + 1 < word.length() && !((charAt >= 'a' && charAt <= 'z') || (charAt >= 'A' && charAt <= 'Z'))) {
+                i = i + 1;
+                charAt = word.charAt(i);
+            }
+            i = i + 1;
+            word = word.substring(0, i).toLowerCase(Locale.ROOT) + word.substring(i);
+        }
+
+        word = word.replaceAll("_", "");
+
+        return word;
+    }
 }